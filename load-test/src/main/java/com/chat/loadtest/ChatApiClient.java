@@ -0,0 +1,62 @@
+package com.chat.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 부하 테스트 준비용 REST 클라이언트 (사용자, 채팅방 생성)
+ */
+public class ChatApiClient {
+
+    private final String baseUrl;
+    private final JsonMapper jsonMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public ChatApiClient(String baseUrl, JsonMapper jsonMapper) {
+        this.baseUrl = baseUrl;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * 사용자 생성 후 ID 반환
+     */
+    public UUID createUser(String nickname) throws IOException, InterruptedException {
+        JsonNode response = post("/api/users", Map.of(
+                "nickname", nickname,
+                "email", nickname + "@load.test"));
+        return UUID.fromString(response.get("id").asString());
+    }
+
+    /**
+     * 사용자 + 전용 챗봇 채팅방 생성 후 ID 반환
+     */
+    public UUID createChatRoom(UUID userId) throws IOException, InterruptedException {
+        JsonNode response = post("/api/chatrooms", Map.of("userId", userId.toString()));
+        return UUID.fromString(response.get("id").asString());
+    }
+
+    private JsonNode post(String path, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + path + " failed: status=" + response.statusCode()
+                    + ", body=" + new String(response.body()));
+        }
+        return jsonMapper.readTree(response.body());
+    }
+}
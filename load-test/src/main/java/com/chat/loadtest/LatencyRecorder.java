@@ -0,0 +1,101 @@
+package com.chat.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 시간 기록기
+ * 지표별 HdrHistogram {@link Recorder}로 동시에 기록하고, 구간 스냅샷은 로그 파일에 남기며 전체 누적본도 유지합니다.
+ * 값은 마이크로초 단위입니다.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, Histogram> totals = new LinkedHashMap<>();
+    private final HistogramLogWriter logWriter;
+    private final long startTimeMillis = System.currentTimeMillis();
+
+    public LatencyRecorder(String histogramLogPath, String... metrics) throws FileNotFoundException {
+        for (String metric : metrics) {
+            recorders.put(metric, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            totals.put(metric, new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+        }
+        Path path = Path.of(histogramLogPath);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+        } catch (Exception e) {
+            throw new FileNotFoundException("Cannot create histogram log directory: " + path.getParent());
+        }
+        logWriter = new HistogramLogWriter(new PrintStream(path.toFile()));
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(startTimeMillis);
+        logWriter.setBaseTime(startTimeMillis);
+        logWriter.outputLegend();
+    }
+
+    /**
+     * 지연 기록 (nanoTime 차이)
+     */
+    public void record(String metric, long elapsedNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(Math.max(0, elapsedNanos)), HIGHEST_TRACKABLE_MICROS);
+        recorders.get(metric).recordValue(micros);
+    }
+
+    /**
+     * 구간 스냅샷을 로그에 쓰고 요약 한 줄 반환
+     */
+    public synchronized String snapshot() {
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            Histogram interval = entry.getValue().getIntervalHistogram();
+            interval.setTag(entry.getKey());
+            logWriter.outputIntervalHistogram(interval);
+            totals.get(entry.getKey()).add(interval);
+
+            summary.append(String.format("%s[n=%d p50=%.1fms p99=%.1fms max=%.1fms] ",
+                    entry.getKey(),
+                    interval.getTotalCount(),
+                    millis(interval.getValueAtPercentile(50)),
+                    millis(interval.getValueAtPercentile(99)),
+                    millis(interval.getMaxValue())));
+        }
+        return summary.toString().trim();
+    }
+
+    /**
+     * 전체 누적 분포 출력 후 로그 파일 닫기
+     */
+    public synchronized void printTotals(PrintStream out) {
+        snapshot();
+        for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+            Histogram total = entry.getValue();
+            out.printf("%n== %s (count=%d, mean=%.2fms, p50=%.2fms, p90=%.2fms, p99=%.2fms, p99.9=%.2fms, max=%.2fms)%n",
+                    entry.getKey(), total.getTotalCount(), total.getMean() / 1000d,
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+            if (total.getTotalCount() > 0) {
+                total.outputPercentileDistribution(out, 5, 1000d);
+            }
+        }
+        logWriter.close();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000d;
+    }
+}
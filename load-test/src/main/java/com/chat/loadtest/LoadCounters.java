@@ -0,0 +1,39 @@
+package com.chat.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 사용자 공용 카운터
+ */
+public class LoadCounters {
+
+    final AtomicLong connected = new AtomicLong();
+    final AtomicLong connectFailures = new AtomicLong();
+    final AtomicLong chatSent = new AtomicLong();
+    final AtomicLong chatReceived = new AtomicLong();
+    final AtomicLong typingSent = new AtomicLong();
+    final AtomicLong botReplies = new AtomicLong();
+    final AtomicLong errorFrames = new AtomicLong();
+    final AtomicLong sendFailures = new AtomicLong();
+
+    /**
+     * /user/queue/errors 거부 알림 (오류 코드 -> 건수)
+     */
+    final Map<String, AtomicLong> rejections = new ConcurrentHashMap<>();
+
+    void recordRejection(String error) {
+        rejections.computeIfAbsent(error, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        Map<String, Long> rejected = new TreeMap<>();
+        rejections.forEach((error, count) -> rejected.put(error, count.get()));
+        return String.format("connected=%d connectFailures=%d sent=%d received=%d typing=%d botReplies=%d errors=%d rejected=%s sendFailures=%d",
+                connected.get(), connectFailures.get(), chatSent.get(), chatReceived.get(), typingSent.get(),
+                botReplies.get(), errorFrames.get(), rejected, sendFailures.get());
+    }
+}
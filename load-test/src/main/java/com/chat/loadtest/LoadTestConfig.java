@@ -0,0 +1,49 @@
+package com.chat.loadtest;
+
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정
+ * 모든 값은 -Dload.* 시스템 속성으로 덮어쓸 수 있습니다.
+ *
+ * @param baseUrl             REST API 주소 (사용자/채팅방 생성)
+ * @param webSocketUrl        STOMP 엔드포인트 (SockJS 없는 네이티브 엔드포인트)
+ * @param users               동시 사용자 수 (사용자마다 전용 채팅방 1개)
+ * @param rampUp              전체 사용자 연결에 걸리는 시간
+ * @param duration            전송 유지 시간 (ramp-up 이후)
+ * @param messagesPerSecond   사용자당 초당 CHAT 전송 수
+ * @param typingPerSecond     사용자당 초당 타이핑 알림 수 (0이면 보내지 않음)
+ * @param reportInterval      중간 집계 출력 간격
+ * @param histogramLog        HdrHistogram 로그 파일 경로
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        String webSocketUrl,
+        int users,
+        Duration rampUp,
+        Duration duration,
+        double messagesPerSecond,
+        double typingPerSecond,
+        Duration reportInterval,
+        String histogramLog
+) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        String baseUrl = property("load.base-url", "http://localhost:8080");
+        return new LoadTestConfig(
+                baseUrl,
+                property("load.ws-url", baseUrl.replaceFirst("^http", "ws") + "/ws-chat-native"),
+                Integer.parseInt(property("load.users", "100")),
+                Duration.ofSeconds(Long.parseLong(property("load.ramp-up-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("load.duration-seconds", "60"))),
+                Double.parseDouble(property("load.messages-per-second", "0.5")),
+                Double.parseDouble(property("load.typing-per-second", "1")),
+                Duration.ofSeconds(Long.parseLong(property("load.report-interval-seconds", "5"))),
+                property("load.histogram-log", "build/latency.hlog")
+        );
+    }
+
+    private static String property(String key, String defaultValue) {
+        return System.getProperty(key, defaultValue);
+    }
+}
@@ -0,0 +1,116 @@
+package com.chat.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 헤드리스 STOMP 부하 생성기
+ * REST로 사용자/채팅방을 만들고, 사용자마다 가상 스레드에서 STOMP 세션을 유지하며 설정된 속도로 CHAT/타이핑을 보냅니다.
+ * 전송→수신 지연과 전송→챗봇 응답 지연을 HdrHistogram으로 기록해 주기적으로 요약을 출력하고 종료 시 분포와 로그 파일을 남깁니다.
+ * 챗봇 응답은 채팅 서버를 claude-stub 프로필(ClaudeStubController)로 실행해 외부 호출 없이 재현합니다.
+ *
+ * <pre>
+ * ./gradlew :load-test:run -Dload.users=2000 -Dload.messages-per-second=0.5
+ * </pre>
+ */
+public class LoadTestMain {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestMain.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        log.info("Load test config: {}", config);
+
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        LoadCounters counters = new LoadCounters();
+        LatencyRecorder latencyRecorder = new LatencyRecorder(config.histogramLog(),
+                SimulatedUser.CHAT_LATENCY, SimulatedUser.BOT_LATENCY);
+
+        StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
+        SimpleAsyncTaskExecutor connectExecutor = new SimpleAsyncTaskExecutor("ws-connect-");
+        connectExecutor.setVirtualThreads(true);
+        webSocketClient.setTaskExecutor(connectExecutor);
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(webSocketClient);
+        // payload는 직접 JSON 직렬화한 byte[]로 주고받음
+        stompClient.setMessageConverter(new SimpleMessageConverter());
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+
+        ChatApiClient apiClient = new ChatApiClient(config.baseUrl(), jsonMapper);
+        List<SimulatedUser> users = new ArrayList<>(config.users());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(
+                () -> log.info("{} | {}", counters, latencyRecorder.snapshot()),
+                config.reportInterval().toMillis(), config.reportInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            long rampUpNanos = config.rampUp().toNanos();
+            long start = System.nanoTime();
+            long deadline = start + rampUpNanos + config.duration().toNanos();
+            String runId = UUID.randomUUID().toString().substring(0, 8);
+
+            for (int i = 0; i < config.users(); i++) {
+                long connectAt = start + (config.users() > 1 ? rampUpNanos * i / (config.users() - 1) : 0);
+                String nickname = "lt-" + runId + "-" + i;
+                virtualThreads.submit(() -> {
+                    sleepUntil(connectAt);
+                    SimulatedUser user;
+                    try {
+                        UUID userId = apiClient.createUser(nickname);
+                        UUID chatRoomId = apiClient.createChatRoom(userId);
+                        user = new SimulatedUser(userId, nickname, chatRoomId, config, jsonMapper,
+                                latencyRecorder, counters);
+                        user.connect(stompClient);
+                    } catch (Exception e) {
+                        counters.connectFailures.incrementAndGet();
+                        log.warn("User setup failed: {} ({})", nickname, e.getMessage());
+                        return null;
+                    }
+                    synchronized (users) {
+                        users.add(user);
+                    }
+                    Thread typing = Thread.ofVirtual().start(() -> user.runTypingLoop(deadline));
+                    user.runChatLoop(deadline);
+                    typing.join();
+                    return null;
+                });
+            }
+        }
+
+        // 마지막 메시지의 브로드캐스트/챗봇 응답을 받을 여유
+        TimeUnit.SECONDS.sleep(Long.getLong("load.drain-seconds", 5));
+        reporter.shutdownNow();
+
+        synchronized (users) {
+            users.forEach(SimulatedUser::disconnect);
+        }
+        log.info("Final: {}", counters);
+        latencyRecorder.printTotals(System.out);
+        log.info("Histogram log written to {}", config.histogramLog());
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.chat.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 사용자 한 명
+ * 전용 채팅방을 구독하고, 설정된 속도로 CHAT/타이핑 프레임을 보냅니다.
+ * CHAT 본문에 전송 시각(nanoTime)을 넣어 두므로 자기 메시지가 브로드캐스트로 돌아오면 전송→수신 지연을,
+ * 챗봇 응답(에코 스텁 사용 시 같은 토큰을 포함)이 오면 전송→챗봇 응답 지연을 기록합니다.
+ * 서버가 버린 프레임(전송 한도 초과, 채팅방 레인 포화, DB 동시 진입 한도)은 /user/queue/errors 알림으로 오므로 오류 코드별로 집계합니다.
+ */
+public class SimulatedUser {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedUser.class);
+
+    static final String CHAT_LATENCY = "chat";
+    static final String BOT_LATENCY = "botReply";
+
+    private static final String LATENCY_MARKER = "lt:";
+
+    /**
+     * 거부 알림 destination (서버 RateLimitInterceptor.ERRORS_DESTINATION의 사용자 큐)
+     */
+    private static final String ERRORS_DESTINATION = "/user/queue/errors";
+
+    /**
+     * nanoTime 기준점 (본문에는 음수가 되지 않도록 기준점 이후 경과값을 넣음)
+     */
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    private final UUID userId;
+    private final String nickname;
+    private final UUID chatRoomId;
+    private final LoadTestConfig config;
+    private final JsonMapper jsonMapper;
+    private final LatencyRecorder latencyRecorder;
+    private final LoadCounters counters;
+
+    private volatile StompSession session;
+    private long sequence;
+
+    public SimulatedUser(UUID userId, String nickname, UUID chatRoomId, LoadTestConfig config,
+                         JsonMapper jsonMapper, LatencyRecorder latencyRecorder, LoadCounters counters) {
+        this.userId = userId;
+        this.nickname = nickname;
+        this.chatRoomId = chatRoomId;
+        this.config = config;
+        this.jsonMapper = jsonMapper;
+        this.latencyRecorder = latencyRecorder;
+        this.counters = counters;
+    }
+
+    /**
+     * 연결 후 거부 알림 큐와 채팅방 구독 (CONNECT의 userId 헤더로 세션에 사용자 바인딩)
+     */
+    public void connect(WebSocketStompClient stompClient) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("userId", userId.toString());
+
+        session = stompClient.connectAsync(config.webSocketUrl(), new WebSocketHttpHeaders(), connectHeaders,
+                        new SessionHandler())
+                .get(30, TimeUnit.SECONDS);
+        session.subscribe(ERRORS_DESTINATION, new ErrorNoticeHandler());
+        session.subscribe("/topic/chatroom/" + chatRoomId, new RoomFrameHandler());
+        counters.connected.incrementAndGet();
+    }
+
+    /**
+     * 종료 시각까지 CHAT 전송 (가상 스레드에서 실행)
+     */
+    public void runChatLoop(long deadlineNanos) {
+        runAtRate(config.messagesPerSecond(), deadlineNanos, this::sendChat);
+    }
+
+    /**
+     * 종료 시각까지 타이핑 알림 전송 (가상 스레드에서 실행)
+     */
+    public void runTypingLoop(long deadlineNanos) {
+        runAtRate(config.typingPerSecond(), deadlineNanos, this::sendTyping);
+    }
+
+    public void disconnect() {
+        StompSession current = session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    /**
+     * 고정 간격 전송, 사용자 간 위상은 무작위로 분산
+     */
+    private void runAtRate(double perSecond, long deadlineNanos, Runnable action) {
+        if (perSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        long next = System.nanoTime() + (long) (Math.random() * intervalNanos);
+        while (next < deadlineNanos) {
+            long sleepNanos = next - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            StompSession current = session;
+            if (current == null || !current.isConnected()) {
+                return;
+            }
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                counters.sendFailures.incrementAndGet();
+                log.debug("Send failed: user={}, error={}", nickname, e.getMessage());
+            }
+            next += intervalNanos;
+        }
+    }
+
+    private void sendChat() {
+        long seq = ++sequence;
+        String content = LATENCY_MARKER + (System.nanoTime() - ORIGIN_NANOS) + " seq=" + seq + " from " + nickname;
+        send("/app/chat/" + chatRoomId, Map.of(
+                "chatRoomId", chatRoomId.toString(),
+                "senderId", userId.toString(),
+                "content", content,
+                "messageType", "TEXT",
+                "chatMessageType", "CHAT"));
+        counters.chatSent.incrementAndGet();
+    }
+
+    private void sendTyping() {
+        send("/app/typing/" + chatRoomId, Map.of(
+                "chatRoomId", chatRoomId.toString(),
+                "userId", userId.toString(),
+                "nickname", nickname,
+                "isTyping", true));
+        counters.typingSent.incrementAndGet();
+    }
+
+    /**
+     * CHAT/타이핑 루프가 같은 세션을 공유하므로 송신은 직렬화
+     */
+    private synchronized void send(String destination, Map<String, Object> payload) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        session.send(headers, jsonMapper.writeValueAsBytes(payload));
+    }
+
+    private void onRoomEvent(JsonNode event) {
+        if (!event.hasNonNull("chatMessageType") || !"CHAT".equals(event.get("chatMessageType").asString())) {
+            return;
+        }
+        long sentAt = parseSentAt(event.path("content").asString(""));
+        if (sentAt < 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - ORIGIN_NANOS - sentAt;
+        if (userId.toString().equals(event.path("senderId").asString(""))) {
+            counters.chatReceived.incrementAndGet();
+            latencyRecorder.record(CHAT_LATENCY, elapsed);
+        } else {
+            counters.botReplies.incrementAndGet();
+            latencyRecorder.record(BOT_LATENCY, elapsed);
+        }
+    }
+
+    private long parseSentAt(String content) {
+        int start = content.indexOf(LATENCY_MARKER);
+        if (start < 0) {
+            return -1;
+        }
+        start += LATENCY_MARKER.length();
+        int end = start;
+        while (end < content.length() && Character.isDigit(content.charAt(end))) {
+            end++;
+        }
+        try {
+            return Long.parseLong(content.substring(start, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 채팅방 토픽 프레임 처리 (배치 프레임은 이벤트 배열)
+     */
+    private class RoomFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            if (headers.getFirst("x-replay") != null) {
+                return;
+            }
+            JsonNode node = jsonMapper.readTree((byte[]) payload);
+            if (node.isArray()) {
+                node.forEach(SimulatedUser.this::onRoomEvent);
+            } else {
+                onRoomEvent(node);
+            }
+        }
+    }
+
+    /**
+     * 거부 알림 처리 (RateLimitNotice JSON, error 필드가 오류 코드)
+     */
+    private class ErrorNoticeHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            JsonNode notice = jsonMapper.readTree((byte[]) payload);
+            String error = notice.path("error").asString("unknown");
+            counters.recordRejection(error);
+            log.debug("Rejected: user={}, error={}, destination={}", nickname, error,
+                    notice.path("destination").asString(""));
+        }
+    }
+
+    private class SessionHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            // ERROR 프레임 (CONNECT 거부, 참여하지 않은 채팅방 전송 등 세션을 끊는 오류)
+            // 전송 한도 초과 등으로 버려진 프레임은 ERROR가 아니라 /user/queue/errors 알림으로 옴
+            counters.errorFrames.incrementAndGet();
+            log.debug("ERROR frame: user={}, message={}", nickname, headers.getFirst("message"));
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            counters.sendFailures.incrementAndGet();
+            log.debug("STOMP exception: user={}, error={}", nickname, exception.getMessage());
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            log.debug("Transport error: user={}, error={}", nickname, exception.getMessage());
+        }
+    }
+}
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -13,6 +16,7 @@ import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Claude API 연동 서비스
@@ -23,6 +27,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 @RequiredArgsConstructor
 public class ClaudeChatService {
 
+    private static final ParameterizedTypeReference<ServerSentEvent<ClaudeStreamEvent>> STREAM_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
     private final WebClient claudeWebClient;
 
     @Value("${claude.model:claude-3-5-sonnet-20240620}")
@@ -43,6 +51,9 @@ public class ClaudeChatService {
     @Value("${claude.timeout-seconds:10}")
     private Long timeoutSeconds;
 
+    @Value("${claude.stream-enabled:false}")
+    private Boolean streamEnabled;
+
     private final Map<UUID, AtomicInteger> usageByRoom = new ConcurrentHashMap<>();
     private final Set<UUID> limitNotifiedRooms = ConcurrentHashMap.newKeySet();
 
@@ -62,6 +73,7 @@ public class ClaudeChatService {
         try {
             ClaudeApiResponse apiResponse = claudeWebClient.post()
                     .uri("/messages")
+                    .accept(MediaType.APPLICATION_JSON)
                     .bodyValue(payload)
                     .retrieve()
                     .bodyToMono(ClaudeApiResponse.class)
@@ -89,10 +101,110 @@ public class ClaudeChatService {
         }
     }
 
+    /**
+     * 사용자 메시지를 Claude에 스트리밍 모드로 전달합니다.
+     * 텍스트 조각이 도착할 때마다 onDelta를 호출하고, 완료되면 전체 응답을 반환합니다.
+     * SSE error 이벤트나 전송 오류로 스트림이 중간에 끝나면 잘린 응답은 반환하지 않고 {@link ReplyResult#isAborted()}로 알립니다.
+     * 호출 스레드는 스트림이 끝날 때까지 대기하므로 전용 executor에서 호출해야 합니다.
+     */
+    public ReplyResult streamReply(UUID chatRoomId, String userMessage, Consumer<String> onDelta) {
+        AtomicInteger counter = usageByRoom.computeIfAbsent(chatRoomId, id -> new AtomicInteger(0));
+        int currentUsage = counter.get();
+        if (currentUsage >= tokenLimitPerRoom) {
+            boolean limitJustReached = limitNotifiedRooms.add(chatRoomId);
+            return ReplyResult.limitReached(currentUsage, tokenLimitPerRoom, limitJustReached);
+        }
+
+        Map<String, Object> payload = buildPayload(userMessage);
+        payload.put("stream", true);
+
+        StringBuilder replyText = new StringBuilder();
+        ClaudeUsage usage = new ClaudeUsage();
+
+        try {
+            claudeWebClient.post()
+                    .uri("/messages")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(payload)
+                    .retrieve()
+                    .bodyToFlux(STREAM_EVENT_TYPE)
+                    // 이벤트 간 최대 대기 시간
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .doOnNext(event -> handleStreamEvent(event.data(), replyText, usage, onDelta))
+                    .blockLast();
+        } catch (WebClientResponseException e) {
+            log.error("[CLAUDE] 스트리밍 호출 실패: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
+            return abortStream(counter, currentUsage, usage, userMessage, replyText);
+        } catch (Exception e) {
+            log.error("[CLAUDE] 스트리밍 중 예외 발생: {}", e.getMessage(), e);
+            return abortStream(counter, currentUsage, usage, userMessage, replyText);
+        }
+
+        String text = replyText.toString();
+        int usedTokens = resolveTokens(usage, userMessage, text);
+        int updatedUsage = counter.addAndGet(usedTokens);
+        boolean limitReached = updatedUsage >= tokenLimitPerRoom;
+        boolean limitJustReached = limitReached && limitNotifiedRooms.add(chatRoomId);
+
+        return ReplyResult.success(text, updatedUsage, tokenLimitPerRoom, limitReached, limitJustReached);
+    }
+
+    /**
+     * 중간에 끝난 스트림 처리
+     * 조각이 전달되지 않았으면 일반 실패이고, 전달된 조각이 있으면 잘린 응답을 확정하지 않고 중단으로 알립니다.
+     * 이미 생성된 조각도 과금되므로 사용량에는 반영합니다.
+     */
+    private ReplyResult abortStream(AtomicInteger counter, int currentUsage, ClaudeUsage usage,
+                                    String userMessage, StringBuilder replyText) {
+        if (replyText.isEmpty()) {
+            return ReplyResult.failure(currentUsage);
+        }
+        int updatedUsage = counter.addAndGet(resolveTokens(usage, userMessage, replyText.toString()));
+        return ReplyResult.aborted(updatedUsage, tokenLimitPerRoom);
+    }
+
     public int getTokenLimitPerRoom() {
         return tokenLimitPerRoom;
     }
 
+    public boolean isStreamEnabled() {
+        return Boolean.TRUE.equals(streamEnabled);
+    }
+
+    private void handleStreamEvent(ClaudeStreamEvent event, StringBuilder replyText,
+                                   ClaudeUsage usage, Consumer<String> onDelta) {
+        if (event == null || event.getType() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case "message_start" -> {
+                if (event.getMessage() != null && event.getMessage().getUsage() != null) {
+                    usage.setInputTokens(event.getMessage().getUsage().getInputTokens());
+                }
+            }
+            case "content_block_delta" -> {
+                ClaudeStreamDelta delta = event.getDelta();
+                if (delta != null && "text_delta".equals(delta.getType()) && delta.getText() != null) {
+                    replyText.append(delta.getText());
+                    onDelta.accept(delta.getText());
+                }
+            }
+            case "message_delta" -> {
+                if (event.getUsage() != null) {
+                    usage.setOutputTokens(event.getUsage().getOutputTokens());
+                }
+            }
+            case "error" -> {
+                ClaudeStreamError error = event.getError();
+                throw new ClaudeStreamException(error != null ? error.getType() : null,
+                        error != null ? error.getMessage() : null);
+            }
+            default -> {
+                // ping, content_block_start/stop, message_stop 은 처리할 내용 없음
+            }
+        }
+    }
+
     private Map<String, Object> buildPayload(String userMessage) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("model", model);
@@ -119,7 +231,10 @@ public class ClaudeChatService {
     }
 
     private int resolveTokens(ClaudeApiResponse response, String userMessage, String replyText) {
-        ClaudeUsage usage = response.getUsage();
+        return resolveTokens(response.getUsage(), userMessage, replyText);
+    }
+
+    private int resolveTokens(ClaudeUsage usage, String userMessage, String replyText) {
         if (usage != null && usage.getInputTokens() != null && usage.getOutputTokens() != null) {
             return usage.getInputTokens() + usage.getOutputTokens();
         }
@@ -158,6 +273,45 @@ public class ClaudeChatService {
         private Integer outputTokens;
     }
 
+    /**
+     * Claude 스트리밍 이벤트 (SSE data)
+     */
+    @lombok.Data
+    private static class ClaudeStreamEvent {
+        private String type;
+        private ClaudeApiResponse message;
+        private ClaudeStreamDelta delta;
+        private ClaudeUsage usage;
+        private ClaudeStreamError error;
+    }
+
+    /**
+     * Claude 스트리밍 오류 (error 이벤트, 예: overloaded_error)
+     */
+    @lombok.Data
+    private static class ClaudeStreamError {
+        private String type;
+        private String message;
+    }
+
+    /**
+     * 스트림 도중 error 이벤트 수신 (스트림을 오류로 종료)
+     */
+    private static class ClaudeStreamException extends RuntimeException {
+        ClaudeStreamException(String type, String message) {
+            super("stream error event: type=" + type + ", message=" + message);
+        }
+    }
+
+    /**
+     * Claude 스트리밍 텍스트 조각
+     */
+    @lombok.Data
+    private static class ClaudeStreamDelta {
+        private String type;
+        private String text;
+    }
+
     /**
      * 응답 결과
      */
@@ -170,18 +324,26 @@ public class ClaudeChatService {
         private final int tokenLimit;
         private final boolean limitReached;
         private final boolean limitJustReached;
+        /**
+         * 스트리밍 도중 중단됨 (이미 보낸 조각을 클라이언트가 버려야 함)
+         */
+        private final boolean aborted;
 
         public static ReplyResult success(String replyText, int totalTokensUsed, int tokenLimit,
                                           boolean limitReached, boolean limitJustReached) {
-            return new ReplyResult(true, replyText, totalTokensUsed, tokenLimit, limitReached, limitJustReached);
+            return new ReplyResult(true, replyText, totalTokensUsed, tokenLimit, limitReached, limitJustReached, false);
         }
 
         public static ReplyResult limitReached(int totalTokensUsed, int tokenLimit, boolean limitJustReached) {
-            return new ReplyResult(false, null, totalTokensUsed, tokenLimit, true, limitJustReached);
+            return new ReplyResult(false, null, totalTokensUsed, tokenLimit, true, limitJustReached, false);
         }
 
         public static ReplyResult failure(int totalTokensUsed) {
-            return new ReplyResult(false, null, totalTokensUsed, 0, false, false);
+            return new ReplyResult(false, null, totalTokensUsed, 0, false, false, false);
+        }
+
+        public static ReplyResult aborted(int totalTokensUsed, int tokenLimit) {
+            return new ReplyResult(false, null, totalTokensUsed, tokenLimit, false, false, true);
         }
     }
 }
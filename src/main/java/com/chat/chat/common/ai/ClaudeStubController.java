@@ -0,0 +1,119 @@
+package com.chat.chat.common.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오프라인 테스트용 Claude Messages API 스텁
+ * claude-stub 프로필에서만 활성화되며, 사용자 메시지를 에코하는 응답을 일반/SSE 모드로 돌려줍니다.
+ * claude.stub.error-after-tokens가 0 이상이면 SSE 모드에서 그만큼 조각을 보낸 뒤 error 이벤트(overloaded_error)로 끝냅니다.
+ */
+@Slf4j
+@Profile("claude-stub")
+@RestController
+@RequestMapping("/stub/claude/v1")
+public class ClaudeStubController {
+
+    @Value("${claude.stub.token-delay-ms:30}")
+    private Long tokenDelayMs;
+
+    @Value("${claude.stub.error-after-tokens:-1}")
+    private Integer errorAfterTokens;
+
+    /**
+     * 일반 응답 (stream=false)
+     */
+    @PostMapping(value = "/messages", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> createMessage(@RequestBody Map<String, Object> request) {
+        String reply = String.join("", buildTokens(request));
+        return Map.of(
+                "type", "message",
+                "role", "assistant",
+                "content", List.of(Map.of("type", "text", "text", reply)),
+                "usage", Map.of("input_tokens", inputTokens(request), "output_tokens", reply.length() / 4 + 1)
+        );
+    }
+
+    /**
+     * 스트리밍 응답 (stream=true)
+     */
+    @PostMapping(value = "/messages", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, Object>>> streamMessage(@RequestBody Map<String, Object> request) {
+        List<String> tokens = buildTokens(request);
+        log.debug("[CLAUDE-STUB] Streaming {} tokens", tokens.size());
+
+        Flux<ServerSentEvent<Map<String, Object>>> start = Flux.just(
+                event("message_start", Map.of("type", "message_start",
+                        "message", Map.of("usage", Map.of("input_tokens", inputTokens(request), "output_tokens", 0)))),
+                event("content_block_start", Map.of("type", "content_block_start", "index", 0,
+                        "content_block", Map.of("type", "text", "text", "")))
+        );
+
+        Flux<ServerSentEvent<Map<String, Object>>> deltas = Flux.fromIterable(tokens)
+                .delayElements(Duration.ofMillis(tokenDelayMs))
+                .map(token -> event("content_block_delta", Map.of("type", "content_block_delta", "index", 0,
+                        "delta", Map.of("type", "text_delta", "text", token))));
+
+        if (errorAfterTokens >= 0) {
+            // 실제 API가 과부하 등으로 스트림 도중 보내는 error 이벤트
+            Flux<ServerSentEvent<Map<String, Object>>> error = Flux.just(
+                    event("error", Map.of("type", "error",
+                            "error", Map.of("type", "overloaded_error", "message", "Overloaded")))
+            );
+            return Flux.concat(start, deltas.take(errorAfterTokens), error);
+        }
+
+        Flux<ServerSentEvent<Map<String, Object>>> end = Flux.just(
+                event("content_block_stop", Map.of("type", "content_block_stop", "index", 0)),
+                event("message_delta", Map.of("type", "message_delta",
+                        "delta", Map.of("stop_reason", "end_turn"),
+                        "usage", Map.of("output_tokens", tokens.size()))),
+                event("message_stop", Map.of("type", "message_stop"))
+        );
+
+        return Flux.concat(start, deltas, end);
+    }
+
+    private ServerSentEvent<Map<String, Object>> event(String name, Map<String, Object> data) {
+        return ServerSentEvent.<Map<String, Object>>builder()
+                .event(name)
+                .data(data)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> buildTokens(Map<String, Object> request) {
+        String userMessage = "";
+        Object messages = request.get("messages");
+        if (messages instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof Map<?, ?> first) {
+            Object content = ((Map<String, Object>) first).get("content");
+            userMessage = content != null ? content.toString() : "";
+        }
+
+        List<String> tokens = new ArrayList<>();
+        tokens.add("[stub]");
+        for (String word : userMessage.split("\\s+")) {
+            if (!word.isBlank()) {
+                tokens.add(" " + word);
+            }
+        }
+        return tokens;
+    }
+
+    private int inputTokens(Map<String, Object> request) {
+        return request.toString().length() / 4 + 1;
+    }
+}
@@ -0,0 +1,227 @@
+package com.chat.chat.common.cache;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.common.relay.AfterCommitRelay;
+import com.chat.chat.common.relay.ClusterRelay;
+import jakarta.annotation.PostConstruct;
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 노드 간 무효화를 지원하는 UUID 키 read-through LRU 캐시
+ * 크기(LRU)와 선택적 TTL 한도 안에서 항목을 보관하고, 무효화는 커밋 후 로컬 항목을 지운 뒤 {@link ClusterRelay}로 다른 노드에도 발행합니다.
+ * 같은 stripe의 무효화와 겹친 조회 결과는 캐시에 넣지 않으므로, 커밋 전 값을 읽은 조회가 무효화 뒤에 오래된 값을 다시 채우지 않습니다.
+ * stripe는 키 해시로 나누므로 다른 키의 잦은 무효화(예: 상태 flush)가 대부분의 조회 결과를 버리게 하지 않습니다.
+ * 설정값(사용 여부, 크기, TTL)은 하위 클래스가 제공합니다.
+ */
+public abstract class InvalidatingLruCache<V> implements MetricsSource {
+
+    private final ClusterRelay clusterRelay;
+    private final String relayType;
+
+    /**
+     * 무효화 epoch stripe 수 (2의 거듭제곱)
+     */
+    private static final int EPOCH_STRIPES = 256;
+
+    private Map<UUID, Entry<V>> entries;
+
+    /**
+     * 키 stripe별 무효화 횟수 (조회 시작 이후 같은 stripe에 무효화가 있었는지 판단)
+     */
+    private final AtomicLongArray invalidationEpochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    private final List<Consumer<Collection<UUID>>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong preloadedCount = new AtomicLong();
+    private final AtomicLong invalidatedCount = new AtomicLong();
+    private final AtomicLong remoteInvalidatedCount = new AtomicLong();
+    private final AtomicLong skippedPutCount = new AtomicLong();
+
+    protected InvalidatingLruCache(ClusterRelay clusterRelay, String relayType) {
+        this.clusterRelay = clusterRelay;
+        this.relayType = relayType;
+    }
+
+    protected abstract boolean isEnabled();
+
+    protected abstract int maxSize();
+
+    /**
+     * 항목 유효 시간 (0 미만이면 만료 없음)
+     */
+    protected abstract long ttlMs();
+
+    @PostConstruct
+    protected void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry<V>> eldest) {
+                if (size() > maxSize()) {
+                    evictedCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        clusterRelay.subscribe(relayType, envelope -> {
+            List<UUID> keys = new ArrayList<>();
+            JsonNode payload = envelope.getPayload();
+            if (payload.isArray()) {
+                for (JsonNode node : payload) {
+                    keys.add(UUID.fromString(node.asString()));
+                }
+            } else {
+                keys.add(UUID.fromString(payload.asString()));
+            }
+            remoteInvalidatedCount.addAndGet(keys.size());
+            evict(keys);
+        });
+    }
+
+    /**
+     * 캐시 조회, 없거나 만료되었으면 loader로 읽어 보관
+     * loader가 null을 반환하거나 예외를 던지면 캐시에 남기지 않습니다.
+     */
+    public V get(UUID key, Function<UUID, V> loader) {
+        if (!isEnabled()) {
+            missCount.incrementAndGet();
+            return loader.apply(key);
+        }
+
+        long now = System.nanoTime();
+        long ttlMs = ttlMs();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (ttlMs < 0 || now - entry.loadedAt < TimeUnit.MILLISECONDS.toNanos(ttlMs)) {
+                    hitCount.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                expiredCount.incrementAndGet();
+            }
+        }
+
+        missCount.incrementAndGet();
+        int stripe = stripe(key);
+        long epoch = invalidationEpochs.get(stripe);
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (entries) {
+                if (invalidationEpochs.get(stripe) == epoch) {
+                    entries.put(key, new Entry<>(value, now));
+                } else {
+                    skippedPutCount.incrementAndGet();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 새로 만든 값 미리 채우기 (현재 트랜잭션이 있으면 커밋 후)
+     * 롤백된 값이 캐시에 남지 않도록 커밋이 확인된 뒤에 넣습니다.
+     */
+    public void put(UUID key, V value) {
+        if (!isEnabled()) {
+            return;
+        }
+        AfterCommitRelay.run(() -> {
+            synchronized (entries) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+            preloadedCount.incrementAndGet();
+        });
+    }
+
+    /**
+     * 무효화 (현재 트랜잭션이 있으면 커밋 후, 없으면 즉시)
+     * 커밋 전에도 한 번 지워 같은 노드의 다른 조회가 변경 중인 값을 오래 쓰지 않게 합니다.
+     */
+    public void invalidate(UUID key) {
+        invalidate(List.of(key));
+    }
+
+    public void invalidate(Collection<UUID> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        evict(keys);
+        List<String> payload = keys.stream().map(UUID::toString).toList();
+        AfterCommitRelay.applyAndPublish(clusterRelay, relayType, payload, () -> {
+            evict(keys);
+            invalidatedCount.addAndGet(keys.size());
+        });
+    }
+
+    /**
+     * 무효화 리스너 등록 (이 캐시의 값을 따로 보관하는 곳이 함께 지우도록)
+     * 로컬 무효화(커밋 전/후)와 다른 노드에서 받은 무효화 모두 전달되므로 같은 키가 여러 번 올 수 있습니다.
+     */
+    public void addInvalidationListener(Consumer<Collection<UUID>> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    private void evict(Collection<UUID> keys) {
+        synchronized (entries) {
+            for (UUID key : keys) {
+                invalidationEpochs.incrementAndGet(stripe(key));
+                entries.remove(key);
+            }
+        }
+        invalidationListeners.forEach(listener -> listener.accept(keys));
+    }
+
+    private static int stripe(UUID key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    protected long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", isEnabled());
+        metrics.put("size", size);
+        metrics.put("maxSize", maxSize());
+        metrics.put("hits", hits);
+        metrics.put("misses", misses);
+        metrics.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        metrics.put("expired", expiredCount.get());
+        metrics.put("evicted", evictedCount.get());
+        metrics.put("preloaded", preloadedCount.get());
+        metrics.put("invalidated", invalidatedCount.get());
+        metrics.put("remoteInvalidated", remoteInvalidatedCount.get());
+        metrics.put("skippedPuts", skippedPutCount.get());
+        return metrics;
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
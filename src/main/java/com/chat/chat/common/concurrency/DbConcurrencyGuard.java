@@ -0,0 +1,107 @@
+package com.chat.chat.common.concurrency;
+
+import com.chat.chat.common.exception.BusinessException;
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.common.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * DB 동시 접근 제한기
+ * 가상 스레드는 개수 제한이 없으므로 Hikari 풀 크기만큼만 DB 작업에 진입시키고,
+ * 나머지는 커넥션 대기 대신 제한 시간 후 빠르게 실패시킵니다.
+ * REST 요청은 {@link DbConcurrencyInterceptor}가, STOMP 경로의 서비스 호출은 {@link #call}이 허가를 잡습니다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled)가 아니면 {@link #call}은 허가 없이 바로 실행합니다.
+ */
+@Slf4j
+@Component
+public class DbConcurrencyGuard implements MetricsSource {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMs;
+
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    public DbConcurrencyGuard(
+            @Value("${spring.threads.virtual.enabled:false}") boolean enabled,
+            @Value("${chat.db-guard.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int maxPermits,
+            @Value("${chat.db-guard.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.enabled = enabled;
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * 진입 허가 획득
+     *
+     * @return 제한 시간 안에 획득하면 true
+     */
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                acquiredCount.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timeoutCount.incrementAndGet();
+        log.warn("DB guard acquire timed out: waiting={}", permits.getQueueLength());
+        return false;
+    }
+
+    /**
+     * 진입 허가 반환
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * 허가를 잡고 DB 작업 실행
+     *
+     * @throws BusinessException 제한 시간 안에 허가를 얻지 못하면 SERVER_BUSY
+     */
+    public <T> T call(Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        if (!tryAcquire()) {
+            throw new BusinessException(ErrorCode.SERVER_BUSY, "DB 동시 요청 한도를 초과했습니다.");
+        }
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "dbGuard";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("permits", maxPermits);
+        metrics.put("available", permits.availablePermits());
+        metrics.put("waiting", permits.getQueueLength());
+        metrics.put("acquired", acquiredCount.get());
+        metrics.put("timedOut", timeoutCount.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,37 @@
+package com.chat.chat.common.concurrency;
+
+import com.chat.chat.common.exception.BusinessException;
+import com.chat.chat.common.exception.ErrorCode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * API 요청 단위로 DbConcurrencyGuard 허가를 잡는 인터셉터
+ */
+@RequiredArgsConstructor
+public class DbConcurrencyInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED_ATTRIBUTE = DbConcurrencyInterceptor.class.getName() + ".ACQUIRED";
+
+    private final DbConcurrencyGuard dbConcurrencyGuard;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!dbConcurrencyGuard.tryAcquire()) {
+            throw new BusinessException(ErrorCode.SERVER_BUSY, "DB 동시 요청 한도를 초과했습니다.");
+        }
+        request.setAttribute(ACQUIRED_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(ACQUIRED_ATTRIBUTE) != null) {
+            request.removeAttribute(ACQUIRED_ATTRIBUTE);
+            dbConcurrencyGuard.release();
+        }
+    }
+}
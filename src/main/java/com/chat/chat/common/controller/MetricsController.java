@@ -0,0 +1,51 @@
+package com.chat.chat.common.controller;
+
+import com.chat.chat.common.exception.EntityNotFoundException;
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.common.metrics.MetricsSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 런타임 지표 조회 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final List<MetricsSource> metricsSources;
+
+    /**
+     * 전체 지표 조회
+     */
+    @GetMapping
+    public Map<String, Object> getAllMetrics() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("timestamp", System.currentTimeMillis());
+        for (MetricsSource source : metricsSources) {
+            response.put(source.getMetricsName(), source.getMetrics());
+        }
+        return response;
+    }
+
+    /**
+     * 이름별 지표 조회
+     */
+    @GetMapping("/{name}")
+    public Map<String, Object> getMetrics(@PathVariable String name) {
+        return metricsSources.stream()
+                .filter(source -> source.getMetricsName().equals(name))
+                .findFirst()
+                .map(MetricsSource::getMetrics)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorCode.ENTITY_NOT_FOUND,
+                        "지표를 찾을 수 없습니다: " + name));
+    }
+}
@@ -20,6 +20,7 @@ public enum ErrorCode {
     ENTITY_NOT_FOUND(HttpStatus.NOT_FOUND, "C005", "요청한 리소스를 찾을 수 없습니다."),
     ACCESS_DENIED(HttpStatus.FORBIDDEN, "C006", "접근 권한이 없습니다."),
     UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "C007", "인증이 필요합니다."),
+    SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "C008", "요청이 많아 잠시 후 다시 시도해 주세요."),
 
     // User Errors (2000번대)
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "U001", "사용자를 찾을 수 없습니다."),
@@ -31,6 +32,7 @@ public enum ErrorCode {
     CHAT_ROOM_ALREADY_EXISTS(HttpStatus.CONFLICT, "R002", "이미 존재하는 채팅방입니다."),
     NOT_CHAT_ROOM_PARTICIPANT(HttpStatus.FORBIDDEN, "R003", "채팅방 참여자가 아닙니다."),
     CHAT_ROOM_FULL(HttpStatus.BAD_REQUEST, "R004", "채팅방이 가득 찼습니다."),
+    CHAT_ROOM_INACTIVE(HttpStatus.CONFLICT, "R005", "비활성화된 채팅방입니다."),
 
     // Message Errors (4000번대)
     MESSAGE_NOT_FOUND(HttpStatus.NOT_FOUND, "M001", "메시지를 찾을 수 없습니다."),
@@ -0,0 +1,56 @@
+package com.chat.chat.common.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순 UUID(v7, RFC 9562) 생성기
+ * 상위 48비트가 Unix epoch 밀리초이므로 새 키가 B-tree 오른쪽 끝에 쌓이고, ID 순서가 생성 순서와 같습니다.
+ * 같은 밀리초 안에서는 12비트 카운터(rand_a)를 증가시켜 생성기 인스턴스 내 단조 증가를 보장합니다.
+ * 엔티티는 Hibernate의 {@code @UuidGenerator(style = VERSION_7)}를 사용하고, 이 클래스는 Hibernate 밖에서
+ * ID를 정하는 경로(사용자 생성, write-behind 저장)에서 {@link #generate()}(JVM 공용 인스턴스)로 사용합니다.
+ * 테스트는 자체 {@link Clock}으로 별도 인스턴스를 만들어 공용 상태를 건드리지 않습니다.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final UuidV7 SYSTEM = new UuidV7(Clock.systemUTC());
+
+    private final Clock clock;
+
+    /**
+     * (밀리초 << 12) | 카운터
+     */
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    public UuidV7(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 시스템 시계 기반 공용 생성기로 생성
+     */
+    public static UUID generate() {
+        return SYSTEM.next();
+    }
+
+    public UUID next() {
+        long candidate = clock.millis() << COUNTER_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastTimestamp.get();
+            // 시계가 같거나 뒤로 가면 카운터 증가 (넘치면 다음 밀리초로 이월)
+            next = candidate > previous ? candidate : previous + 1;
+        } while (!lastTimestamp.compareAndSet(previous, next));
+
+        long millis = next >>> COUNTER_BITS;
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (millis << 16) | 0x7000L | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,20 @@
+package com.chat.chat.common.metrics;
+
+import java.util.Map;
+
+/**
+ * 런타임 지표 제공자
+ * 구현체의 스냅샷은 /api/metrics 에서 이름별로 노출됩니다.
+ */
+public interface MetricsSource {
+
+    /**
+     * 지표 그룹 이름
+     */
+    String getMetricsName();
+
+    /**
+     * 현재 지표 스냅샷
+     */
+    Map<String, Object> getMetrics();
+}
@@ -0,0 +1,45 @@
+package com.chat.chat.common.relay;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * 커밋 후 로컬 반영 + 노드 간 발행 헬퍼
+ * 현재 트랜잭션이 있으면 커밋 후에, 없으면 즉시 실행하므로 롤백된 변경은 로컬에도 다른 노드에도 반영되지 않습니다.
+ * 메모리 캐시/인덱스처럼 DB 변경을 따라가는 노드 로컬 상태가 같은 순서(로컬 반영 → 발행)를 쓰도록 모아 둡니다.
+ */
+public final class AfterCommitRelay {
+
+    private AfterCommitRelay() {
+    }
+
+    /**
+     * 현재 트랜잭션이 있으면 커밋 후, 없으면 즉시 실행
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 커밋 후 로컬에 반영하고 같은 변경을 다른 노드로 발행
+     *
+     * @param applyLocally 이 노드의 반영 (다른 노드는 type 구독 핸들러에서 같은 반영을 수행)
+     */
+    public static void applyAndPublish(ClusterRelay clusterRelay, String type, Object payload, Runnable applyLocally) {
+        run(() -> {
+            applyLocally.run();
+            clusterRelay.publish(type, UUID.randomUUID().toString(), null, payload);
+        });
+    }
+}
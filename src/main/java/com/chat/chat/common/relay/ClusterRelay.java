@@ -0,0 +1,30 @@
+package com.chat.chat.common.relay;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 이벤트 중계 인터페이스
+ * 한 노드에서 발생한 이벤트를 다른 노드에 전달합니다. 자기 자신이 발행한 이벤트는 다시 전달되지 않습니다.
+ */
+public interface ClusterRelay {
+
+    /**
+     * 현재 노드 ID
+     */
+    String getNodeId();
+
+    /**
+     * 다른 노드로 이벤트 발행
+     *
+     * @param type        이벤트 종류 (구독자 라우팅 키)
+     * @param eventId     중복 제거 키
+     * @param destination 이벤트 대상 (예: STOMP destination, 캐시 키)
+     * @param payload     JSON 직렬화 가능한 payload
+     */
+    void publish(String type, String eventId, String destination, Object payload);
+
+    /**
+     * 다른 노드에서 수신한 이벤트 구독
+     */
+    void subscribe(String type, Consumer<RelayEnvelope> handler);
+}
@@ -0,0 +1,28 @@
+package com.chat.chat.common.relay;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드용 relay (chat.relay.mode=none, 기본값)
+ * 다른 노드가 없으므로 발행/구독 모두 아무 것도 하지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.relay.mode", havingValue = "none", matchIfMissing = true)
+public class LocalClusterRelay implements ClusterRelay {
+
+    @Override
+    public String getNodeId() {
+        return "local";
+    }
+
+    @Override
+    public void publish(String type, String eventId, String destination, Object payload) {
+    }
+
+    @Override
+    public void subscribe(String type, Consumer<RelayEnvelope> handler) {
+    }
+}
@@ -0,0 +1,423 @@
+package com.chat.chat.common.relay;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY 기반 노드 간 relay (chat.relay.mode=postgres)
+ * 외부 브로커 없이 기존 데이터베이스만으로 이벤트를 중계합니다.
+ * 발행은 전용 스레드가 큐를 모아 한 트랜잭션으로 pg_notify를 보내고, 수신은 LISTEN 전용 연결에서 폴링합니다.
+ * NOTIFY payload는 8000바이트 제한이 있으므로 큰 이벤트는 조각으로 나눠 보내고 수신 측에서 다시 합칩니다.
+ * Supabase 트랜잭션 모드 pooler는 LISTEN을 지원하지 않으므로 chat.relay.postgres.url에 직접(세션) 연결 URL을 지정해야 합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.relay.mode", havingValue = "postgres")
+public class PostgresClusterRelay implements ClusterRelay, MetricsSource {
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * 조각 메시지 표시 prefix (일반 메시지는 '{'로 시작)
+     */
+    private static final String CHUNK_PREFIX = "~";
+
+    /**
+     * 한글(UTF-8 3바이트) 기준으로도 8000바이트 제한을 넘지 않는 조각 길이
+     */
+    private static final int MAX_CHUNK_CHARS = 2600;
+
+    private static final long CHUNK_TTL_MS = 10_000;
+
+    @Value("${chat.relay.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${chat.relay.postgres.channel:chat_relay}")
+    private String channel;
+
+    @Value("${chat.relay.postgres.url:${spring.datasource.url}}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${chat.relay.publish-queue-capacity:10000}")
+    private Integer publishQueueCapacity;
+
+    @Value("${chat.relay.dedupe-window:10000}")
+    private Integer dedupeWindow;
+
+    @Value("${chat.relay.poll-timeout-ms:500}")
+    private Integer pollTimeoutMs;
+
+    @Value("${chat.relay.reconnect-delay-ms:2000}")
+    private Long reconnectDelayMs;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<String, List<Consumer<RelayEnvelope>>> handlers = new ConcurrentHashMap<>();
+
+    private String nodeId;
+    private BlockingQueue<RelayEnvelope> publishQueue;
+    private volatile boolean running;
+    private Thread publisherThread;
+    private Thread listenerThread;
+
+    /**
+     * 최근 수신 eventId (리스너 스레드에서만 접근)
+     */
+    private Map<String, Boolean> recentEventIds;
+
+    /**
+     * 재조립 중인 조각 메시지 (리스너 스레드에서만 접근)
+     */
+    private final Map<String, PendingChunks> pendingChunks = new LinkedHashMap<>();
+
+    private volatile boolean listening;
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong publishFailedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong chunkedCount = new AtomicLong();
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final AtomicLong handlerErrorCount = new AtomicLong();
+    private final AtomicLong reconnectCount = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final AtomicLong totalLagMs = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid relay channel name: " + channel);
+        }
+        nodeId = StringUtils.hasText(configuredNodeId) ? configuredNodeId : UUID.randomUUID().toString().substring(0, 8);
+        publishQueue = new ArrayBlockingQueue<>(publishQueueCapacity);
+        recentEventIds = new LinkedHashMap<>(dedupeWindow * 2, 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+
+        running = true;
+        publisherThread = new Thread(this::publishLoop, "relay-publish");
+        listenerThread = new Thread(this::listenLoop, "relay-listen");
+        publisherThread.setDaemon(true);
+        listenerThread.setDaemon(true);
+        publisherThread.start();
+        listenerThread.start();
+        log.info("[RELAY] PostgreSQL relay started: nodeId={}, channel={}", nodeId, channel);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+        listenerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(String type, String eventId, String destination, Object payload) {
+        RelayEnvelope envelope = RelayEnvelope.builder()
+                .type(type)
+                .nodeId(nodeId)
+                .eventId(eventId)
+                .destination(destination)
+                .payload(jsonMapper.valueToTree(payload))
+                .publishedAt(System.currentTimeMillis())
+                .build();
+
+        if (!publishQueue.offer(envelope)) {
+            droppedCount.incrementAndGet();
+            log.warn("[RELAY] Publish queue full, dropping event: type={}, destination={}", type, destination);
+        }
+    }
+
+    @Override
+    public void subscribe(String type, Consumer<RelayEnvelope> handler) {
+        handlers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    // ==================== 발행 ====================
+
+    private void publishLoop() {
+        Connection connection = null;
+        List<RelayEnvelope> batch = new ArrayList<>();
+        while (running || !publishQueue.isEmpty()) {
+            try {
+                RelayEnvelope first = publishQueue.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                publishQueue.drainTo(batch, 255);
+
+                if (connection == null) {
+                    connection = openConnection();
+                    connection.setAutoCommit(false);
+                }
+                sendBatch(connection, batch);
+                publishedCount.addAndGet(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                publishFailedCount.addAndGet(batch.size());
+                log.warn("[RELAY] Publish failed, {} events lost: {}", batch.size(), e.getMessage());
+                closeQuietly(connection);
+                connection = null;
+                sleepQuietly(reconnectDelayMs);
+            } finally {
+                batch.clear();
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    /**
+     * 모은 이벤트를 한 트랜잭션으로 NOTIFY (커밋 시 한꺼번에 전달됨)
+     */
+    private void sendBatch(Connection connection, List<RelayEnvelope> batch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (RelayEnvelope envelope : batch) {
+                for (String part : toNotifyPayloads(jsonMapper.writeValueAsString(envelope))) {
+                    statement.setString(1, channel);
+                    statement.setString(2, part);
+                    statement.execute();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private List<String> toNotifyPayloads(String json) {
+        if (json.length() <= MAX_CHUNK_CHARS) {
+            return List.of(json);
+        }
+        chunkedCount.incrementAndGet();
+        // 서로게이트 쌍(이모지 등)이 두 조각으로 갈리지 않도록 code point 경계에서 자름
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < json.length()) {
+            int end = Math.min(json.length(), start + MAX_CHUNK_CHARS);
+            if (end < json.length() && Character.isHighSurrogate(json.charAt(end - 1))) {
+                end--;
+            }
+            pieces.add(json.substring(start, end));
+            start = end;
+        }
+
+        String chunkId = UUID.randomUUID().toString();
+        List<String> parts = new ArrayList<>(pieces.size());
+        for (int i = 0; i < pieces.size(); i++) {
+            parts.add(CHUNK_PREFIX + chunkId + ":" + i + ":" + pieces.size() + ":" + pieces.get(i));
+        }
+        return parts;
+    }
+
+    // ==================== 수신 ====================
+
+    private void listenLoop() {
+        Connection connection = null;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = openConnection();
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                    listening = true;
+                    log.info("[RELAY] Listening on channel {}", channel);
+                }
+
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(pollTimeoutMs);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        try {
+                            onNotification(notification.getParameter());
+                        } catch (RuntimeException e) {
+                            log.warn("[RELAY] Invalid notification ignored: {}", e.getMessage());
+                        }
+                    }
+                }
+                evictStaleChunks();
+            } catch (SQLException e) {
+                listening = false;
+                reconnectCount.incrementAndGet();
+                log.warn("[RELAY] Listener connection lost, reconnecting in {}ms: {}", reconnectDelayMs, e.getMessage());
+                closeQuietly(connection);
+                connection = null;
+                sleepQuietly(reconnectDelayMs);
+            }
+        }
+        listening = false;
+        closeQuietly(connection);
+    }
+
+    private void onNotification(String raw) {
+        if (raw.startsWith(CHUNK_PREFIX)) {
+            raw = onChunk(raw);
+            if (raw == null) {
+                return;
+            }
+        }
+
+        RelayEnvelope envelope = jsonMapper.readValue(raw, RelayEnvelope.class);
+
+        if (nodeId.equals(envelope.getNodeId())) {
+            return;
+        }
+        if (envelope.getEventId() != null && recentEventIds.put(envelope.getEventId(), Boolean.TRUE) != null) {
+            duplicateCount.incrementAndGet();
+            return;
+        }
+
+        receivedCount.incrementAndGet();
+        recordLag(System.currentTimeMillis() - envelope.getPublishedAt());
+
+        for (Consumer<RelayEnvelope> handler : handlers.getOrDefault(envelope.getType(), List.of())) {
+            try {
+                handler.accept(envelope);
+            } catch (Exception e) {
+                handlerErrorCount.incrementAndGet();
+                log.error("[RELAY] Handler failed: type={}, error={}", envelope.getType(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 조각 수신, 모든 조각이 모이면 원본 JSON 반환
+     */
+    private String onChunk(String raw) {
+        String[] parts = raw.substring(CHUNK_PREFIX.length()).split(":", 4);
+        if (parts.length != 4) {
+            return null;
+        }
+        int index = Integer.parseInt(parts[1]);
+        int total = Integer.parseInt(parts[2]);
+        PendingChunks chunks = pendingChunks.computeIfAbsent(parts[0], key -> new PendingChunks(total));
+        chunks.parts[index] = parts[3];
+        if (++chunks.received < total) {
+            return null;
+        }
+        pendingChunks.remove(parts[0]);
+        return String.join("", chunks.parts);
+    }
+
+    private void evictStaleChunks() {
+        long now = System.currentTimeMillis();
+        pendingChunks.values().removeIf(chunks -> now - chunks.createdAt > CHUNK_TTL_MS);
+    }
+
+    private void recordLag(long lagMs) {
+        long lag = Math.max(0, lagMs);
+        lastLagMs.set(lag);
+        totalLagMs.addAndGet(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+    }
+
+    // ==================== 공통 ====================
+
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 이미 끊어진 연결
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "relay";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long received = receivedCount.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", "postgres");
+        metrics.put("nodeId", nodeId);
+        metrics.put("channel", channel);
+        metrics.put("listening", listening);
+        metrics.put("queueDepth", publishQueue.size());
+        metrics.put("published", publishedCount.get());
+        metrics.put("publishFailed", publishFailedCount.get());
+        metrics.put("dropped", droppedCount.get());
+        metrics.put("chunked", chunkedCount.get());
+        metrics.put("received", received);
+        metrics.put("duplicates", duplicateCount.get());
+        metrics.put("handlerErrors", handlerErrorCount.get());
+        metrics.put("reconnects", reconnectCount.get());
+        metrics.put("lagLastMs", lastLagMs.get());
+        metrics.put("lagAvgMs", received > 0 ? totalLagMs.get() / received : 0);
+        metrics.put("lagMaxMs", maxLagMs.get());
+        return metrics;
+    }
+
+    /**
+     * 재조립 중인 조각 묶음
+     */
+    private static final class PendingChunks {
+        private final String[] parts;
+        private final long createdAt = System.currentTimeMillis();
+        private int received;
+
+        private PendingChunks(int total) {
+            this.parts = new String[total];
+        }
+    }
+}
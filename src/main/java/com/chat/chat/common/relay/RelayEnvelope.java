@@ -0,0 +1,47 @@
+package com.chat.chat.common.relay;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * 노드 간 중계 메시지
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelayEnvelope {
+
+    /**
+     * 이벤트 종류
+     */
+    private String type;
+
+    /**
+     * 발행 노드 ID
+     */
+    private String nodeId;
+
+    /**
+     * 중복 제거 키 (채팅 메시지는 messageId 기반)
+     */
+    private String eventId;
+
+    /**
+     * 이벤트 대상
+     */
+    private String destination;
+
+    /**
+     * payload (JSON 트리)
+     */
+    private JsonNode payload;
+
+    /**
+     * 발행 시각 (epoch millis, 지연 측정용)
+     */
+    private long publishedAt;
+}
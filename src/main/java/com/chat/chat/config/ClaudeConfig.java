@@ -16,6 +16,7 @@ public class ClaudeConfig {
 
     @Bean
     public WebClient claudeWebClient(
+            @Value("${claude.base-url:https://api.anthropic.com/v1}") String baseUrl,
             @Value("${claude.api-key}") String apiKey,
             @Value("${claude.timeout-seconds:10}") long timeoutSeconds
     ) {
@@ -23,7 +24,7 @@ public class ClaudeConfig {
                 .responseTimeout(Duration.ofSeconds(timeoutSeconds + 2));
 
         return WebClient.builder()
-                .baseUrl("https://api.anthropic.com/v1")
+                .baseUrl(baseUrl)
                 .defaultHeader("x-api-key", apiKey)
                 .defaultHeader("anthropic-version", "2023-06-01")
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,33 @@
+package com.chat.chat.config;
+
+import com.chat.chat.common.concurrency.DbConcurrencyGuard;
+import com.chat.chat.common.concurrency.DbConcurrencyInterceptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 가상 스레드 모드 설정
+ * spring.threads.virtual.enabled=true 일 때 Tomcat 요청이 가상 스레드에서 실행되므로,
+ * API 요청이 Hikari 풀 앞에서 무한정 쌓이지 않도록 DB 진입을 제한합니다.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final DbConcurrencyGuard dbConcurrencyGuard;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DbConcurrencyInterceptor(dbConcurrencyGuard))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/health", "/api/metrics", "/api/metrics/**");
+
+        log.info("✅ Virtual thread mode: DB concurrency guard registered for /api/**");
+    }
+}
@@ -1,11 +1,33 @@
 package com.chat.chat.config;
 
+import com.chat.chat.websocket.codec.BinaryPayloadNegotiator;
+import com.chat.chat.websocket.codec.CborMessageConverter;
+import com.chat.chat.websocket.ratelimit.RateLimitInterceptor;
+import com.chat.chat.websocket.replay.ReplayInterceptor;
+import com.chat.chat.websocket.session.StompSessionInterceptor;
+import com.chat.chat.websocket.transport.CompressionHandshakeHandler;
+import com.chat.chat.websocket.transport.SlowConsumerGuard;
+import com.chat.chat.websocket.transport.WireStatsCollector;
+import com.chat.chat.websocket.transport.WireStatsHandlerDecorator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * WebSocket 설정
@@ -14,8 +36,37 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final BinaryPayloadNegotiator binaryPayloadNegotiator;
+    private final WireStatsCollector wireStatsCollector;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final ReplayInterceptor replayInterceptor;
+    private final StompSessionInterceptor stompSessionInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    /**
+     * 네이티브 엔드포인트에서 permessage-deflate 협상 허용 여부
+     */
+    @Value("${chat.websocket.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    /**
+     * 세션별 송신 한도 (초과 시 Spring이 세션을 종료)
+     */
+    @Value("${chat.websocket.send-time-limit-ms:10000}")
+    private Integer sendTimeLimitMs;
+
+    @Value("${chat.websocket.send-buffer-size-limit:524288}")
+    private Integer sendBufferSizeLimit;
+
+    /**
+     * Tomcat과 동일한 스위치로 STOMP 채널 executor도 가상 스레드로 전환
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     /**
      * STOMP 엔드포인트 등록
      * 클라이언트가 WebSocket에 연결할 엔드포인트
@@ -24,9 +75,31 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-chat")
                 .setAllowedOriginPatterns("*") // CORS 설정
+                .addInterceptors(new SockJsMarkerInterceptor()) // 바이너리 프레임 미지원 세션 표시
                 .withSockJS(); // SockJS 폴백 옵션 활성화
 
-        log.info("✅ WebSocket STOMP endpoint registered: /ws-chat");
+        // SockJS 없는 네이티브 WebSocket 엔드포인트 (permessage-deflate, CBOR 바이너리 프레임 지원)
+        registry.addEndpoint("/ws-chat-native")
+                .setAllowedOriginPatterns("*")
+                .setHandshakeHandler(new CompressionHandshakeHandler(compressionEnabled));
+
+        // 세션별 수신 순서 유지 (inbound 스레드 풀에서 프레임이 뒤섞이지 않도록)
+        registry.setPreserveReceiveOrder(true);
+
+        log.info("✅ WebSocket STOMP endpoints registered: /ws-chat (SockJS), /ws-chat-native (compression={})",
+                compressionEnabled);
+    }
+
+    /**
+     * WebSocket 전송 설정
+     * 세션별 송신 시간/버퍼 한도, 느린 클라이언트 backlog 추적 및 송신 프레임 크기 집계 데코레이터 등록
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(slowConsumerGuard::decorate)
+                .addDecoratorFactory(handler -> new WireStatsHandlerDecorator(handler, wireStatsCollector));
     }
 
     /**
@@ -48,6 +121,65 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // 특정 사용자에게 메시지를 보낼 때 사용할 prefix
         registry.setUserDestinationPrefix("/user");
 
+        // 세션별 발신 순서 유지 (outbound executor에서 프레임이 뒤섞이지 않도록)
+        registry.setPreservePublishOrder(true);
+
         log.info("✅ Message broker configured: /topic, /queue, /app, /user");
     }
+
+    /**
+     * 메시지 컨버터 설정
+     * 기본 컨버터(JSON 등) 앞에 content-type이 application/cbor 일 때만 동작하는 CBOR 컨버터를 추가
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(new CborMessageConverter(binaryPayloadNegotiator.getCborMapper()));
+        return true;
+    }
+
+    /**
+     * 클라이언트 → 서버 채널 설정
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // CONNECT에서 사용자 바인딩, 채팅방 SUBSCRIBE/SEND는 세션별 참여 캐시로 확인
+        // 전송 한도는 참여 확인(DB 조회) 전에 적용
+        registration.interceptors(binaryPayloadNegotiator, rateLimitInterceptor, stompSessionInterceptor,
+                replayInterceptor);
+        if (virtualThreadsEnabled) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+            log.info("✅ clientInboundChannel uses virtual threads");
+        }
+    }
+
+    /**
+     * 서버 → 클라이언트 채널 설정
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // backlog 초과 세션의 저우선순위 프레임은 변환 전에 버림
+        registration.interceptors(slowConsumerGuard, binaryPayloadNegotiator);
+        if (virtualThreadsEnabled) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-outbound-"));
+            log.info("✅ clientOutboundChannel uses virtual threads");
+        }
+    }
+
+    /**
+     * SockJS 엔드포인트로 들어온 세션에 표시 속성을 남기는 핸드셰이크 인터셉터
+     */
+    private static class SockJsMarkerInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            attributes.put(BinaryPayloadNegotiator.SOCKJS_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
 }
@@ -24,13 +24,13 @@ public class ChatRoomController {
     private final ChatRoomService chatRoomService;
 
     /**
-     * 채팅방 생성 (사용자 + 전용 챗봇)
+     * 채팅방 생성 (사용자 + 공유 챗봇)
      */
     @PostMapping
     public ResponseEntity<ChatRoomResponse> createChatRoom(@RequestBody Map<String, UUID> request) {
         UUID userId = request.get("userId");
 
-        log.info("POST /api/chatrooms - Create chat room with dedicated bot: user={}", userId);
+        log.info("POST /api/chatrooms - Create chat room with shared bot: user={}", userId);
 
         ChatRoomResponse response = chatRoomService.createChatRoom(userId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -90,4 +90,19 @@ public class ChatRoomController {
         chatRoomService.resetUnreadCount(chatRoomId, userId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * 채팅방 비활성화
+     */
+    @PatchMapping("/{chatRoomId}/deactivate")
+    public ResponseEntity<Void> deactivateChatRoom(
+            @PathVariable UUID chatRoomId,
+            @RequestBody Map<String, UUID> request) {
+
+        UUID userId = request.get("userId");
+        log.info("PATCH /api/chatrooms/{}/deactivate - Deactivate chat room: user={}", chatRoomId, userId);
+
+        chatRoomService.deactivateChatRoom(chatRoomId, userId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,52 @@
+package com.chat.chat.domain.chatroom.dto;
+
+import com.chat.chat.domain.chatroom.entity.ChatRoom;
+import com.chat.chat.domain.user.entity.User;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 캐시용 채팅방 메타데이터 (불변)
+ * 참여자와 챗봇 사용자는 생성 후 바뀌지 않으므로, 메시지마다 채팅방을 다시 읽지 않도록 ID만 보관합니다.
+ */
+@Getter
+@Builder
+public class ChatRoomMetadata {
+
+    private final UUID chatRoomId;
+    private final UUID user1Id;
+    private final UUID user2Id;
+    private final UUID botUserId;
+    private final boolean active;
+
+    /**
+     * Entity to metadata (참여자가 로딩된 채팅방이어야 챗봇 여부를 판단할 수 있음)
+     */
+    public static ChatRoomMetadata from(ChatRoom chatRoom) {
+        User user1 = chatRoom.getUser1();
+        User user2 = chatRoom.getUser2();
+        UUID botUserId = null;
+        if (user1.isBot()) {
+            botUserId = user1.getId();
+        } else if (user2.isBot()) {
+            botUserId = user2.getId();
+        }
+
+        return ChatRoomMetadata.builder()
+                .chatRoomId(chatRoom.getId())
+                .user1Id(user1.getId())
+                .user2Id(user2.getId())
+                .botUserId(botUserId)
+                .active(Boolean.TRUE.equals(chatRoom.getIsActive()))
+                .build();
+    }
+
+    /**
+     * 특정 사용자가 이 채팅방의 참여자인지 확인
+     */
+    public boolean isParticipant(UUID userId) {
+        return userId.equals(user1Id) || userId.equals(user2Id);
+    }
+}
@@ -4,6 +4,7 @@ import com.chat.chat.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,15 +13,10 @@ import java.util.UUID;
 /**
  * 채팅방 엔티티
  * 1:1 채팅방을 관리합니다.
+ * 챗봇 계정은 모든 채팅방이 공유하므로 같은 (user1, user2) 조합의 채팅방이 여러 개 있을 수 있습니다.
  */
 @Entity
 @Table(name = "chat_rooms",
-        uniqueConstraints = {
-                @UniqueConstraint(
-                        name = "uk_chat_room_users",
-                        columnNames = {"user1_id", "user2_id"}
-                )
-        },
         indexes = {
                 @Index(name = "idx_chat_room_user1", columnList = "user1_id"),
                 @Index(name = "idx_chat_room_user2", columnList = "user2_id"),
@@ -36,7 +32,7 @@ public class ChatRoom {
      * 채팅방 ID
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(name = "chat_room_id", columnDefinition = "UUID")
     private UUID id;
 
@@ -69,6 +65,8 @@ public class ChatRoom {
 
     /**
      * user1의 읽지 않은 메시지 수
+     * 채팅방 목록 배지용 비정규화 값입니다. 안 읽은 메시지의 기준은 읽음 위치(message_read_watermarks)이며,
+     * 이 값은 전송 시 증가하고 전체 읽음 처리에서 0으로 맞출 뿐 개별 메시지 읽음은 반영하지 않습니다.
      */
     @Column(name = "user1_unread_count", nullable = false)
     @Builder.Default
@@ -103,29 +101,16 @@ public class ChatRoom {
     private Boolean isActive = true;
 
     /**
-     * 마지막 메시지 업데이트
+     * 특정 사용자의 읽지 않은 메시지 수 (목록 표시용 카운터, 정확한 값은 읽음 위치 기준으로 계산)
+     * 증가/차감은 ChatRoomRepository의 원자적 UPDATE로만 합니다.
      */
-    public void updateLastMessage(String message, UUID senderId) {
-        this.lastMessage = message;
-        this.lastMessageAt = LocalDateTime.now();
-
-        // 발신자가 아닌 사용자의 읽지 않은 메시지 수 증가
-        if (senderId.equals(user1.getId())) {
-            this.user2UnreadCount++;
-        } else {
-            this.user1UnreadCount++;
-        }
-    }
-
-    /**
-     * 읽지 않은 메시지 수 초기화
-     */
-    public void resetUnreadCount(UUID userId) {
+    public int getUnreadCount(UUID userId) {
         if (userId.equals(user1.getId())) {
-            this.user1UnreadCount = 0;
+            return this.user1UnreadCount;
         } else if (userId.equals(user2.getId())) {
-            this.user2UnreadCount = 0;
+            return this.user2UnreadCount;
         }
+        return 0;
     }
 
     /**
@@ -147,13 +132,6 @@ public class ChatRoom {
         return null;
     }
 
-    /**
-     * 채팅방 비활성화
-     */
-    public void deactivate() {
-        this.isActive = false;
-    }
-
     /**
      * 두 사용자로 채팅방 생성 (정렬된 순서로)
      */
@@ -2,11 +2,14 @@ package com.chat.chat.domain.chatroom.repository;
 
 import com.chat.chat.domain.chatroom.entity.ChatRoom;
 import com.chat.chat.domain.user.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +20,13 @@ import java.util.UUID;
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
 
+    /**
+     * 참여자와 함께 채팅방 조회 (ChatRoomResponse 변환용, 한 번의 조인)
+     */
+    @EntityGraph(attributePaths = {"user1", "user2"})
+    @Query("SELECT cr FROM ChatRoom cr WHERE cr.id = :chatRoomId")
+    Optional<ChatRoom> findWithUsersById(@Param("chatRoomId") UUID chatRoomId);
+
     /**
      * 두 사용자 간의 채팅방 조회
      */
@@ -32,6 +42,7 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
             "(cr.user1.id = :userId OR cr.user2.id = :userId) " +
             "AND cr.isActive = true " +
             "ORDER BY cr.updatedAt DESC")
+    @EntityGraph(attributePaths = {"user1", "user2"})
     List<ChatRoom> findByUserIdOrderByUpdatedAtDesc(@Param("userId") UUID userId);
 
     /**
@@ -42,6 +53,7 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
             "(cr.user2.id = :userId AND cr.user2UnreadCount > 0)) " +
             "AND cr.isActive = true " +
             "ORDER BY cr.updatedAt DESC")
+    @EntityGraph(attributePaths = {"user1", "user2"})
     List<ChatRoom> findChatRoomsWithUnreadMessages(@Param("userId") UUID userId);
 
     /**
@@ -58,4 +70,50 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
      * 활성화된 채팅방만 조회
      */
     List<ChatRoom> findByIsActiveTrueOrderByUpdatedAtDesc();
+
+    /**
+     * 마지막 메시지 갱신과 상대방 안 읽은 수 증가를 한 UPDATE로 처리
+     * 발신자가 user1이면 user2, 아니면 user1의 안 읽은 수를 DB에서 증가시키므로 동시 전송에도 유실이 없습니다.
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET " +
+            "cr.lastMessage = :message, " +
+            "cr.lastMessageAt = :sentAt, " +
+            "cr.updatedAt = :sentAt, " +
+            "cr.user1UnreadCount = cr.user1UnreadCount + CASE WHEN cr.user1.id = :senderId THEN 0 ELSE 1 END, " +
+            "cr.user2UnreadCount = cr.user2UnreadCount + CASE WHEN cr.user1.id = :senderId THEN 1 ELSE 0 END " +
+            "WHERE cr.id = :chatRoomId")
+    int updateLastMessage(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("message") String message,
+            @Param("senderId") UUID senderId,
+            @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * 사용자의 안 읽은 수에서 읽은 만큼만 차감
+     * 0으로 덮어쓰지 않으므로 조회 이후 도착한 메시지의 증가분은 남습니다.
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET " +
+            "cr.user1UnreadCount = CASE WHEN cr.user1.id = :userId " +
+            "THEN CASE WHEN cr.user1UnreadCount > :readCount THEN cr.user1UnreadCount - :readCount ELSE 0 END " +
+            "ELSE cr.user1UnreadCount END, " +
+            "cr.user2UnreadCount = CASE WHEN cr.user2.id = :userId " +
+            "THEN CASE WHEN cr.user2UnreadCount > :readCount THEN cr.user2UnreadCount - :readCount ELSE 0 END " +
+            "ELSE cr.user2UnreadCount END " +
+            "WHERE cr.id = :chatRoomId")
+    int decrementUnreadCount(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("userId") UUID userId,
+            @Param("readCount") int readCount);
+
+    /**
+     * 채팅방 비활성화
+     * 엔티티 전체를 다시 쓰지 않고 is_active만 바꾸므로 동시에 증가한 안 읽은 수를 덮어쓰지 않습니다.
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET cr.isActive = false, cr.updatedAt = :updatedAt WHERE cr.id = :chatRoomId")
+    int deactivate(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,69 @@
+package com.chat.chat.domain.chatroom.service;
+
+import com.chat.chat.common.cache.InvalidatingLruCache;
+import com.chat.chat.common.relay.ClusterRelay;
+import com.chat.chat.domain.chatroom.dto.ChatRoomMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 채팅방 메타데이터 캐시 (참여자, 챗봇 사용자, 활성 여부)
+ * 참여자 검증과 챗봇 사용자 확인이 메시지마다 채팅방을 PK 조회하지 않도록 최근 채팅방을 크기(LRU) 한도 안에서 보관합니다.
+ * 참여자는 생성 후 바뀌지 않으므로 TTL 없이 생성 시 채우고, 비활성화 시 커밋 후 지우며 다른 노드에도 알립니다.
+ * loader가 null을 반환하면(채팅방 없음) 캐시에 남기지 않습니다.
+ */
+@Component
+public class ChatRoomMetadataCache extends InvalidatingLruCache<ChatRoomMetadata> {
+
+    /**
+     * 노드 간 무효화 이벤트 종류
+     */
+    public static final String RELAY_TYPE = "room-cache-invalidate";
+
+    @Value("${chat.room-cache.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${chat.room-cache.max-size:10000}")
+    private Integer maxSize;
+
+    public ChatRoomMetadataCache(ClusterRelay clusterRelay) {
+        super(clusterRelay, RELAY_TYPE);
+    }
+
+    /**
+     * 생성된 채팅방 미리 채우기 (현재 트랜잭션이 있으면 커밋 후)
+     */
+    public void put(ChatRoomMetadata metadata) {
+        put(metadata.getChatRoomId(), metadata);
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    @Override
+    protected int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    protected long ttlMs() {
+        return -1;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "roomCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = super.getMetrics();
+        // 캐시 적중 한 번이 채팅방 PK 조회 한 번을 대신함
+        metrics.put("roomQueriesSaved", getHitCount());
+        return metrics;
+    }
+}
@@ -3,6 +3,7 @@ package com.chat.chat.domain.chatroom.service;
 import com.chat.chat.common.exception.EntityNotFoundException;
 import com.chat.chat.common.exception.ErrorCode;
 import com.chat.chat.common.exception.InvalidValueException;
+import com.chat.chat.domain.chatroom.dto.ChatRoomMetadata;
 import com.chat.chat.domain.chatroom.dto.ChatRoomResponse;
 import com.chat.chat.domain.chatroom.entity.ChatRoom;
 import com.chat.chat.domain.chatroom.repository.ChatRoomRepository;
@@ -13,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,9 +30,11 @@ public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
     private final UserService userService;
+    private final ChatRoomMetadataCache chatRoomMetadataCache;
 
     /**
-     * 채팅방 생성 (사용자 + 전용 챗봇)
+     * 채팅방 생성 (사용자 + 공유 챗봇)
+     * 챗봇 계정은 모든 채팅방이 공유하므로 채팅방 행 하나만 추가됩니다.
      */
     @Transactional
     public ChatRoomResponse createChatRoom(UUID userId) {
@@ -40,12 +44,13 @@ public class ChatRoomService {
         }
 
         User user = userService.findUserById(userId);
-        User botUser = userService.createBotUserForChatRoom();
+        User botUser = userService.getBotUser();
 
         ChatRoom newChatRoom = ChatRoom.create(user, botUser);
         ChatRoom savedChatRoom = chatRoomRepository.save(newChatRoom);
+        chatRoomMetadataCache.put(ChatRoomMetadata.from(savedChatRoom));
 
-        log.info("[BOT] New chat room created with dedicated bot: {} (botUserId={})",
+        log.info("[BOT] New chat room created with shared bot: {} (botUserId={})",
                 savedChatRoom.getId(), botUser.getId());
 
         return ChatRoomResponse.from(savedChatRoom);
@@ -55,7 +60,7 @@ public class ChatRoomService {
      * 채팅방 ID로 조회
      */
     public ChatRoomResponse getChatRoomById(UUID chatRoomId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
+        ChatRoom chatRoom = chatRoomRepository.findWithUsersById(chatRoomId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.CHAT_ROOM_NOT_FOUND,
                         "채팅방을 찾을 수 없습니다: " + chatRoomId));
 
@@ -89,11 +94,25 @@ public class ChatRoomService {
         return chatRoomRepository.getTotalUnreadCount(userId);
     }
 
+    /**
+     * 채팅방 비활성화 (참여자만 가능)
+     */
+    @Transactional
+    public void deactivateChatRoom(UUID chatRoomId, UUID userId) {
+        validateParticipant(chatRoomId, userId);
+
+        // 엔티티 dirty checking은 행 전체를 써서 그사이 증가한 안 읽은 수를 되돌리므로 대상 컬럼만 UPDATE
+        chatRoomRepository.deactivate(chatRoomId, LocalDateTime.now());
+        chatRoomMetadataCache.invalidate(chatRoomId);
+        log.info("Chat room deactivated: chatRoom={}, user={}", chatRoomId, userId);
+    }
+
     /**
      * 읽지 않은 메시지 수 초기화
+     * 조회한 값만큼 원자적으로 차감하고, 차감한 값을 반환합니다.
      */
     @Transactional
-    public void resetUnreadCount(UUID chatRoomId, UUID userId) {
+    public int resetUnreadCount(UUID chatRoomId, UUID userId) {
         ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.CHAT_ROOM_NOT_FOUND));
 
@@ -103,19 +122,23 @@ public class ChatRoomService {
                     "채팅방 참여자가 아닙니다.");
         }
 
-        chatRoom.resetUnreadCount(userId);
+        int read = chatRoom.getUnreadCount(userId);
+        if (read > 0) {
+            chatRoomRepository.decrementUnreadCount(chatRoomId, userId, read);
+        }
         log.info("Unread count reset: chatRoom={}, user={}", chatRoomId, userId);
+        return read;
     }
 
     /**
      * 마지막 메시지 업데이트
+     * 엔티티를 읽지 않고 한 UPDATE로 반영하므로 같은 방의 동시 전송에서도 안 읽은 수가 정확합니다.
      */
     @Transactional
     public void updateLastMessage(UUID chatRoomId, String message, UUID senderId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorCode.CHAT_ROOM_NOT_FOUND));
-
-        chatRoom.updateLastMessage(message, senderId);
+        if (chatRoomRepository.updateLastMessage(chatRoomId, message, senderId, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException(ErrorCode.CHAT_ROOM_NOT_FOUND);
+        }
         log.info("Last message updated: chatRoom={}", chatRoomId);
     }
 
@@ -128,14 +151,64 @@ public class ChatRoomService {
                         "채팅방을 찾을 수 없습니다: " + chatRoomId));
     }
 
+    /**
+     * 채팅방 Entity 참조 (프록시, 조회 쿼리 없음)
+     */
+    public ChatRoom getChatRoomReference(UUID chatRoomId) {
+        return chatRoomRepository.getReferenceById(chatRoomId);
+    }
+
+    /**
+     * 채팅방 메타데이터 조회 (캐시, 없으면 참여자와 함께 한 번 조회해 채움)
+     */
+    public ChatRoomMetadata getChatRoomMetadata(UUID chatRoomId) {
+        ChatRoomMetadata metadata = chatRoomMetadataCache.get(chatRoomId, this::loadChatRoomMetadata);
+        if (metadata == null) {
+            throw new EntityNotFoundException(ErrorCode.CHAT_ROOM_NOT_FOUND,
+                    "채팅방을 찾을 수 없습니다: " + chatRoomId);
+        }
+        return metadata;
+    }
+
+    /**
+     * 채팅방 참여 여부 (채팅방이 없으면 false)
+     */
+    public boolean isParticipant(UUID chatRoomId, UUID userId) {
+        ChatRoomMetadata metadata = chatRoomMetadataCache.get(chatRoomId, this::loadChatRoomMetadata);
+        return metadata != null && metadata.isParticipant(userId);
+    }
+
+    /**
+     * 채팅방 활성 여부 (채팅방이 없으면 false)
+     */
+    public boolean isActive(UUID chatRoomId) {
+        ChatRoomMetadata metadata = chatRoomMetadataCache.get(chatRoomId, this::loadChatRoomMetadata);
+        return metadata != null && metadata.isActive();
+    }
+
+    /**
+     * 채팅방 활성 상태 확인 (비활성화된 채팅방에는 메시지를 보낼 수 없음)
+     */
+    public void validateActive(UUID chatRoomId) {
+        if (!getChatRoomMetadata(chatRoomId).isActive()) {
+            throw new InvalidValueException(ErrorCode.CHAT_ROOM_INACTIVE,
+                    "비활성화된 채팅방입니다: " + chatRoomId);
+        }
+    }
+
     /**
      * 채팅방 참여자 확인
      */
     public void validateParticipant(UUID chatRoomId, UUID userId) {
-        ChatRoom chatRoom = findChatRoomById(chatRoomId);
-        if (!chatRoom.isParticipant(userId)) {
+        if (!getChatRoomMetadata(chatRoomId).isParticipant(userId)) {
             throw new InvalidValueException(ErrorCode.NOT_CHAT_ROOM_PARTICIPANT,
                     "채팅방 참여자가 아닙니다.");
         }
     }
+
+    private ChatRoomMetadata loadChatRoomMetadata(UUID chatRoomId) {
+        return chatRoomRepository.findWithUsersById(chatRoomId)
+                .map(ChatRoomMetadata::from)
+                .orElse(null);
+    }
 }
@@ -2,6 +2,7 @@ package com.chat.chat.domain.message.controller;
 
 import com.chat.chat.domain.message.dto.MessageResponse;
 import com.chat.chat.domain.message.dto.MessageSendRequest;
+import com.chat.chat.domain.message.dto.MessageSliceResponse;
 import com.chat.chat.domain.message.service.MessageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -58,6 +59,24 @@ public class MessageController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 채팅방의 메시지 목록 조회 (커서 기반, 최신순)
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 넘깁니다.
+     */
+    @GetMapping("/chatroom/{chatRoomId}/history")
+    public ResponseEntity<MessageSliceResponse> getMessagesByCursor(
+            @PathVariable UUID chatRoomId,
+            @RequestParam UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        log.info("📥 GET /api/messages/chatroom/{}/history - Get messages: user={}, cursor={}, size={}",
+                chatRoomId, userId, cursor, size);
+
+        MessageSliceResponse response = messageService.getMessagesByCursor(chatRoomId, userId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 특정 시간 이후의 메시지 조회
      */
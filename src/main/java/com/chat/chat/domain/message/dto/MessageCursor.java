@@ -0,0 +1,41 @@
+package com.chat.chat.domain.message.dto;
+
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.common.exception.InvalidValueException;
+import com.chat.chat.domain.message.entity.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 메시지 히스토리 keyset 커서
+ * 마지막으로 받은 메시지의 (created_at, message_id)이며, 클라이언트에는 불투명한 base64url 문자열로 전달합니다.
+ * created_at이 같은 메시지가 여러 개여도 message_id로 순서가 정해지므로 페이지 경계에서 누락/중복이 없습니다.
+ */
+public record MessageCursor(LocalDateTime createdAt, UUID messageId) {
+
+    private static final char SEPARATOR = '|';
+
+    public static MessageCursor of(Message message) {
+        return new MessageCursor(message.getCreatedAt(), message.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new MessageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidValueException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.chat.chat.domain.message.dto;
+
+import com.chat.chat.domain.message.entity.Message;
+import com.chat.chat.domain.message.entity.MessageType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 메시지 저장 결과
+ * 연관 엔티티(발신자, 채팅방)를 초기화하지 않도록 ID만 담습니다.
+ */
+@Getter
+@Builder
+public class MessageReceipt {
+
+    private UUID id;
+    private UUID chatRoomId;
+    private UUID senderId;
+    private MessageType messageType;
+    private String content;
+    private LocalDateTime createdAt;
+
+    public static MessageReceipt of(Message message, UUID chatRoomId, UUID senderId) {
+        return MessageReceipt.builder()
+                .id(message.getId())
+                .chatRoomId(chatRoomId)
+                .senderId(senderId)
+                .messageType(message.getMessageType())
+                .content(message.getContent())
+                .createdAt(message.getCreatedAt())
+                .build();
+    }
+}
@@ -12,6 +12,8 @@ import java.util.UUID;
 
 /**
  * 메시지 응답 DTO
+ * 읽음 상태는 메시지가 아니라 (채팅방, 사용자)별 읽음 위치로 관리하므로 메시지마다 담지 않습니다.
+ * 안 읽은 메시지는 안 읽은 메시지 조회/개수 API로 확인합니다.
  */
 @Getter
 @Builder
@@ -22,10 +24,6 @@ public class MessageResponse {
     private UserResponse sender;
     private MessageType messageType;
     private String content;
-    private Boolean isRead;
-
-    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-    private LocalDateTime readAt;
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
@@ -34,14 +32,19 @@ public class MessageResponse {
      * Entity to DTO
      */
     public static MessageResponse from(Message message) {
+        return of(message, UserResponse.from(message.getSender()));
+    }
+
+    /**
+     * Entity to DTO (발신자 정보를 따로 전달, 발신자 프록시를 초기화하지 않음)
+     */
+    public static MessageResponse of(Message message, UserResponse sender) {
         return MessageResponse.builder()
                 .id(message.getId())
                 .chatRoomId(message.getChatRoom().getId())
-                .sender(UserResponse.from(message.getSender()))
+                .sender(sender)
                 .messageType(message.getMessageType())
                 .content(message.getContent())
-                .isRead(message.getIsRead())
-                .readAt(message.getReadAt())
                 .createdAt(message.getCreatedAt())
                 .build();
     }
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -14,6 +15,8 @@ import java.util.UUID;
 /**
  * 메시지 엔티티
  * 채팅방의 메시지를 관리합니다.
+ * 히스토리/안 읽은 메시지 keyset 정렬 키 (created_at, message_id) 전체를 채팅방 인덱스에 포함합니다
+ * (기존 DB는 db/message-history-index.sql).
  */
 @Entity
 @Table(name = "messages",
@@ -21,7 +24,7 @@ import java.util.UUID;
                 @Index(name = "idx_message_chat_room", columnList = "chat_room_id"),
                 @Index(name = "idx_message_sender", columnList = "sender_id"),
                 @Index(name = "idx_message_created", columnList = "created_at"),
-                @Index(name = "idx_message_chat_room_created", columnList = "chat_room_id, created_at")
+                @Index(name = "idx_message_chat_room_created_id", columnList = "chat_room_id, created_at, message_id")
         })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -33,7 +36,7 @@ public class Message {
      * 메시지 ID
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(name = "message_id", columnDefinition = "UUID")
     private UUID id;
 
@@ -68,14 +71,15 @@ public class Message {
     private String content;
 
     /**
-     * 읽음 여부
+     * 읽음 여부 (읽음 위치 도입 전 데이터, 더 이상 갱신하지 않음)
+     * 읽음 상태는 ReadWatermark로 관리합니다.
      */
     @Column(name = "is_read", nullable = false)
     @Builder.Default
     private Boolean isRead = false;
 
     /**
-     * 읽은 시간
+     * 읽은 시간 (읽음 위치 도입 전 데이터, 더 이상 갱신하지 않음)
      */
     @Column(name = "read_at")
     private LocalDateTime readAt;
@@ -100,16 +104,6 @@ public class Message {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
-    /**
-     * 메시지를 읽음 처리
-     */
-    public void markAsRead() {
-        if (!this.isRead) {
-            this.isRead = true;
-            this.readAt = LocalDateTime.now();
-        }
-    }
-
     /**
      * 메시지 삭제
      */
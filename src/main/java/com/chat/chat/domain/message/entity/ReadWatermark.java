@@ -0,0 +1,43 @@
+package com.chat.chat.domain.message.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 읽음 위치 엔티티
+ * (채팅방, 사용자)마다 마지막으로 읽은 메시지의 (created_at, message_id)를 한 행으로 보관합니다.
+ * 이 위치 이후에 상대가 보낸 메시지가 안 읽은 메시지이며, 읽음 처리는 이 행 하나만 앞으로 옮깁니다.
+ * 읽음 상태의 기준 값이며, chat_rooms의 안 읽은 수 카운터는 목록 표시용으로 전체 읽음 처리 때 0으로 맞춰집니다.
+ */
+@Entity
+@Table(name = "message_read_watermarks")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ReadWatermark {
+
+    @EmbeddedId
+    private ReadWatermarkId id;
+
+    /**
+     * 마지막으로 읽은 메시지 ID
+     */
+    @Column(name = "last_read_message_id", nullable = false, columnDefinition = "UUID")
+    private UUID lastReadMessageId;
+
+    /**
+     * 마지막으로 읽은 메시지의 생성 시간
+     */
+    @Column(name = "last_read_created_at", nullable = false)
+    private LocalDateTime lastReadCreatedAt;
+
+    /**
+     * 읽음 처리 시간
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.chat.chat.domain.message.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * 읽음 위치 키 (채팅방, 사용자)
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(staticName = "of")
+public class ReadWatermarkId implements Serializable {
+
+    @Column(name = "chat_room_id", columnDefinition = "UUID")
+    private UUID chatRoomId;
+
+    @Column(name = "user_id", columnDefinition = "UUID")
+    private UUID userId;
+}
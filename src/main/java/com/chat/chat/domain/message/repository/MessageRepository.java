@@ -1,12 +1,13 @@
 package com.chat.chat.domain.message.repository;
 
 import com.chat.chat.domain.chatroom.entity.ChatRoom;
+import com.chat.chat.domain.message.dto.MessageCursor;
 import com.chat.chat.domain.message.entity.Message;
 import com.chat.chat.domain.message.entity.MessageType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,7 @@ import java.util.UUID;
 
 /**
  * 메시지 리포지토리
+ * 목록 조회는 MessageResponse가 사용하는 발신자를 @EntityGraph로 함께 읽어 메시지마다 사용자 조회가 나가지 않게 합니다.
  */
 @Repository
 public interface MessageRepository extends JpaRepository<Message, UUID> {
@@ -24,40 +26,142 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
     /**
      * 채팅방의 메시지 조회 (페이징, 최신순)
      */
+    @EntityGraph(attributePaths = "sender")
     Page<Message> findByChatRoomAndIsDeletedFalseOrderByCreatedAtDesc(
             ChatRoom chatRoom, Pageable pageable);
 
     /**
      * 채팅방의 메시지 조회 (특정 시간 이후, 페이징)
      */
+    @EntityGraph(attributePaths = "sender")
     Page<Message> findByChatRoomAndCreatedAtAfterAndIsDeletedFalseOrderByCreatedAtDesc(
             ChatRoom chatRoom, LocalDateTime after, Pageable pageable);
 
     /**
-     * 채팅방의 읽지 않은 메시지 조회
+     * 채팅방의 최신 메시지 조회 (keyset 첫 페이지, count 쿼리 없음)
+     * idx_message_chat_room_created_id 인덱스를 역순으로 읽다가 limit에서 멈춥니다.
      */
     @Query("SELECT m FROM Message m WHERE " +
-            "m.chatRoom = :chatRoom AND " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.isDeleted = false " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    @EntityGraph(attributePaths = "sender")
+    List<Message> findLatestByChatRoomId(
+            @Param("chatRoomId") UUID chatRoomId,
+            Pageable pageable);
+
+    /**
+     * 채팅방의 최신 메시지 위치 (created_at, message_id만, 발신자 조인 없음)
+     * 읽음 위치 이동처럼 위치만 필요할 때 엔티티/발신자를 읽지 않도록 사용합니다.
+     */
+    @Query("SELECT new com.chat.chat.domain.message.dto.MessageCursor(m.createdAt, m.id) FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.isDeleted = false " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageCursor> findLatestPositionByChatRoomId(
+            @Param("chatRoomId") UUID chatRoomId,
+            Pageable pageable);
+
+    /**
+     * 채팅방의 커서 이전 메시지 조회 (keyset 다음 페이지, count 쿼리 없음)
+     * OFFSET 없이 (created_at, message_id) 위치부터 이어 읽으므로 스크롤 깊이와 관계없이 비용이 일정합니다.
+     */
+    @Query("SELECT m FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.isDeleted = false AND " +
+            "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :messageId)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    @EntityGraph(attributePaths = "sender")
+    List<Message> findByChatRoomIdBeforeCursor(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("messageId") UUID messageId,
+            Pageable pageable);
+
+    /**
+     * 채팅방의 커서 이후 메시지 조회 (오래된 순, count 쿼리 없음)
+     * 같은 created_at을 가진 메시지를 건너뛰지 않도록 (created_at, message_id) 순서로 이어 읽습니다.
+     */
+    @Query("SELECT m FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.isDeleted = false AND " +
+            "(m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :messageId)) " +
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    @EntityGraph(attributePaths = "sender")
+    List<Message> findByChatRoomIdAfterCursor(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("messageId") UUID messageId,
+            Pageable pageable);
+
+    /**
+     * 읽음 위치 이후 상대가 보낸 메시지 조회 (오래된 순)
+     * idx_message_chat_room_created_id를 읽음 위치부터 range scan하므로 비용이 채팅방 크기가 아닌 안 읽은 수에 비례합니다.
+     */
+    @Query("SELECT m FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.sender.id <> :userId AND " +
+            "m.isDeleted = false AND " +
+            "(m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :messageId)) " +
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    @EntityGraph(attributePaths = "sender")
+    List<Message> findFromOthersAfter(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("messageId") UUID messageId);
+
+    /**
+     * 상대가 보낸 전체 메시지 조회 (읽음 위치가 없는 경우, 오래된 순)
+     */
+    @Query("SELECT m FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
             "m.sender.id <> :userId AND " +
-            "m.isRead = false AND " +
             "m.isDeleted = false " +
-            "ORDER BY m.createdAt ASC")
-    List<Message> findUnreadMessages(
-            @Param("chatRoom") ChatRoom chatRoom,
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    @EntityGraph(attributePaths = "sender")
+    List<Message> findFromOthers(
+            @Param("chatRoomId") UUID chatRoomId,
             @Param("userId") UUID userId);
 
     /**
-     * 채팅방의 읽지 않은 메시지 수 조회
+     * 읽음 위치 이후 상대가 보낸 메시지 수 조회
      */
     @Query("SELECT COUNT(m) FROM Message m WHERE " +
-            "m.chatRoom = :chatRoom AND " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.sender.id <> :userId AND " +
+            "m.isDeleted = false AND " +
+            "(m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :messageId))")
+    Long countFromOthersAfter(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("messageId") UUID messageId);
+
+    /**
+     * 상대가 보낸 전체 메시지 수 조회 (읽음 위치가 없는 경우)
+     */
+    @Query("SELECT COUNT(m) FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
             "m.sender.id <> :userId AND " +
-            "m.isRead = false AND " +
             "m.isDeleted = false")
-    Long countUnreadMessages(
-            @Param("chatRoom") ChatRoom chatRoom,
+    Long countFromOthers(
+            @Param("chatRoomId") UUID chatRoomId,
             @Param("userId") UUID userId);
 
+    /**
+     * 기존 is_read 플래그 기준 마지막으로 읽은 메시지 조회 (읽음 위치 도입 전 데이터의 이관용)
+     */
+    @Query("SELECT m FROM Message m WHERE " +
+            "m.chatRoom.id = :chatRoomId AND " +
+            "m.sender.id <> :userId AND " +
+            "m.isRead = true " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLastReadByLegacyFlag(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("userId") UUID userId,
+            Pageable pageable);
+
     /**
      * 채팅방의 마지막 메시지 조회
      */
@@ -67,19 +171,6 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
             "ORDER BY m.createdAt DESC LIMIT 1")
     Message findLastMessage(@Param("chatRoom") ChatRoom chatRoom);
 
-    /**
-     * 채팅방의 모든 읽지 않은 메시지를 읽음 처리
-     */
-    @Modifying
-    @Query("UPDATE Message m SET m.isRead = true, m.readAt = :readAt WHERE " +
-            "m.chatRoom = :chatRoom AND " +
-            "m.sender.id <> :userId AND " +
-            "m.isRead = false")
-    int markAllAsRead(
-            @Param("chatRoom") ChatRoom chatRoom,
-            @Param("userId") UUID userId,
-            @Param("readAt") LocalDateTime readAt);
-
     /**
      * 특정 타입의 메시지 조회
      */
@@ -0,0 +1,14 @@
+package com.chat.chat.domain.message.repository;
+
+import com.chat.chat.domain.message.entity.ReadWatermark;
+import com.chat.chat.domain.message.entity.ReadWatermarkId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 읽음 위치 리포지토리
+ */
+@Repository
+public interface ReadWatermarkRepository extends JpaRepository<ReadWatermark, ReadWatermarkId>,
+        ReadWatermarkRepositoryCustom {
+}
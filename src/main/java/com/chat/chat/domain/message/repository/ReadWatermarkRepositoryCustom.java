@@ -0,0 +1,18 @@
+package com.chat.chat.domain.message.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 읽음 위치 upsert (네이티브 SQL)
+ */
+public interface ReadWatermarkRepositoryCustom {
+
+    /**
+     * 읽음 위치를 한 문장으로 생성하거나 앞으로만 이동
+     * 행이 없으면 INSERT, 있으면 새 위치가 더 뒤일 때만 UPDATE 합니다. 동시에 처음 읽음 처리해도 키 충돌이 나지 않습니다.
+     *
+     * @return 생성되거나 이동한 행 수 (이미 더 뒤까지 읽었으면 0)
+     */
+    int advance(UUID chatRoomId, UUID userId, LocalDateTime createdAt, UUID messageId, LocalDateTime updatedAt);
+}
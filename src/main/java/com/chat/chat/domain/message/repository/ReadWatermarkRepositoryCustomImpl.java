@@ -0,0 +1,73 @@
+package com.chat.chat.domain.message.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 읽음 위치 upsert 구현
+ * PostgreSQL은 INSERT ... ON CONFLICT DO UPDATE ... WHERE 로 키 잠금 안에서 비교와 갱신을 한 번에 처리합니다.
+ * ON CONFLICT DO UPDATE가 없는 H2(테스트)에서는 같은 조건의 MERGE를 사용합니다.
+ */
+public class ReadWatermarkRepositoryCustomImpl implements ReadWatermarkRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT_SQL =
+            "INSERT INTO message_read_watermarks " +
+                    "(chat_room_id, user_id, last_read_message_id, last_read_created_at, updated_at) " +
+                    "VALUES (:chatRoomId, :userId, :messageId, :createdAt, :updatedAt) " +
+                    "ON CONFLICT (chat_room_id, user_id) DO UPDATE SET " +
+                    "last_read_message_id = EXCLUDED.last_read_message_id, " +
+                    "last_read_created_at = EXCLUDED.last_read_created_at, " +
+                    "updated_at = EXCLUDED.updated_at " +
+                    "WHERE (message_read_watermarks.last_read_created_at, message_read_watermarks.last_read_message_id) " +
+                    "< (EXCLUDED.last_read_created_at, EXCLUDED.last_read_message_id)";
+
+    private static final String MERGE_SQL =
+            "MERGE INTO message_read_watermarks w USING (SELECT " +
+                    "CAST(:chatRoomId AS UUID) AS chat_room_id, CAST(:userId AS UUID) AS user_id, " +
+                    "CAST(:messageId AS UUID) AS last_read_message_id, " +
+                    "CAST(:createdAt AS TIMESTAMP) AS last_read_created_at, " +
+                    "CAST(:updatedAt AS TIMESTAMP) AS updated_at) s " +
+                    "ON w.chat_room_id = s.chat_room_id AND w.user_id = s.user_id " +
+                    "WHEN MATCHED AND (w.last_read_created_at < s.last_read_created_at OR " +
+                    "(w.last_read_created_at = s.last_read_created_at AND w.last_read_message_id < s.last_read_message_id)) " +
+                    "THEN UPDATE SET last_read_message_id = s.last_read_message_id, " +
+                    "last_read_created_at = s.last_read_created_at, updated_at = s.updated_at " +
+                    "WHEN NOT MATCHED THEN INSERT " +
+                    "(chat_room_id, user_id, last_read_message_id, last_read_created_at, updated_at) " +
+                    "VALUES (s.chat_room_id, s.user_id, s.last_read_message_id, s.last_read_created_at, s.updated_at)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsertSql;
+
+    @Override
+    public int advance(UUID chatRoomId, UUID userId, LocalDateTime createdAt, UUID messageId,
+                       LocalDateTime updatedAt) {
+        return entityManager.createNativeQuery(upsertSql())
+                .setParameter("chatRoomId", chatRoomId)
+                .setParameter("userId", userId)
+                .setParameter("messageId", messageId)
+                .setParameter("createdAt", createdAt)
+                .setParameter("updatedAt", updatedAt)
+                .executeUpdate();
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            boolean postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+            sql = postgres ? POSTGRES_UPSERT_SQL : MERGE_SQL;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
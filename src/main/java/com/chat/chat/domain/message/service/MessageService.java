@@ -5,21 +5,29 @@ import com.chat.chat.common.exception.ErrorCode;
 import com.chat.chat.common.exception.InvalidValueException;
 import com.chat.chat.domain.chatroom.entity.ChatRoom;
 import com.chat.chat.domain.chatroom.service.ChatRoomService;
+import com.chat.chat.domain.message.dto.MessageCursor;
+import com.chat.chat.domain.message.dto.MessageReceipt;
 import com.chat.chat.domain.message.dto.MessageResponse;
 import com.chat.chat.domain.message.dto.MessageSendRequest;
+import com.chat.chat.domain.message.dto.MessageSliceResponse;
 import com.chat.chat.domain.message.entity.Message;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.domain.message.entity.ReadWatermarkId;
 import com.chat.chat.domain.message.repository.MessageRepository;
-import com.chat.chat.domain.user.entity.User;
+import com.chat.chat.domain.message.repository.ReadWatermarkRepository;
+import com.chat.chat.domain.user.dto.UserSnapshot;
 import com.chat.chat.domain.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,7 +40,13 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class MessageService {
 
+    /**
+     * 커서 기반 조회의 최대 페이지 크기
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final MessageRepository messageRepository;
+    private final ReadWatermarkRepository readWatermarkRepository;
     private final ChatRoomService chatRoomService;
     private final UserService userService;
 
@@ -41,17 +55,16 @@ public class MessageService {
      */
     @Transactional
     public MessageResponse sendMessage(MessageSendRequest request) {
-        // 채팅방 존재 여부 및 참여자 확인
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(request.getChatRoomId());
+        // 채팅방 존재 여부 및 참여자 확인 (메타데이터 캐시)
         chatRoomService.validateParticipant(request.getChatRoomId(), request.getSenderId());
 
-        // 발신자 조회
-        User sender = userService.findUserById(request.getSenderId());
+        // 발신자 조회 (스냅샷 캐시, 연관관계에는 참조만 연결)
+        UserSnapshot sender = userService.getUserSnapshot(request.getSenderId());
 
         // 메시지 생성
         Message message = Message.builder()
-                .chatRoom(chatRoom)
-                .sender(sender)
+                .chatRoom(chatRoomService.getChatRoomReference(request.getChatRoomId()))
+                .sender(userService.getUserReference(sender.getId()))
                 .messageType(request.getMessageType())
                 .content(request.getContent())
                 .build();
@@ -67,7 +80,34 @@ public class MessageService {
 
         log.info("✅ Message sent: {} in chatRoom {}", savedMessage.getId(), request.getChatRoomId());
 
-        return MessageResponse.from(savedMessage);
+        return MessageResponse.of(savedMessage, sender.toResponse());
+    }
+
+    /**
+     * 참여가 확인된 발신자의 메시지 전송
+     * STOMP 세션에서 참여 여부를 이미 확인했으므로 채팅방/발신자 조회와 참여자 검증을 생략하고 참조만 연결합니다.
+     * 채팅방 활성 여부는 세션 확인 이후 바뀔 수 있으므로 메타데이터 캐시로 다시 확인합니다.
+     */
+    @Transactional
+    public MessageReceipt sendMessageAsParticipant(UUID chatRoomId, UUID senderId,
+                                                   String content, MessageType messageType) {
+        chatRoomService.validateActive(chatRoomId);
+
+        Message message = Message.builder()
+                .chatRoom(chatRoomService.getChatRoomReference(chatRoomId))
+                .sender(userService.getUserReference(senderId))
+                .messageType(messageType)
+                .content(content)
+                .build();
+
+        // createdAt(@CreationTimestamp)을 응답에 담기 위해 즉시 INSERT
+        Message savedMessage = messageRepository.saveAndFlush(message);
+
+        chatRoomService.updateLastMessage(chatRoomId, content, senderId);
+
+        log.info("✅ Message sent: {} in chatRoom {}", savedMessage.getId(), chatRoomId);
+
+        return MessageReceipt.of(savedMessage, chatRoomId, senderId);
     }
 
     /**
@@ -77,7 +117,7 @@ public class MessageService {
         // 채팅방 참여자 확인
         chatRoomService.validateParticipant(chatRoomId, userId);
 
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
+        ChatRoom chatRoom = chatRoomService.getChatRoomReference(chatRoomId);
 
         return messageRepository.findByChatRoomAndIsDeletedFalseOrderByCreatedAtDesc(chatRoom, pageable)
                 .map(MessageResponse::from);
@@ -90,29 +130,79 @@ public class MessageService {
                                                    LocalDateTime since, Pageable pageable) {
         chatRoomService.validateParticipant(chatRoomId, userId);
 
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
+        ChatRoom chatRoom = chatRoomService.getChatRoomReference(chatRoomId);
 
         return messageRepository.findByChatRoomAndCreatedAtAfterAndIsDeletedFalseOrderByCreatedAtDesc(
                 chatRoom, since, pageable
         ).map(MessageResponse::from);
     }
 
+    /**
+     * 채팅방의 메시지 목록 조회 (커서 기반, 최신순)
+     * 요청 크기보다 한 건 더 읽어 다음 페이지 여부를 판단하므로 COUNT 쿼리가 없습니다.
+     */
+    public MessageSliceResponse getMessagesByCursor(UUID chatRoomId, UUID userId, String cursor, int size) {
+        chatRoomService.validateParticipant(chatRoomId, userId);
+
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Message> messages;
+        if (cursor == null || cursor.isBlank()) {
+            messages = messageRepository.findLatestByChatRoomId(chatRoomId, pageable);
+        } else {
+            MessageCursor position = MessageCursor.decode(cursor);
+            messages = messageRepository.findByChatRoomIdBeforeCursor(
+                    chatRoomId, position.createdAt(), position.messageId(), pageable);
+        }
+
+        boolean hasNext = messages.size() > limit;
+        if (hasNext) {
+            messages = messages.subList(0, limit);
+        }
+
+        return MessageSliceResponse.builder()
+                .messages(messages.stream()
+                        .map(MessageResponse::from)
+                        .collect(Collectors.toList()))
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? MessageCursor.of(messages.getLast()).encode() : null)
+                .build();
+    }
+
+    /**
+     * 특정 메시지 이후의 메시지 조회 (재연결 replay의 DB fallback)
+     */
+    public List<MessageResponse> getMessagesAfter(UUID chatRoomId, UUID lastMessageId, int limit) {
+        Message lastMessage = messageRepository.findById(lastMessageId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorCode.MESSAGE_NOT_FOUND,
+                        "메시지를 찾을 수 없습니다: " + lastMessageId));
+
+        return messageRepository.findByChatRoomIdAfterCursor(
+                        chatRoomId, lastMessage.getCreatedAt(), lastMessage.getId(), PageRequest.of(0, limit))
+                .stream()
+                .map(MessageResponse::from)
+                .collect(Collectors.toList());
+    }
+
     /**
      * 읽지 않은 메시지 조회
      */
     public List<MessageResponse> getUnreadMessages(UUID chatRoomId, UUID userId) {
         chatRoomService.validateParticipant(chatRoomId, userId);
 
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
+        List<Message> messages = findReadPosition(chatRoomId, userId)
+                .map(position -> messageRepository.findFromOthersAfter(
+                        chatRoomId, userId, position.createdAt(), position.messageId()))
+                .orElseGet(() -> messageRepository.findFromOthers(chatRoomId, userId));
 
-        return messageRepository.findUnreadMessages(chatRoom, userId)
-                .stream()
+        return messages.stream()
                 .map(MessageResponse::from)
                 .collect(Collectors.toList());
     }
 
     /**
      * 메시지 읽음 처리
+     * 해당 메시지까지 읽음 위치를 옮깁니다(이전 메시지도 함께 읽음).
      */
     @Transactional
     public void markMessageAsRead(UUID messageId, UUID userId) {
@@ -126,22 +216,29 @@ public class MessageService {
                     "자신이 보낸 메시지는 읽음 처리할 수 없습니다.");
         }
 
-        message.markAsRead();
+        advanceReadPosition(message.getChatRoom().getId(), userId, MessageCursor.of(message));
         log.info("✅ Message marked as read: {}", messageId);
     }
 
     /**
      * 채팅방의 모든 읽지 않은 메시지 읽음 처리
+     * 메시지 행은 건드리지 않고 읽음 위치 한 행을 채팅방의 최신 메시지로 옮깁니다.
+     * 읽은 수는 읽음 위치 기준으로 세고(기준 값), 채팅방의 안 읽은 수 카운터(목록 표시용)는 0으로 맞춥니다.
      */
     @Transactional
     public int markAllAsRead(UUID chatRoomId, UUID userId) {
         chatRoomService.validateParticipant(chatRoomId, userId);
 
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
-
-        int count = messageRepository.markAllAsRead(chatRoom, userId, LocalDateTime.now());
+        Optional<MessageCursor> latest = messageRepository
+                .findLatestPositionByChatRoomId(chatRoomId, PageRequest.of(0, 1)).stream()
+                .findFirst();
+        if (latest.isEmpty()) {
+            chatRoomService.resetUnreadCount(chatRoomId, userId);
+            return 0;
+        }
 
-        // 채팅방의 읽지 않은 메시지 카운트 초기화
+        int count = Math.toIntExact(countUnread(chatRoomId, userId));
+        advanceReadPosition(chatRoomId, userId, latest.get());
         chatRoomService.resetUnreadCount(chatRoomId, userId);
 
         log.info("✅ {} messages marked as read in chatRoom {}", count, chatRoomId);
@@ -168,13 +265,42 @@ public class MessageService {
     }
 
     /**
-     * 읽지 않은 메시지 수 조회
+     * 읽지 않은 메시지 수 조회 (읽음 위치 기준, 채팅방 카운터보다 우선)
      */
     public Long getUnreadMessageCount(UUID chatRoomId, UUID userId) {
         chatRoomService.validateParticipant(chatRoomId, userId);
 
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
+        return countUnread(chatRoomId, userId);
+    }
+
+    private long countUnread(UUID chatRoomId, UUID userId) {
+        return findReadPosition(chatRoomId, userId)
+                .map(position -> messageRepository.countFromOthersAfter(
+                        chatRoomId, userId, position.createdAt(), position.messageId()))
+                .orElseGet(() -> messageRepository.countFromOthers(chatRoomId, userId));
+    }
+
+    /**
+     * 사용자의 읽음 위치 조회
+     * 읽음 위치 행이 없으면 기존 is_read 플래그로 마지막으로 읽은 메시지를 찾습니다(이관 전 데이터).
+     */
+    private Optional<MessageCursor> findReadPosition(UUID chatRoomId, UUID userId) {
+        Optional<MessageCursor> position = readWatermarkRepository.findById(ReadWatermarkId.of(chatRoomId, userId))
+                .map(watermark -> new MessageCursor(
+                        watermark.getLastReadCreatedAt(), watermark.getLastReadMessageId()));
+        if (position.isPresent()) {
+            return position;
+        }
+        return messageRepository.findLastReadByLegacyFlag(chatRoomId, userId, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(MessageCursor::of);
+    }
 
-        return messageRepository.countUnreadMessages(chatRoom, userId);
+    /**
+     * 읽음 위치를 앞으로 이동 (단일 upsert, 행이 없으면 생성)
+     */
+    private void advanceReadPosition(UUID chatRoomId, UUID userId, MessageCursor position) {
+        readWatermarkRepository.advance(chatRoomId, userId, position.createdAt(), position.messageId(),
+                LocalDateTime.now());
     }
 }
@@ -0,0 +1,350 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.common.id.UuidV7;
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.domain.message.dto.MessageReceipt;
+import com.chat.chat.domain.message.entity.MessageType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메시지 write-behind 저장기 (chat.message.persistence.mode=write-behind)
+ * 메시지 ID와 생성 시각을 애플리케이션에서 정하고 큐에 넣은 뒤, 전용 writer 스레드가 flush 간격마다 모인 메시지를
+ * 한 트랜잭션의 JDBC batch INSERT로 저장합니다(group commit). 채팅방 마지막 메시지/안 읽은 수 갱신은 배치 안에서
+ * (채팅방, 발신자) 단위로 합쳐 UPDATE 한 번으로 반영합니다.
+ *
+ * <p>내구성:
+ * <ul>
+ *     <li>ack=immediate: 큐에 들어가는 즉시 완료. 브로드캐스트가 가장 빠르지만, 프로세스가 비정상 종료되면
+ *     아직 flush되지 않은 메시지(최대 flush 간격 + 큐 적재분)는 유실됩니다.</li>
+ *     <li>ack=after-flush: 배치가 커밋된 뒤 완료. 클라이언트가 본 메시지는 모두 DB에 있습니다.</li>
+ * </ul>
+ * 재시도 후에도 저장에 실패한 배치는 메시지마다 개별 트랜잭션으로 다시 저장해, 문제가 있는 메시지만 future를
+ * 예외로 완료하고 건수를 집계합니다.
+ * 저장 전에는 REST 조회에 보이지 않을 수 있습니다(최대 flush 간격).
+ * 커밋 후 브로드캐스트는 채팅방 레인에서 실행되므로, 종료 시 큐를 모두 비운 뒤에 디스패처가 멈추도록
+ * 디스패처보다 먼저 소멸됩니다({@link DependsOn}).
+ */
+@Slf4j
+@Component
+@DependsOn("roomMessageDispatcher")
+@RequiredArgsConstructor
+public class MessageWriteBehindQueue implements MetricsSource {
+
+    public static final String MODE_WRITE_BEHIND = "write-behind";
+    public static final String ACK_AFTER_FLUSH = "after-flush";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO messages (message_id, chat_room_id, sender_id, message_type, content, "
+                    + "is_read, is_deleted, created_at) VALUES (?, ?, ?, ?, ?, false, false, ?)";
+
+    /**
+     * ChatRoomRepository.updateLastMessage와 같은 규칙: 발신자가 user1이면 user2, 아니면 user1의 안 읽은 수 증가
+     * 마지막 메시지는 배치 안에서 가장 늦은 그룹(플래그 true)만 바꾸고 나머지는 기존 값을 유지합니다.
+     */
+    private static final String UPDATE_ROOM_SQL =
+            "UPDATE chat_rooms SET "
+                    + "user1_unread_count = user1_unread_count + CASE WHEN user1_id = ? THEN 0 ELSE ? END, "
+                    + "user2_unread_count = user2_unread_count + CASE WHEN user1_id = ? THEN ? ELSE 0 END, "
+                    + "last_message = CASE WHEN ? THEN ? ELSE last_message END, "
+                    + "last_message_at = CASE WHEN ? THEN ? ELSE last_message_at END, "
+                    + "updated_at = ? "
+                    + "WHERE chat_room_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${chat.message.persistence.mode:sync}")
+    private String persistenceMode;
+
+    @Value("${chat.message.write-behind.ack:immediate}")
+    private String ackMode;
+
+    @Value("${chat.message.write-behind.flush-interval-ms:5}")
+    private Long flushIntervalMs;
+
+    @Value("${chat.message.write-behind.max-batch-size:500}")
+    private Integer maxBatchSize;
+
+    @Value("${chat.message.write-behind.queue-capacity:20000}")
+    private Integer queueCapacity;
+
+    @Value("${chat.message.write-behind.max-retries:3}")
+    private Integer maxRetries;
+
+    private BlockingQueue<PendingMessage> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong persistedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong roomUpdateCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong maxBatchObserved = new AtomicLong();
+    private final AtomicLong lastFlushMicros = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writer = new Thread(this::runWriter, "message-write-behind");
+        writer.setDaemon(false);
+        writer.start();
+        log.info("Message write-behind enabled: ack={}, flushIntervalMs={}, maxBatchSize={}, queueCapacity={}",
+                ackMode, flushIntervalMs, maxBatchSize, queueCapacity);
+    }
+
+    /**
+     * 종료 시 큐에 남은 메시지를 모두 저장한 뒤 writer 종료
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // JDBC 호출 중 인터럽트되지 않도록 플래그만 내리고 poll 타임아웃으로 종료
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.error("Message write-behind stopped with {} unsaved messages", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return MODE_WRITE_BEHIND.equalsIgnoreCase(persistenceMode);
+    }
+
+    public boolean isAckAfterFlush() {
+        return ACK_AFTER_FLUSH.equalsIgnoreCase(ackMode);
+    }
+
+    /**
+     * 메시지 저장 요청
+     * ack 모드에 따라 즉시 또는 커밋 후 완료되는 future를 반환하며, 큐가 가득 차면 null을 반환합니다(호출자가 동기 저장).
+     */
+    public CompletableFuture<MessageReceipt> submit(UUID chatRoomId, UUID senderId,
+                                                    String content, MessageType messageType) {
+        MessageReceipt receipt = MessageReceipt.builder()
+                .id(UuidV7.generate())
+                .chatRoomId(chatRoomId)
+                .senderId(senderId)
+                .messageType(messageType)
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        CompletableFuture<MessageReceipt> persisted = isAckAfterFlush() ? new CompletableFuture<>() : null;
+        if (!queue.offer(new PendingMessage(receipt, persisted))) {
+            rejectedCount.incrementAndGet();
+            return null;
+        }
+        submittedCount.incrementAndGet();
+        return persisted != null ? persisted : CompletableFuture.completedFuture(receipt);
+    }
+
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // flush 간격 동안 더 모아서 한 번에 커밋
+                if (running && flushIntervalMs > 0 && queue.size() < maxBatchSize - 1) {
+                    TimeUnit.MILLISECONDS.sleep(flushIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    continue;
+                }
+            }
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) {
+        long start = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    log.error("Message write-behind batch failed after {} retries, saving {} messages one by one: {}",
+                            maxRetries, batch.size(), e.getMessage(), e);
+                    flushIndividually(batch);
+                    return;
+                }
+                retryCount.incrementAndGet();
+                log.warn("Message write-behind batch failed, retrying ({}/{}): {}", attempt + 1, maxRetries, e.getMessage());
+                sleepBackoff(attempt);
+            }
+        }
+
+        persistedCount.addAndGet(batch.size());
+        batchCount.incrementAndGet();
+        maxBatchObserved.accumulateAndGet(batch.size(), Math::max);
+        lastFlushMicros.set(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        batch.forEach(PendingMessage::complete);
+    }
+
+    /**
+     * 배치 실패 후 메시지별 저장 (제약 조건 위반 등 특정 메시지 문제로 배치 전체가 버려지지 않도록)
+     */
+    private void flushIndividually(List<PendingMessage> batch) {
+        int saved = 0;
+        for (PendingMessage pending : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(pending)));
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+                log.error("Message write-behind message not saved: messageId={}, chatRoom={}, error={}",
+                        pending.receipt.getId(), pending.receipt.getChatRoomId(), e.getMessage());
+                pending.fail(e);
+                continue;
+            }
+            saved++;
+            pending.complete();
+        }
+        persistedCount.addAndGet(saved);
+    }
+
+    private void write(List<PendingMessage> batch) {
+        List<Object[]> inserts = new ArrayList<>(batch.size());
+        // 채팅방 → 발신자 → 집계 (삽입 순서 유지)
+        Map<UUID, Map<UUID, RoomDelta>> deltas = new LinkedHashMap<>();
+        Map<UUID, RoomDelta> latestByRoom = new LinkedHashMap<>();
+
+        for (PendingMessage pending : batch) {
+            MessageReceipt message = pending.receipt;
+            inserts.add(new Object[]{
+                    message.getId(),
+                    message.getChatRoomId(),
+                    message.getSenderId(),
+                    message.getMessageType().name(),
+                    message.getContent(),
+                    Timestamp.valueOf(message.getCreatedAt())
+            });
+            RoomDelta delta = deltas.computeIfAbsent(message.getChatRoomId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(message.getSenderId(), id -> new RoomDelta());
+            delta.count++;
+            delta.lastMessage = message;
+            latestByRoom.put(message.getChatRoomId(), delta);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> roomUpdates = new ArrayList<>();
+        deltas.forEach((chatRoomId, bySender) -> bySender.forEach((senderId, delta) -> {
+            boolean latest = latestByRoom.get(chatRoomId) == delta;
+            roomUpdates.add(new Object[]{
+                    senderId, delta.count,
+                    senderId, delta.count,
+                    latest, delta.lastMessage.getContent(),
+                    latest, Timestamp.valueOf(delta.lastMessage.getCreatedAt()),
+                    now,
+                    chatRoomId
+            });
+        }));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        jdbcTemplate.batchUpdate(UPDATE_ROOM_SQL, roomUpdates);
+        roomUpdateCount.addAndGet(roomUpdates.size());
+    }
+
+    private void sleepBackoff(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(50L << Math.min(attempt, 5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "messageWriteBehind";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", isEnabled());
+        metrics.put("ack", ackMode);
+        metrics.put("queueDepth", queue != null ? queue.size() : 0);
+        metrics.put("submitted", submittedCount.get());
+        metrics.put("persisted", persistedCount.get());
+        metrics.put("batches", batchCount.get());
+        metrics.put("avgBatchSize", batchCount.get() > 0 ? (double) persistedCount.get() / batchCount.get() : 0d);
+        metrics.put("maxBatchSize", maxBatchObserved.get());
+        metrics.put("roomUpdates", roomUpdateCount.get());
+        metrics.put("lastFlushMicros", lastFlushMicros.get());
+        metrics.put("rejected", rejectedCount.get());
+        metrics.put("retries", retryCount.get());
+        metrics.put("failed", failedCount.get());
+        return metrics;
+    }
+
+    /**
+     * 채팅방/발신자 단위 배치 집계
+     */
+    private static final class RoomDelta {
+        private int count;
+        private MessageReceipt lastMessage;
+    }
+
+    private static final class PendingMessage {
+        private final MessageReceipt receipt;
+        private final CompletableFuture<MessageReceipt> persisted;
+
+        private PendingMessage(MessageReceipt receipt, CompletableFuture<MessageReceipt> persisted) {
+            this.receipt = receipt;
+            this.persisted = persisted;
+        }
+
+        private void complete() {
+            if (persisted != null) {
+                persisted.complete(receipt);
+            }
+        }
+
+        private void fail(Throwable cause) {
+            if (persisted != null) {
+                persisted.completeExceptionally(cause);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.chat.chat.domain.user.controller;
 
 import com.chat.chat.domain.user.dto.UserCreateRequest;
 import com.chat.chat.domain.user.dto.UserResponse;
+import com.chat.chat.domain.user.dto.UserSliceResponse;
 import com.chat.chat.domain.user.entity.UserStatus;
 import com.chat.chat.domain.user.service.UserService;
 import jakarta.validation.Valid;
@@ -11,7 +12,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -57,12 +57,30 @@ public class UserController {
     }
 
     /**
-     * 닉네임으로 사용자 검색
+     * 닉네임으로 사용자 검색 (부분 일치, 커서 기반)
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 넘깁니다.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<UserResponse>> searchUsers(@RequestParam String keyword) {
-        log.info("📥 GET /api/users/search?keyword={} - Search users", keyword);
-        List<UserResponse> response = userService.searchUsersByNickname(keyword);
+    public ResponseEntity<UserSliceResponse> searchUsers(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("📥 GET /api/users/search?keyword={} - Search users: cursor={}, size={}", keyword, cursor, size);
+        UserSliceResponse response = userService.searchUsersByNickname(keyword, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 닉네임 자동완성 (prefix 일치, 커서 기반)
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<UserSliceResponse> autocompleteNickname(
+            @RequestParam String prefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("📥 GET /api/users/autocomplete?prefix={} - Autocomplete nickname: cursor={}, size={}",
+                prefix, cursor, size);
+        UserSliceResponse response = userService.autocompleteNickname(prefix, cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,9 @@
+package com.chat.chat.domain.user.dto;
+
+import java.util.UUID;
+
+/**
+ * 닉네임 prefix 인덱스 항목 (사용자 ID, 닉네임)
+ */
+public record NicknameEntry(UUID userId, String nickname) {
+}
@@ -0,0 +1,59 @@
+package com.chat.chat.domain.user.dto;
+
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.common.exception.InvalidValueException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 사용자 검색 keyset 커서
+ * 마지막으로 받은 사용자의 (nickname, user_id)와 그 페이지를 만든 경로(DB/메모리 인덱스)이며,
+ * 클라이언트에는 불투명한 base64url 문자열로 전달합니다.
+ * 두 경로 모두 (lower(nickname), user_id) 순이지만 DB 정렬은 collation을 따르므로, 다른 경로의 커서는 이어 쓰지 않습니다.
+ */
+public record UserCursor(Source source, String nickname, UUID userId) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 커서를 만든 검색 경로
+     */
+    public enum Source {
+        DB('D'),
+        INDEX('I');
+
+        private final char code;
+
+        Source(char code) {
+            this.code = code;
+        }
+
+        private static Source of(char code) {
+            for (Source source : values()) {
+                if (source.code == code) {
+                    return source;
+                }
+            }
+            throw new IllegalArgumentException("unknown cursor source: " + code);
+        }
+    }
+
+    public String encode() {
+        // 닉네임에 구분자가 들어갈 수 있으므로 경로 코드와 UUID(고정 길이)를 앞에 둠
+        String raw = String.valueOf(source.code) + userId + SEPARATOR + nickname;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new UserCursor(Source.of(raw.charAt(0)), raw.substring(separator + 1),
+                    UUID.fromString(raw.substring(1, separator)));
+        } catch (RuntimeException e) {
+            throw new InvalidValueException(ErrorCode.INVALID_INPUT_VALUE, "잘못된 커서입니다: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.chat.chat.domain.user.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서 기반 사용자 검색 응답
+ * 전체 개수(COUNT 쿼리) 없이 다음 페이지 존재 여부와 다음 커서만 담습니다.
+ */
+@Getter
+@Builder
+public class UserSliceResponse {
+
+    private List<UserResponse> users;
+    private boolean hasNext;
+
+    /**
+     * 다음 페이지 요청에 그대로 넘길 커서 (마지막 페이지면 null)
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,60 @@
+package com.chat.chat.domain.user.dto;
+
+import com.chat.chat.domain.user.entity.User;
+import com.chat.chat.domain.user.entity.UserStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 캐시용 사용자 스냅샷 (불변)
+ * 영속성 컨텍스트 밖에서 공유되므로 엔티티 대신 필요한 값만 복사해 둡니다.
+ */
+@Getter
+@Builder
+public class UserSnapshot {
+
+    private final UUID id;
+    private final String email;
+    private final String nickname;
+    private final String profileImageUrl;
+    private final UserStatus status;
+    private final LocalDateTime lastSeenAt;
+    private final LocalDateTime createdAt;
+    private final boolean active;
+    private final boolean bot;
+
+    /**
+     * Entity to snapshot
+     */
+    public static UserSnapshot from(User user) {
+        return UserSnapshot.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .nickname(user.getNickname())
+                .profileImageUrl(user.getProfileImageUrl())
+                .status(user.getStatus())
+                .lastSeenAt(user.getLastSeenAt())
+                .createdAt(user.getCreatedAt())
+                .active(Boolean.TRUE.equals(user.getIsActive()))
+                .bot(user.isBot())
+                .build();
+    }
+
+    /**
+     * 응답 DTO로 변환
+     */
+    public UserResponse toResponse() {
+        return UserResponse.builder()
+                .id(id)
+                .email(email)
+                .nickname(nickname)
+                .profileImageUrl(profileImageUrl)
+                .status(status)
+                .lastSeenAt(lastSeenAt)
+                .createdAt(createdAt)
+                .build();
+    }
+}
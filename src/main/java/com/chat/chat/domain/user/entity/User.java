@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,7 +16,10 @@ import java.util.UUID;
  * Supabase Auth와 연동되어 사용자 정보를 관리합니다.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        indexes = {
+                @Index(name = "idx_user_kind", columnList = "user_kind")
+        })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -86,6 +90,22 @@ public class User {
     @Builder.Default
     private Boolean isActive = true;
 
+    /**
+     * 사용자 종류 (HUMAN, BOT)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "user_kind", nullable = false, length = 10)
+    @ColumnDefault("'HUMAN'")
+    @Builder.Default
+    private UserKind kind = UserKind.HUMAN;
+
+    /**
+     * 챗봇 사용자 여부
+     */
+    public boolean isBot() {
+        return kind == UserKind.BOT;
+    }
+
     /**
      * 사용자 상태 변경
      */
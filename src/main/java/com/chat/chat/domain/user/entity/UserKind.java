@@ -0,0 +1,16 @@
+package com.chat.chat.domain.user.entity;
+
+/**
+ * 사용자 종류
+ */
+public enum UserKind {
+    /**
+     * 사람 사용자
+     */
+    HUMAN,
+
+    /**
+     * 챗봇 (페르소나마다 한 계정을 모든 채팅방이 공유)
+     */
+    BOT
+}
@@ -1,7 +1,9 @@
 package com.chat.chat.domain.user.repository;
 
+import com.chat.chat.domain.user.dto.NicknameEntry;
 import com.chat.chat.domain.user.entity.User;
 import com.chat.chat.domain.user.entity.UserStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -48,8 +50,34 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByNickname(String nickname);
 
     /**
-     * 닉네임으로 사용자 검색 (LIKE)
+     * 닉네임 패턴으로 활성 사람 사용자 검색 (첫 페이지)
+     * pattern은 소문자로 바꾸고 %, _를 '!'로 escape한 LIKE 패턴입니다.
+     * PostgreSQL에서는 lower(nickname) trigram GIN 인덱스(db/nickname-search-index.sql)로 부분 일치를 찾습니다.
+     * 정렬은 메모리 prefix 인덱스({@code NicknamePrefixIndex})와 같은 (lower(nickname), user_id) 순입니다.
      */
-    @Query("SELECT u FROM User u WHERE u.nickname LIKE %:keyword% AND u.isActive = true")
-    List<User> searchByNickname(@Param("keyword") String keyword);
+    @Query("SELECT u FROM User u WHERE lower(u.nickname) LIKE :pattern ESCAPE '!' "
+            + "AND u.isActive = true AND u.kind = com.chat.chat.domain.user.entity.UserKind.HUMAN "
+            + "ORDER BY lower(u.nickname), u.id")
+    List<User> searchByNickname(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * 닉네임 패턴으로 활성 사람 사용자 검색 (커서 이후)
+     * nickname은 커서 닉네임을 소문자로 바꾼 값입니다.
+     */
+    @Query("SELECT u FROM User u WHERE lower(u.nickname) LIKE :pattern ESCAPE '!' "
+            + "AND u.isActive = true AND u.kind = com.chat.chat.domain.user.entity.UserKind.HUMAN "
+            + "AND (lower(u.nickname) > :nickname OR (lower(u.nickname) = :nickname AND u.id > :userId)) "
+            + "ORDER BY lower(u.nickname), u.id")
+    List<User> searchByNicknameAfter(@Param("pattern") String pattern,
+                                     @Param("nickname") String nickname,
+                                     @Param("userId") UUID userId,
+                                     Pageable pageable);
+
+    /**
+     * 닉네임 prefix 인덱스 적재용 활성 사람 사용자 (user_id 순 keyset)
+     */
+    @Query("SELECT new com.chat.chat.domain.user.dto.NicknameEntry(u.id, u.nickname) FROM User u "
+            + "WHERE u.isActive = true AND u.kind = com.chat.chat.domain.user.entity.UserKind.HUMAN "
+            + "AND u.id > :afterId ORDER BY u.id")
+    List<NicknameEntry> findActiveNicknamesAfter(@Param("afterId") UUID afterId, Pageable pageable);
 }
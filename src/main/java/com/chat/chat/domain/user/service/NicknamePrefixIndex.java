@@ -0,0 +1,258 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.common.relay.AfterCommitRelay;
+import com.chat.chat.common.relay.ClusterRelay;
+import com.chat.chat.domain.user.dto.NicknameEntry;
+import com.chat.chat.domain.user.dto.UserCursor;
+import com.chat.chat.domain.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 활성 사람 사용자 닉네임 prefix 인덱스 (자동완성)
+ * 소문자 닉네임 + user_id 순으로 정렬된 skip list라 prefix 범위를 잘라 읽기만 하면 되고, 같은 키로 keyset 페이지를 이어갑니다.
+ * 시작 시 백그라운드 스레드에서 user_id keyset 배치로 적재하고, 가입/닉네임 변경/비활성화는 커밋 후 반영하며
+ * {@link ClusterRelay}로 다른 노드에도 전파합니다.
+ * 적재가 끝나기 전에는 {@link #isReady()}가 false이므로 호출자가 DB prefix 검색으로 대신합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NicknamePrefixIndex implements MetricsSource {
+
+    /**
+     * 노드 간 닉네임 변경 이벤트 종류
+     */
+    public static final String RELAY_TYPE = "nickname-index";
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final UUID MIN_USER_ID = new UUID(0L, 0L);
+
+    private final UserRepository userRepository;
+    private final ClusterRelay clusterRelay;
+
+    @Value("${chat.nickname-index.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${chat.nickname-index.load-batch-size:10000}")
+    private Integer loadBatchSize;
+
+    @Value("${chat.nickname-index.load-on-startup:true}")
+    private Boolean loadOnStartup;
+
+    /**
+     * 소문자 닉네임 + 구분자 + user_id -> 항목
+     */
+    private final ConcurrentSkipListMap<String, NicknameEntry> entries = new ConcurrentSkipListMap<>();
+
+    /**
+     * user_id -> 현재 키 (닉네임 변경 시 이전 키 제거용)
+     */
+    private final Map<UUID, String> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * 적재 중 비활성화된 사용자 (적재 배치의 오래된 행이 다시 넣지 않도록)
+     */
+    private final Set<UUID> removedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    private final AtomicLong loadMillis = new AtomicLong();
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong updateCount = new AtomicLong();
+    private final AtomicLong remoteUpdateCount = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        clusterRelay.subscribe(RELAY_TYPE, envelope -> {
+            JsonNode payload = envelope.getPayload();
+            JsonNode nickname = payload.get("nickname");
+            remoteUpdateCount.incrementAndGet();
+            apply(UUID.fromString(payload.get("userId").asString()),
+                    nickname == null || nickname.isNull() ? null : nickname.asString());
+        });
+    }
+
+    /**
+     * 시작 시 적재 (사용자 전체를 읽으므로 ApplicationReadyEvent 스레드를 막지 않도록 별도 스레드에서)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        if (Boolean.TRUE.equals(enabled) && Boolean.TRUE.equals(loadOnStartup)) {
+            new VirtualThreadTaskExecutor("nickname-index-").execute(() -> {
+                try {
+                    load();
+                } catch (RuntimeException e) {
+                    // 적재 실패 시 ready가 false로 남아 DB prefix 검색을 계속 사용
+                    log.error("[SEARCH] Nickname prefix index load failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * DB의 활성 사람 사용자 닉네임 적재
+     * 적재 중 들어온 실시간 변경이 이기도록, 이미 키가 있거나 적재 중 제거된 사용자는 건너뜁니다.
+     */
+    public void load() {
+        long start = System.currentTimeMillis();
+        loading = true;
+        removedDuringLoad.clear();
+
+        try {
+            UUID afterId = MIN_USER_ID;
+            List<NicknameEntry> batch;
+            do {
+                batch = userRepository.findActiveNicknamesAfter(afterId, PageRequest.of(0, loadBatchSize));
+                synchronized (this) {
+                    for (NicknameEntry entry : batch) {
+                        if (!keysById.containsKey(entry.userId()) && !removedDuringLoad.contains(entry.userId())) {
+                            store(entry.userId(), entry.nickname());
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.getLast().userId();
+                }
+            } while (batch.size() == loadBatchSize);
+        } finally {
+            loading = false;
+            removedDuringLoad.clear();
+        }
+
+        ready = true;
+        loadMillis.set(System.currentTimeMillis() - start);
+        log.info("[SEARCH] Nickname prefix index loaded: size={}, {}ms", entries.size(), loadMillis.get());
+    }
+
+    public boolean isReady() {
+        return Boolean.TRUE.equals(enabled) && ready;
+    }
+
+    /**
+     * prefix로 시작하는 닉네임 (대소문자 무시, 소문자 닉네임 + user_id 순)
+     * user_id는 소문자 16진 문자열로 비교하므로 DB의 uuid 정렬(부호 없는 바이트 순)과 같습니다.
+     * after가 있으면 그 항목 다음부터 최대 limit건을 반환합니다.
+     */
+    public List<NicknameEntry> search(String prefix, UserCursor after, int limit) {
+        queryCount.incrementAndGet();
+
+        String from = prefix.toLowerCase(Locale.ROOT);
+        String to = from + Character.MAX_VALUE;
+        String fromKey = from;
+        boolean inclusive = true;
+        if (after != null) {
+            String afterKey = key(after.userId(), after.nickname());
+            if (afterKey.compareTo(fromKey) >= 0) {
+                fromKey = afterKey;
+                inclusive = false;
+            }
+        }
+        if (fromKey.compareTo(to) >= 0) {
+            return List.of();
+        }
+
+        List<NicknameEntry> result = new ArrayList<>(limit);
+        for (NicknameEntry entry : entries.subMap(fromKey, inclusive, to, false).values()) {
+            result.add(entry);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 닉네임 추가/변경 (현재 트랜잭션이 있으면 커밋 후, 없으면 즉시)
+     */
+    public void put(UUID userId, String nickname) {
+        afterCommit(userId, nickname);
+    }
+
+    /**
+     * 닉네임 제거 (비활성화, 현재 트랜잭션이 있으면 커밋 후)
+     */
+    public void remove(UUID userId) {
+        afterCommit(userId, null);
+    }
+
+    private void afterCommit(UUID userId, String nickname) {
+        if (!Boolean.TRUE.equals(enabled)) {
+            return;
+        }
+        Map<String, String> payload = new HashMap<>();
+        payload.put("userId", userId.toString());
+        payload.put("nickname", nickname);
+        AfterCommitRelay.applyAndPublish(clusterRelay, RELAY_TYPE, payload, () -> {
+            apply(userId, nickname);
+            updateCount.incrementAndGet();
+        });
+    }
+
+    private synchronized void apply(UUID userId, String nickname) {
+        if (nickname == null) {
+            String previous = keysById.remove(userId);
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            if (loading) {
+                removedDuringLoad.add(userId);
+            }
+            return;
+        }
+        store(userId, nickname);
+    }
+
+    private void store(UUID userId, String nickname) {
+        String key = key(userId, nickname);
+        String previous = keysById.put(userId, key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        entries.put(key, new NicknameEntry(userId, nickname));
+    }
+
+    private static String key(UUID userId, String nickname) {
+        return nickname.toLowerCase(Locale.ROOT) + KEY_SEPARATOR + userId;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "nicknameIndex";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("ready", ready);
+        metrics.put("size", entries.size());
+        metrics.put("loadMillis", loadMillis.get());
+        metrics.put("queries", queryCount.get());
+        metrics.put("updates", updateCount.get());
+        metrics.put("remoteUpdates", remoteUpdateCount.get());
+        return metrics;
+    }
+}
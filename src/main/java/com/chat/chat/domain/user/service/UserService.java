@@ -3,21 +3,33 @@ package com.chat.chat.domain.user.service;
 import com.chat.chat.common.exception.EntityNotFoundException;
 import com.chat.chat.common.exception.ErrorCode;
 import com.chat.chat.common.exception.InvalidValueException;
+import com.chat.chat.common.id.UuidV7;
 import com.chat.chat.domain.user.dto.UserCreateRequest;
+import com.chat.chat.domain.user.dto.UserCursor;
 import com.chat.chat.domain.user.dto.UserResponse;
+import com.chat.chat.domain.user.dto.UserSliceResponse;
+import com.chat.chat.domain.user.dto.UserSnapshot;
 import com.chat.chat.domain.user.entity.User;
+import com.chat.chat.domain.user.entity.UserKind;
 import com.chat.chat.domain.user.entity.UserStatus;
 import com.chat.chat.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * 사용자 서비스
@@ -28,18 +40,33 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class UserService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+
+    /**
+     * trigram 인덱스가 후보를 좁힐 수 있는 최소 검색어 길이
+     */
+    private static final int MIN_SUBSTRING_KEYWORD_LENGTH = 3;
+
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final NicknamePrefixIndex nicknamePrefixIndex;
+    private final PlatformTransactionManager transactionManager;
     @Value("${chat.bot-email:ai-bot@chat.local}")
     private String botEmail;
     @Value("${chat.bot-nickname:AI Bot}")
     private String botNickname;
 
+    /**
+     * 공유 챗봇 사용자 ID (처음 조회/생성 후 보관)
+     */
+    private volatile UUID botUserId;
+
     /**
      * 사용자 생성 (간편 닉네임 가입 지원)
      */
     @Transactional
     public UserResponse createUser(UserCreateRequest request) {
-        UUID userId = request.getId() != null ? request.getId() : UUID.randomUUID();
+        UUID userId = request.getId() != null ? request.getId() : UuidV7.generate();
         String nickname = request.getNickname();
         String email = resolveEmail(request, nickname);
 
@@ -60,6 +87,7 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        nicknamePrefixIndex.put(savedUser.getId(), savedUser.getNickname());
         log.info("?? User created: {}", savedUser.getId());
 
         return UserResponse.from(savedUser);
@@ -88,13 +116,45 @@ public class UserService {
     }
 
     /**
-     * 닉네임으로 사용자 검색
+     * 닉네임 부분 일치 검색 (대소문자 무시, 닉네임 순 keyset 페이지)
+     * 짧은 검색어는 trigram 인덱스로 좁힐 수 없어 전체 스캔이 되므로 prefix 검색으로 처리합니다.
      */
-    public List<UserResponse> searchUsersByNickname(String keyword) {
-        return userRepository.searchByNickname(keyword)
+    public UserSliceResponse searchUsersByNickname(String keyword, String cursor, int size) {
+        String normalized = normalizeKeyword(keyword);
+        if (normalized.length() < MIN_SUBSTRING_KEYWORD_LENGTH) {
+            return autocompleteNickname(normalized, cursor, size);
+        }
+
+        int limit = Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE);
+        List<User> users = findByNicknamePattern("%" + escapeLike(normalized) + "%",
+                decodeCursor(cursor, UserCursor.Source.DB), limit);
+        return toSlice(users.stream().map(UserResponse::from).toList(), limit, UserCursor.Source.DB);
+    }
+
+    /**
+     * 닉네임 자동완성 (prefix 일치, 메모리 인덱스)
+     * 응답에는 id와 nickname만 담기며, 인덱스 적재 전에는 DB prefix 검색으로 대신합니다.
+     * 페이지 도중 인덱스 적재가 끝나 경로가 바뀌면 이전 경로의 커서는 버리고 첫 페이지부터 다시 시작합니다.
+     */
+    public UserSliceResponse autocompleteNickname(String prefix, String cursor, int size) {
+        String normalized = normalizeKeyword(prefix);
+        int limit = Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE);
+
+        if (!nicknamePrefixIndex.isReady()) {
+            UserCursor after = decodeCursor(cursor, UserCursor.Source.DB);
+            List<User> users = findByNicknamePattern(escapeLike(normalized) + "%", after, limit);
+            return toSlice(users.stream().map(UserResponse::from).toList(), limit, UserCursor.Source.DB);
+        }
+
+        UserCursor after = decodeCursor(cursor, UserCursor.Source.INDEX);
+        List<UserResponse> users = nicknamePrefixIndex.search(normalized, after, limit + 1)
                 .stream()
-                .map(UserResponse::from)
-                .collect(Collectors.toList());
+                .map(entry -> UserResponse.builder()
+                        .id(entry.userId())
+                        .nickname(entry.nickname())
+                        .build())
+                .toList();
+        return toSlice(users, limit, UserCursor.Source.INDEX);
     }
 
     /**
@@ -106,6 +166,7 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.USER_NOT_FOUND));
 
         user.updateStatus(status);
+        userSnapshotCache.invalidate(userId);
         log.info("? User status updated: {} -> {}", userId, status);
 
         return UserResponse.from(user);
@@ -126,7 +187,12 @@ public class UserService {
             }
         }
 
+        String previousNickname = user.getNickname();
         user.updateProfile(nickname, profileImageUrl);
+        userSnapshotCache.invalidate(userId);
+        if (!user.getNickname().equals(previousNickname) && user.getIsActive() && !user.isBot()) {
+            nicknamePrefixIndex.put(userId, user.getNickname());
+        }
         log.info("??? User profile updated: {}", userId);
 
         return UserResponse.from(user);
@@ -141,26 +207,63 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.USER_NOT_FOUND));
 
         user.deactivate();
+        userSnapshotCache.invalidate(userId);
+        nicknamePrefixIndex.remove(userId);
         log.info("?? User deactivated: {}", userId);
     }
 
     /**
-     * 채팅방 전용 챗봇 사용자 생성
+     * 공유 챗봇 사용자 조회 (chat.bot-email 계정, 없으면 생성)
+     * 모든 채팅방이 같은 챗봇 계정을 참여자로 쓰므로 채팅방 생성 시 사용자 행을 추가하지 않습니다.
      */
     @Transactional
-    public User createBotUserForChatRoom() {
-        String email = generateBotEmail();
+    public User getBotUser() {
+        // 보관한 ID의 행이 없으면(생성 트랜잭션 롤백 등) 이메일로 다시 찾음
+        UUID cachedId = botUserId;
+        if (cachedId != null) {
+            Optional<User> cached = userRepository.findById(cachedId);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
 
-        User botUser = User.builder()
-                .id(UUID.randomUUID())
-                .email(email)
-                .nickname(botNickname)
-                .build();
+        User botUser = userRepository.findByEmail(botEmail)
+                .orElseGet(() -> userRepository.findById(createBotUser())
+                        .orElseThrow(() -> new EntityNotFoundException(ErrorCode.USER_NOT_FOUND,
+                                "챗봇 사용자를 찾을 수 없습니다: " + botEmail)));
+        if (!botUser.isBot()) {
+            throw new InvalidValueException(ErrorCode.INVALID_INPUT_VALUE,
+                    "챗봇 이메일이 일반 사용자 계정에 등록되어 있습니다: " + botEmail);
+        }
 
-        User saved = userRepository.save(botUser);
-        log.info("[BOT] Dedicated bot user created: {}", saved.getId());
+        botUserId = botUser.getId();
+        return botUser;
+    }
 
-        return saved;
+    /**
+     * 챗봇 사용자 생성 (별도 트랜잭션)
+     * 첫 채팅방이 동시에 여러 개 만들어지면(여러 노드 포함) 같은 이메일로 동시에 INSERT 하게 되므로,
+     * 유니크 제약 위반은 먼저 생성된 행을 다시 찾아 사용합니다.
+     * 호출한 트랜잭션이 제약 위반으로 중단되지 않도록 INSERT는 새 트랜잭션에서 커밋합니다.
+     */
+    private UUID createBotUser() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            UUID createdId = transactionTemplate.execute(status -> userRepository.save(User.builder()
+                    .id(UuidV7.generate())
+                    .email(botEmail)
+                    .nickname(botNickname)
+                    .kind(UserKind.BOT)
+                    .build()).getId());
+            log.info("[BOT] Shared bot user created: {}", createdId);
+            return createdId;
+        } catch (DataIntegrityViolationException e) {
+            log.info("[BOT] Shared bot user already created by another request: {}", botEmail);
+            return transactionTemplate.execute(status -> userRepository.findByEmail(botEmail)
+                    .map(User::getId)
+                    .orElseThrow(() -> e));
+        }
     }
 
     /**
@@ -172,6 +275,74 @@ public class UserService {
                         "사용자를 찾을 수 없습니다: " + userId));
     }
 
+    /**
+     * 사용자 스냅샷 조회 (read-through 캐시)
+     * 닉네임/챗봇 여부처럼 자주 읽고 드물게 바뀌는 값이 필요할 때 PK 조회 대신 사용합니다.
+     */
+    public UserSnapshot getUserSnapshot(UUID userId) {
+        return userSnapshotCache.get(userId, id -> UserSnapshot.from(findUserById(id)));
+    }
+
+    /**
+     * 내부에서 User 참조 조회 (프록시, 조회 쿼리 없음)
+     * 이미 존재가 확인된 사용자를 연관관계에 연결할 때 사용
+     */
+    public User getUserReference(UUID userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    private List<User> findByNicknamePattern(String pattern, UserCursor after, int limit) {
+        // 한 건 더 읽어 다음 페이지 여부 판단
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        if (after == null) {
+            return userRepository.searchByNickname(pattern, pageable);
+        }
+        return userRepository.searchByNicknameAfter(pattern, after.nickname().toLowerCase(Locale.ROOT),
+                after.userId(), pageable);
+    }
+
+    private UserSliceResponse toSlice(List<UserResponse> users, int limit, UserCursor.Source source) {
+        boolean hasNext = users.size() > limit;
+        if (hasNext) {
+            users = users.subList(0, limit);
+        }
+
+        return UserSliceResponse.builder()
+                .users(users)
+                .hasNext(hasNext)
+                .nextCursor(hasNext
+                        ? new UserCursor(source, users.getLast().getNickname(), users.getLast().getId()).encode()
+                        : null)
+                .build();
+    }
+
+    /**
+     * 커서 해석 (다른 경로에서 만든 커서면 null, 즉 첫 페이지)
+     */
+    private UserCursor decodeCursor(String cursor, UserCursor.Source source) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        UserCursor decoded = UserCursor.decode(cursor);
+        return decoded.source() == source ? decoded : null;
+    }
+
+    private String normalizeKeyword(String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            throw new InvalidValueException(ErrorCode.INVALID_INPUT_VALUE, "검색어는 필수입니다.");
+        }
+        return keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * LIKE 와일드카드(%, _)를 리터럴로 검색하도록 escape ('!' 기준)
+     */
+    private String escapeLike(String keyword) {
+        return keyword.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+
     private String resolveEmail(UserCreateRequest request, String nickname) {
         if (StringUtils.hasText(request.getEmail())) {
             return request.getEmail();
@@ -189,13 +360,4 @@ public class UserService {
         String suffix = UUID.randomUUID().toString().substring(0, 8);
         return base + "-" + suffix + "@chat.local";
     }
-
-    private String generateBotEmail() {
-        int atIndex = botEmail.indexOf("@");
-        String domain = (atIndex > -1 && atIndex < botEmail.length() - 1)
-                ? botEmail.substring(atIndex + 1)
-                : "chat.local";
-
-        return "bot-" + UUID.randomUUID() + "@" + domain;
-    }
 }
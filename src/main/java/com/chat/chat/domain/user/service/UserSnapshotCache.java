@@ -0,0 +1,64 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.common.cache.InvalidatingLruCache;
+import com.chat.chat.common.relay.ClusterRelay;
+import com.chat.chat.domain.user.dto.UserSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 사용자 스냅샷 read-through 캐시
+ * 메시지 한 건 처리 중 같은 사용자를 여러 번 PK 조회하지 않도록 최근 사용자를 크기(LRU)와 TTL 한도 안에서 보관합니다.
+ * 프로필/상태 변경과 비활성화는 커밋 후 로컬 항목을 지우고 다른 노드에도 무효화를 발행합니다.
+ * loader가 던진 예외(사용자 없음 등)는 그대로 전파되고 캐시에 남지 않습니다.
+ */
+@Component
+public class UserSnapshotCache extends InvalidatingLruCache<UserSnapshot> {
+
+    /**
+     * 노드 간 무효화 이벤트 종류
+     */
+    public static final String RELAY_TYPE = "user-cache-invalidate";
+
+    @Value("${chat.user-cache.enabled:true}")
+    private Boolean enabled;
+
+    @Value("${chat.user-cache.max-size:10000}")
+    private Integer maxSize;
+
+    @Value("${chat.user-cache.ttl-ms:30000}")
+    private Long ttlMs;
+
+    public UserSnapshotCache(ClusterRelay clusterRelay) {
+        super(clusterRelay, RELAY_TYPE);
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    @Override
+    protected int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    protected long ttlMs() {
+        return ttlMs;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "userCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = super.getMetrics();
+        metrics.put("ttlMs", ttlMs);
+        return metrics;
+    }
+}
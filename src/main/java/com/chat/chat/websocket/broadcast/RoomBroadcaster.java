@@ -0,0 +1,339 @@
+package com.chat.chat.websocket.broadcast;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.common.relay.ClusterRelay;
+import com.chat.chat.websocket.codec.BinaryPayloadNegotiator;
+import com.chat.chat.websocket.dto.ChatMessageDto;
+import com.chat.chat.websocket.replay.RoomHistoryBuffer;
+import com.chat.chat.websocket.transport.SlowConsumerGuard;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 브로드캐스트 진입점
+ * 모든 /topic/chatroom/** 전송은 이 클래스를 거칩니다.
+ * 배치 모드가 켜진 destination prefix는 window 동안(또는 max-events까지) 이벤트를 모아 하나의 배열 프레임으로 보냅니다.
+ * 로컬 구독자에게 전달하는 동시에 {@link ClusterRelay}로 다른 노드에도 발행하고, 다른 노드에서 온 이벤트는 로컬로만 전달합니다.
+ * CHAT 메시지는 로컬 전달 직전에 {@link RoomHistoryBuffer}에 보관되며 노드별 sequence가 붙습니다.
+ * CBOR를 협상한 세션이 있으면 프레임마다 CBOR payload도 한 번 직렬화해 헤더로 함께 보냅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomBroadcaster implements MetricsSource {
+
+    /**
+     * 배치 프레임 표시 헤더 (payload가 이벤트 배열임을 의미)
+     */
+    public static final String BATCH_HEADER = "x-batch";
+
+    /**
+     * 노드 간 중계 이벤트 종류
+     */
+    public static final String RELAY_TYPE = "broadcast";
+
+    private static final String ROOM_TOPIC_PREFIX = "/topic/chatroom/";
+    private static final String TYPING_SUFFIX = "/typing";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ClusterRelay clusterRelay;
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final BinaryPayloadNegotiator binaryPayloadNegotiator;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Value("${chat.broadcast.batch.enabled:false}")
+    private Boolean batchEnabled;
+
+    /**
+     * prefix=windowMs 목록 (예: /topic/chatroom=5)
+     */
+    @Value("${chat.broadcast.batch.windows:/topic/chatroom=5}")
+    private String batchWindows;
+
+    @Value("${chat.broadcast.batch.max-events:32}")
+    private Integer maxEvents;
+
+    private final Map<String, Long> windowByPrefix = new LinkedHashMap<>();
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flushScheduler;
+
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong frameCount = new AtomicLong();
+    private final AtomicLong batchedFrameCount = new AtomicLong();
+    private final AtomicLong relayedInCount = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        clusterRelay.subscribe(RELAY_TYPE, envelope -> {
+            relayedInCount.incrementAndGet();
+            deliver(envelope.getDestination(), envelope.getPayload());
+        });
+
+        if (!Boolean.TRUE.equals(batchEnabled)) {
+            return;
+        }
+        for (String entry : batchWindows.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length == 2 && StringUtils.hasText(parts[0])) {
+                windowByPrefix.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+            }
+        }
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("broadcast-batch-"));
+        log.info("Broadcast batching enabled: windows={}, maxEvents={}", windowByPrefix, maxEvents);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushScheduler != null) {
+            batches.values().forEach(Batch::flush);
+            flushScheduler.shutdown();
+        }
+    }
+
+    /**
+     * 채팅방 이벤트 브로드캐스트 (/topic/chatroom/{id})
+     */
+    public void toRoom(UUID chatRoomId, Object payload) {
+        send(ROOM_TOPIC_PREFIX + chatRoomId, payload);
+    }
+
+    /**
+     * 채팅방 타이핑 이벤트 브로드캐스트 (/topic/chatroom/{id}/typing)
+     */
+    public void toRoomTyping(UUID chatRoomId, Object payload) {
+        send(ROOM_TOPIC_PREFIX + chatRoomId + TYPING_SUFFIX, payload);
+    }
+
+    /**
+     * destination으로 전송 (다른 노드로 발행 후 로컬 전달)
+     */
+    public void send(String destination, Object payload) {
+        clusterRelay.publish(RELAY_TYPE, resolveEventId(payload), destination, payload);
+        deliver(destination, payload);
+    }
+
+    /**
+     * 로컬 구독자에게 전달 (배치 대상이면 모아서 전송)
+     */
+    private void deliver(String destination, Object payload) {
+        eventCount.incrementAndGet();
+        payload = recordHistory(payload);
+        long window = resolveWindow(destination);
+        if (window <= 0) {
+            frameCount.incrementAndGet();
+            sendFrame(destination, payload);
+            return;
+        }
+        // 유휴로 정리된 배치를 잡았으면 새 배치로 다시 시도
+        Batch batch;
+        do {
+            batch = batches.computeIfAbsent(destination, key -> new Batch(key, window));
+        } while (!batch.add(payload));
+    }
+
+    /**
+     * CHAT 메시지를 replay 버퍼에 보관하고 sequence가 붙은 payload로 교체
+     */
+    private Object recordHistory(Object payload) {
+        ChatMessageDto message = null;
+        if (payload instanceof ChatMessageDto dto) {
+            message = dto;
+        } else if (payload instanceof JsonNode node && isChat(node)) {
+            message = jsonMapper.treeToValue(node, ChatMessageDto.class);
+        }
+        if (message == null || message.getChatMessageType() != ChatMessageDto.ChatMessageType.CHAT
+                || message.getMessageId() == null || message.getChatRoomId() == null) {
+            return payload;
+        }
+        return roomHistoryBuffer.append(message);
+    }
+
+    private boolean isChat(JsonNode node) {
+        return node.hasNonNull("chatMessageType")
+                && ChatMessageDto.ChatMessageType.CHAT.name().equals(node.get("chatMessageType").asString());
+    }
+
+    private void sendFrame(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload,
+                frameHeaders(payload, isLowPriority(destination, payload), false));
+    }
+
+    /**
+     * 프레임 헤더 구성
+     * CBOR를 협상한 세션이 있으면 payload를 여기서 한 번 CBOR로 직렬화해 함께 보내고,
+     * 구독자별 포맷 선택은 {@link BinaryPayloadNegotiator}가 outbound 채널에서 합니다.
+     */
+    private MessageHeaders frameHeaders(Object payload, boolean lowPriority, boolean batch) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (lowPriority) {
+            accessor.setNativeHeader(SlowConsumerGuard.PRIORITY_HEADER, SlowConsumerGuard.PRIORITY_LOW);
+        }
+        if (batch) {
+            accessor.setNativeHeader(BATCH_HEADER, "true");
+        }
+        if (binaryPayloadNegotiator.hasCborSessions()) {
+            accessor.setHeader(BinaryPayloadNegotiator.CBOR_PAYLOAD_HEADER, binaryPayloadNegotiator.encode(payload));
+        }
+        // SimpMessagingTemplate이 destination을 채울 수 있도록 mutable로 남김
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    /**
+     * 느린 클라이언트에게 먼저 버려도 되는 이벤트 (타이핑, 읽음, 스트리밍 조각)
+     * 다른 노드에서 온 이벤트는 JSON 트리이므로 chatMessageType 필드로 판단합니다.
+     */
+    private boolean isLowPriority(String destination, Object payload) {
+        if (destination.endsWith(TYPING_SUFFIX)) {
+            return true;
+        }
+        String type = null;
+        if (payload instanceof ChatMessageDto message && message.getChatMessageType() != null) {
+            type = message.getChatMessageType().name();
+        } else if (payload instanceof JsonNode node && node.hasNonNull("chatMessageType")) {
+            type = node.get("chatMessageType").asString();
+        }
+        return ChatMessageDto.ChatMessageType.READ.name().equals(type)
+                || ChatMessageDto.ChatMessageType.STREAM_DELTA.name().equals(type);
+    }
+
+    /**
+     * 중복 제거 키: 저장된 메시지 이벤트는 messageId 기반, 그 외에는 임의 ID
+     */
+    private String resolveEventId(Object payload) {
+        if (payload instanceof ChatMessageDto message && message.getMessageId() != null) {
+            return message.getChatMessageType() + ":" + message.getMessageId();
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private long resolveWindow(String destination) {
+        if (windowByPrefix.isEmpty()) {
+            return 0;
+        }
+        long window = 0;
+        int matchedLength = -1;
+        for (Map.Entry<String, Long> entry : windowByPrefix.entrySet()) {
+            if (destination.startsWith(entry.getKey()) && entry.getKey().length() > matchedLength) {
+                window = entry.getValue();
+                matchedLength = entry.getKey().length();
+            }
+        }
+        return window;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "broadcast";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("batchEnabled", Boolean.TRUE.equals(batchEnabled));
+        metrics.put("events", eventCount.get());
+        metrics.put("frames", frameCount.get());
+        metrics.put("batchedFrames", batchedFrameCount.get());
+        metrics.put("activeBatches", batches.size());
+        metrics.put("relayedIn", relayedInCount.get());
+        return metrics;
+    }
+
+    /**
+     * destination 하나의 이벤트 버퍼
+     * 타이머가 window 동안 새 이벤트 없이 비어 있는 것을 확인하면 맵에서 제거되어, 한 번 쓰인 destination이 계속 남지 않습니다.
+     */
+    private final class Batch {
+
+        private final String destination;
+        private final long windowMs;
+        private List<Object> pending = new ArrayList<>();
+        private boolean timerScheduled;
+        private boolean retired;
+
+        private Batch(String destination, long windowMs) {
+            this.destination = destination;
+            this.windowMs = windowMs;
+        }
+
+        /**
+         * @return 이미 정리된 배치라 추가하지 못했으면 false
+         */
+        private synchronized boolean add(Object payload) {
+            if (retired) {
+                return false;
+            }
+            pending.add(payload);
+            if (pending.size() >= maxEvents) {
+                flush();
+            }
+            if (!timerScheduled) {
+                timerScheduled = true;
+                flushScheduler.schedule(this::onTimer, windowMs, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+
+        /**
+         * window 만료: 모인 이벤트를 보내고 한 window 더 지켜보며, 그동안 아무것도 없었으면 정리
+         */
+        private synchronized void onTimer() {
+            if (pending.isEmpty()) {
+                retired = true;
+                timerScheduled = false;
+                batches.remove(destination, this);
+                return;
+            }
+            flush();
+            if (flushScheduler.isShutdown()) {
+                timerScheduled = false;
+                return;
+            }
+            flushScheduler.schedule(this::onTimer, windowMs, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * 전송까지 락을 유지해 연속된 배치의 순서를 보장
+         */
+        private synchronized void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Object> events = pending;
+            pending = new ArrayList<>(Math.min(events.size() * 2, maxEvents));
+
+            frameCount.incrementAndGet();
+            if (events.size() == 1) {
+                sendFrame(destination, events.get(0));
+            } else {
+                batchedFrameCount.incrementAndGet();
+                messagingTemplate.convertAndSend(destination, events,
+                        frameHeaders(events, destination.endsWith(TYPING_SUFFIX), true));
+            }
+        }
+    }
+}
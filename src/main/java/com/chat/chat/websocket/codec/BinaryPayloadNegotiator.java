@@ -0,0 +1,135 @@
+package com.chat.chat.websocket.codec;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션별 payload 포맷 협상
+ * CONNECT 프레임의 accept 헤더에 application/cbor 가 있으면 해당 세션으로 나가는 프레임을 CBOR payload로 교체합니다.
+ * CBOR payload는 발신 측({@link com.chat.chat.websocket.broadcast.RoomBroadcaster})이 DTO에서 한 번 직렬화해
+ * {@link #CBOR_PAYLOAD_HEADER} 메시지 헤더로 함께 보내며, 여기서는 세션에 맞는 payload를 고르기만 합니다.
+ * DTO에서 바로 쓰므로 UUID는 16바이트 바이너리로 인코딩됩니다. CBOR payload가 없는 프레임은 JSON 그대로 나갑니다.
+ * CBOR 프레임은 바이너리 WebSocket 프레임으로 나가야 하므로 content-type은 application/octet-stream,
+ * 실제 포맷은 payload-format 헤더로 알립니다. SockJS 세션은 바이너리 프레임을 지원하지 않아 협상에서 제외됩니다.
+ */
+@Slf4j
+@Component
+public class BinaryPayloadNegotiator implements ChannelInterceptor, MetricsSource {
+
+    public static final String ACCEPT_HEADER = "accept";
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    public static final String SOCKJS_ATTRIBUTE = "sockjs";
+
+    /**
+     * 미리 직렬화한 CBOR payload를 담는 메시지 헤더 (native 헤더가 아니므로 STOMP 프레임에는 쓰이지 않음)
+     */
+    public static final String CBOR_PAYLOAD_HEADER = "cborPayload";
+
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong encodedPayloads = new AtomicLong();
+    private final AtomicLong cborFrames = new AtomicLong();
+    private final AtomicLong jsonBytes = new AtomicLong();
+    private final AtomicLong cborBytes = new AtomicLong();
+
+    public CBORMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /**
+     * CBOR를 협상한 세션이 하나라도 있는지 (없으면 발신 측이 CBOR 직렬화를 생략)
+     */
+    public boolean hasCborSessions() {
+        return !cborSessions.isEmpty();
+    }
+
+    /**
+     * 발신 payload를 CBOR로 직렬화 (브로드캐스트 1건당 한 번)
+     */
+    public byte[] encode(Object payload) {
+        encodedPayloads.incrementAndGet();
+        return cborMapper.writeValueAsBytes(payload);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() == null) {
+            return message;
+        }
+
+        SimpMessageType messageType = accessor.getMessageType();
+        if (messageType == SimpMessageType.CONNECT) {
+            registerPreference(accessor);
+        } else if (messageType == SimpMessageType.DISCONNECT) {
+            cborSessions.remove(accessor.getSessionId());
+        } else if (messageType == SimpMessageType.MESSAGE && cborSessions.contains(accessor.getSessionId())) {
+            return toCborFrame(message);
+        }
+        return message;
+    }
+
+    private void registerPreference(SimpMessageHeaderAccessor accessor) {
+        String accept = accessor.getFirstNativeHeader(ACCEPT_HEADER);
+        if (accept == null || !accept.contains(CborMessageConverter.APPLICATION_CBOR.toString())) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null && Boolean.TRUE.equals(attributes.get(SOCKJS_ATTRIBUTE))) {
+            log.debug("CBOR requested over SockJS, keeping JSON: sessionId={}", accessor.getSessionId());
+            return;
+        }
+        cborSessions.add(accessor.getSessionId());
+    }
+
+    private Message<?> toCborFrame(Message<?> message) {
+        if (!(message.getHeaders().get(CBOR_PAYLOAD_HEADER) instanceof byte[] cbor)
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        cborFrames.incrementAndGet();
+        jsonBytes.addAndGet(json.length);
+        cborBytes.addAndGet(cbor.length);
+
+        // wrap은 native 헤더를 복사하므로 다른 구독자의 프레임에는 영향이 없음
+        SimpMessageHeaderAccessor copy = SimpMessageHeaderAccessor.wrap(message);
+        copy.removeHeader(CBOR_PAYLOAD_HEADER);
+        copy.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        copy.setNativeHeader(PAYLOAD_FORMAT_HEADER, CborMessageConverter.APPLICATION_CBOR.toString());
+        return MessageBuilder.createMessage(cbor, copy.getMessageHeaders());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "payloadFormat";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("cborSessions", cborSessions.size());
+        metrics.put("encodedPayloads", encodedPayloads.get());
+        metrics.put("cborFrames", cborFrames.get());
+        metrics.put("jsonBytes", jsonBytes.get());
+        metrics.put("cborBytes", cborBytes.get());
+        return metrics;
+    }
+}
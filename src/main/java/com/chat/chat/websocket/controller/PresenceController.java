@@ -0,0 +1,47 @@
+package com.chat.chat.websocket.controller;
+
+import com.chat.chat.websocket.dto.RoomPresenceResponse;
+import com.chat.chat.websocket.presence.PresenceRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 접속자 조회 API 컨트롤러
+ * DB 대신 인메모리 접속자 레지스트리에서 바로 응답합니다.
+ */
+@RestController
+@RequestMapping("/api/presence")
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceRegistry presenceRegistry;
+
+    /**
+     * 채팅방 접속자 조회
+     */
+    @GetMapping("/chatroom/{chatRoomId}")
+    public ResponseEntity<RoomPresenceResponse> getRoomPresence(@PathVariable UUID chatRoomId) {
+        Set<UUID> onlineUsers = Set.copyOf(presenceRegistry.getOnlineUsers(chatRoomId));
+        return ResponseEntity.ok(RoomPresenceResponse.builder()
+                .chatRoomId(chatRoomId)
+                .onlineUserIds(onlineUsers)
+                .onlineCount(onlineUsers.size())
+                .build());
+    }
+
+    /**
+     * 사용자 접속 여부 조회
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<Map<String, Object>> getUserPresence(@PathVariable UUID userId) {
+        return ResponseEntity.ok(Map.of("userId", userId, "online", presenceRegistry.isOnline(userId)));
+    }
+}
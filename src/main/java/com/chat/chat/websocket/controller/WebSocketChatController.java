@@ -1,26 +1,32 @@
 package com.chat.chat.websocket.controller;
 
-import com.chat.chat.common.ai.ClaudeChatService;
-import com.chat.chat.domain.chatroom.entity.ChatRoom;
-import com.chat.chat.domain.chatroom.service.ChatRoomService;
-import com.chat.chat.domain.message.dto.MessageResponse;
-import com.chat.chat.domain.message.dto.MessageSendRequest;
+import com.chat.chat.common.concurrency.DbConcurrencyGuard;
+import com.chat.chat.common.exception.BusinessException;
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.domain.message.dto.MessageReceipt;
 import com.chat.chat.domain.message.entity.MessageType;
 import com.chat.chat.domain.message.service.MessageService;
-import com.chat.chat.domain.user.entity.User;
-import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.domain.message.service.MessageWriteBehindQueue;
+import com.chat.chat.websocket.broadcast.RoomBroadcaster;
 import com.chat.chat.websocket.dto.ChatMessageDto;
+import com.chat.chat.websocket.dispatch.DispatchRejectionNotifier;
+import com.chat.chat.websocket.dispatch.RoomMessageDispatcher;
 import com.chat.chat.websocket.dto.TypingNotificationDto;
+import com.chat.chat.websocket.service.BotReplyService;
+import com.chat.chat.websocket.session.SessionIdentity;
+import com.chat.chat.websocket.typing.TypingCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 /**
  * WebSocket 채팅 컨트롤러
@@ -31,11 +37,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class WebSocketChatController {
 
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final RoomBroadcaster roomBroadcaster;
     private final MessageService messageService;
-    private final ChatRoomService chatRoomService;
-    private final UserService userService;
-    private final ClaudeChatService claudeChatService;
+    private final BotReplyService botReplyService;
+    private final RoomMessageDispatcher roomMessageDispatcher;
+    private final DispatchRejectionNotifier dispatchRejectionNotifier;
+    private final TypingCoalescer typingCoalescer;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
+    private final DbConcurrencyGuard dbConcurrencyGuard;
 
     /**
      * 채팅 메시지 전송
@@ -45,132 +54,173 @@ public class WebSocketChatController {
     @MessageMapping("/chat/{chatRoomId}")
     public void sendMessage(
             @DestinationVariable UUID chatRoomId,
-            @Payload ChatMessageDto message) {
+            @Payload ChatMessageDto message,
+            SimpMessageHeaderAccessor headerAccessor) {
+
+        // 발신자는 항상 세션에 바인딩된 사용자 (payload의 senderId는 무시, 참여 여부는 인터셉터에서 확인됨)
+        SessionIdentity identity = SessionIdentity.from(headerAccessor.getSessionAttributes());
+        if (identity == null) {
+            log.warn("Chat frame without session identity dropped: chatRoom={}, sessionId={}",
+                    chatRoomId, headerAccessor.getSessionId());
+            return;
+        }
 
         ChatMessageDto.ChatMessageType chatMessageType = message.getChatMessageType() != null
                 ? message.getChatMessageType()
                 : ChatMessageDto.ChatMessageType.CHAT; // 기본값 방어
 
         log.info("WebSocket message received: chatRoom={}, sender={}, type={}",
-                chatRoomId, message.getSenderId(), chatMessageType);
+                chatRoomId, identity.getUserId(), chatMessageType);
 
+        // 같은 방의 메시지는 한 레인에서 직렬로 처리되어 저장/브로드캐스트 순서가 유지됨
+        // 레인이 포화되어 버려지면 보낸 세션에 알려 다시 보낼 수 있게 함
+        if (!roomMessageDispatcher.dispatch(chatRoomId,
+                () -> processMessage(chatRoomId, message, chatMessageType, identity, headerAccessor))) {
+            dispatchRejectionNotifier.notifyDropped(headerAccessor);
+        }
+    }
+
+    /**
+     * 채팅방 레인에서 메시지 처리
+     * DB 동시 진입 한도를 넘어 처리하지 못한 프레임은 보낸 세션에 알립니다.
+     */
+    private void processMessage(UUID chatRoomId, ChatMessageDto message,
+                                ChatMessageDto.ChatMessageType chatMessageType, SessionIdentity identity,
+                                SimpMessageHeaderAccessor headerAccessor) {
         try {
             switch (chatMessageType) {
-                case CHAT -> handleChatMessage(chatRoomId, message);
-                case JOIN -> handleJoinMessage(chatRoomId, message);
-                case LEAVE -> handleLeaveMessage(chatRoomId, message);
-                case READ -> handleReadMessage(chatRoomId, message);
+                case CHAT -> handleParticipantChatMessage(chatRoomId, message, identity);
+                case JOIN -> handleJoinMessage(chatRoomId, identity);
+                case LEAVE -> handleLeaveMessage(chatRoomId, identity);
+                case READ -> handleReadMessage(chatRoomId, identity);
                 default -> log.warn("Unknown message type: {}", chatMessageType);
             }
+        } catch (BusinessException e) {
+            if (e.getErrorCode() != ErrorCode.SERVER_BUSY) {
+                log.error("Error processing WebSocket message: {}", e.getMessage(), e);
+                return;
+            }
+            log.warn("DB guard saturated, chat frame dropped: chatRoom={}, sender={}", chatRoomId, identity.getUserId());
+            dispatchRejectionNotifier.notifyDropped(headerAccessor, DispatchRejectionNotifier.SERVER_BUSY_MESSAGE);
         } catch (Exception e) {
             log.error("Error processing WebSocket message: {}", e.getMessage(), e);
         }
     }
 
     /**
-     * 일반 채팅 메시지 처리
+     * 세션에 바인딩된 참여자의 채팅 메시지 처리
+     * 채팅방/발신자 조회와 참여자 검증 없이 저장 후 브로드캐스트
+     * write-behind 모드에서는 ack 설정에 따라 큐 적재 즉시 또는 배치 커밋 후 브로드캐스트합니다.
      */
-    private void handleChatMessage(UUID chatRoomId, ChatMessageDto message) {
+    private void handleParticipantChatMessage(UUID chatRoomId, ChatMessageDto message, SessionIdentity identity) {
         MessageType messageType = message.getMessageType() != null
                 ? message.getMessageType()
-                : MessageType.TEXT; // WebSocket 클라이언트가 비워도 TEXT로 저장
-
-        MessageSendRequest request = MessageSendRequest.builder()
-                .chatRoomId(chatRoomId)
-                .senderId(message.getSenderId())
-                .content(message.getContent())
-                .messageType(messageType)
-                .build();
+                : MessageType.TEXT;
+
+        CompletableFuture<MessageReceipt> persisted = messageWriteBehindQueue.isEnabled()
+                ? messageWriteBehindQueue.submit(chatRoomId, identity.getUserId(), message.getContent(), messageType)
+                : null;
+        if (persisted == null) {
+            // 동기 저장 (기본 모드 또는 write-behind 큐 포화)
+            // 가상 스레드 모드에서는 REST와 같은 DB 동시 진입 한도 적용
+            broadcastReceipt(dbConcurrencyGuard.call(() -> messageService.sendMessageAsParticipant(
+                    chatRoomId, identity.getUserId(), message.getContent(), messageType)), identity);
+            return;
+        }
 
-        MessageResponse savedMessage = messageService.sendMessage(request);
-        User sender = userService.findUserById(message.getSenderId());
+        BiConsumer<MessageReceipt, Throwable> broadcast = (receipt, error) -> {
+            if (error != null) {
+                log.error("Message not persisted, broadcast skipped: chatRoom={}, sender={}, error={}",
+                        chatRoomId, identity.getUserId(), error.getMessage());
+                return;
+            }
+            broadcastReceipt(receipt, identity);
+        };
+        if (persisted.isDone()) {
+            // ack=immediate: 이미 이 방의 레인에서 실행 중
+            persisted.whenComplete(broadcast);
+        } else {
+            // ack=after-flush: writer 스레드가 다음 배치를 막지 않도록 같은 방의 레인에서 브로드캐스트 (순서 유지)
+            // 이미 커밋된 메시지이므로 레인이 포화여도 거절되지 않는 경로로 등록
+            persisted.whenCompleteAsync(broadcast, task -> roomMessageDispatcher.dispatchCommitted(chatRoomId, task));
+        }
+    }
 
+    private void broadcastReceipt(MessageReceipt receipt, SessionIdentity identity) {
         ChatMessageDto responseMessage = ChatMessageDto.builder()
-                .messageId(savedMessage.getId())
-                .chatRoomId(chatRoomId)
-                .senderId(savedMessage.getSender().getId())
-                .senderNickname(sender.getNickname())
-                .messageType(savedMessage.getMessageType())
-                .content(savedMessage.getContent())
-                .timestamp(savedMessage.getCreatedAt())
+                .messageId(receipt.getId())
+                .chatRoomId(receipt.getChatRoomId())
+                .senderId(identity.getUserId())
+                .senderNickname(identity.getNickname())
+                .messageType(receipt.getMessageType())
+                .content(receipt.getContent())
+                .timestamp(receipt.getCreatedAt())
                 .chatMessageType(ChatMessageDto.ChatMessageType.CHAT)
                 .build();
 
-        messagingTemplate.convertAndSend(
-                "/topic/chatroom/" + chatRoomId,
-                responseMessage
-        );
+        roomBroadcaster.toRoom(receipt.getChatRoomId(), responseMessage);
 
-        log.info("Chat message sent to /topic/chatroom/{}", chatRoomId);
+        log.info("Chat message sent to /topic/chatroom/{}", receipt.getChatRoomId());
 
-        triggerBotResponse(chatRoomId, message, sender);
+        botReplyService.requestReplyAsync(receipt.getChatRoomId(), identity.isBot(), receipt.getContent());
     }
 
     /**
      * 입장 메시지 처리
      */
-    private void handleJoinMessage(UUID chatRoomId, ChatMessageDto message) {
-        User user = userService.findUserById(message.getSenderId());
+    private void handleJoinMessage(UUID chatRoomId, SessionIdentity identity) {
+        String nickname = identity.getNickname();
 
         ChatMessageDto joinMessage = ChatMessageDto.builder()
                 .chatRoomId(chatRoomId)
-                .senderId(message.getSenderId())
-                .senderNickname(user.getNickname())
-                .content(user.getNickname() + "님이 입장했습니다.")
+                .senderId(identity.getUserId())
+                .senderNickname(nickname)
+                .content(nickname + "님이 입장했습니다.")
                 .timestamp(LocalDateTime.now())
                 .chatMessageType(ChatMessageDto.ChatMessageType.JOIN)
                 .build();
 
-        messagingTemplate.convertAndSend(
-                "/topic/chatroom/" + chatRoomId,
-                joinMessage
-        );
+        roomBroadcaster.toRoom(chatRoomId, joinMessage);
 
-        log.info("Join message sent: user={}, chatRoom={}", user.getNickname(), chatRoomId);
+        log.info("Join message sent: user={}, chatRoom={}", nickname, chatRoomId);
     }
 
     /**
      * 퇴장 메시지 처리
      */
-    private void handleLeaveMessage(UUID chatRoomId, ChatMessageDto message) {
-        User user = userService.findUserById(message.getSenderId());
+    private void handleLeaveMessage(UUID chatRoomId, SessionIdentity identity) {
+        String nickname = identity.getNickname();
 
         ChatMessageDto leaveMessage = ChatMessageDto.builder()
                 .chatRoomId(chatRoomId)
-                .senderId(message.getSenderId())
-                .senderNickname(user.getNickname())
-                .content(user.getNickname() + "님이 퇴장했습니다.")
+                .senderId(identity.getUserId())
+                .senderNickname(nickname)
+                .content(nickname + "님이 퇴장했습니다.")
                 .timestamp(LocalDateTime.now())
                 .chatMessageType(ChatMessageDto.ChatMessageType.LEAVE)
                 .build();
 
-        messagingTemplate.convertAndSend(
-                "/topic/chatroom/" + chatRoomId,
-                leaveMessage
-        );
+        roomBroadcaster.toRoom(chatRoomId, leaveMessage);
 
-        log.info("Leave message sent: user={}, chatRoom={}", user.getNickname(), chatRoomId);
+        log.info("Leave message sent: user={}, chatRoom={}", nickname, chatRoomId);
     }
 
     /**
      * 읽음 확인 처리
      */
-    private void handleReadMessage(UUID chatRoomId, ChatMessageDto message) {
-        messageService.markAllAsRead(chatRoomId, message.getSenderId());
+    private void handleReadMessage(UUID chatRoomId, SessionIdentity identity) {
+        dbConcurrencyGuard.call(() -> messageService.markAllAsRead(chatRoomId, identity.getUserId()));
 
         ChatMessageDto readMessage = ChatMessageDto.builder()
                 .chatRoomId(chatRoomId)
-                .senderId(message.getSenderId())
+                .senderId(identity.getUserId())
                 .timestamp(LocalDateTime.now())
                 .chatMessageType(ChatMessageDto.ChatMessageType.READ)
                 .build();
 
-        messagingTemplate.convertAndSend(
-                "/topic/chatroom/" + chatRoomId,
-                readMessage
-        );
+        roomBroadcaster.toRoom(chatRoomId, readMessage);
 
-        log.info("Read confirmation sent: user={}, chatRoom={}", message.getSenderId(), chatRoomId);
+        log.info("Read confirmation sent: user={}, chatRoom={}", identity.getUserId(), chatRoomId);
     }
 
     /**
@@ -180,108 +230,24 @@ public class WebSocketChatController {
     @MessageMapping("/typing/{chatRoomId}")
     public void sendTypingNotification(
             @DestinationVariable UUID chatRoomId,
-            @Payload TypingNotificationDto notification) {
-
-        log.info("Typing notification: chatRoom={}, user={}, isTyping={}",
-                chatRoomId, notification.getUserId(), notification.getIsTyping());
-
-        messagingTemplate.convertAndSend(
-                "/topic/chatroom/" + chatRoomId + "/typing",
-                notification
-        );
-    }
-
-    /**
-     * 사용자 메시지에 대한 챗봇 응답 트리거
-     */
-    private void triggerBotResponse(UUID chatRoomId, ChatMessageDto userMessage, User sender) {
-        if (isBotUser(sender)) {
-            return;
-        }
-
-        ChatRoom chatRoom = chatRoomService.findChatRoomById(chatRoomId);
-        User botUser = resolveBotUser(chatRoom);
-        if (botUser == null) {
-            log.warn("[BOT] 챗봇 사용자를 찾을 수 없습니다: chatRoomId={}", chatRoomId);
-            return;
-        }
-
-        ClaudeChatService.ReplyResult reply = claudeChatService.requestReply(chatRoomId, userMessage.getContent());
-
-        if (reply.isHasReply()) {
-            sendBotMessage(chatRoomId, botUser, reply.getReplyText(), MessageType.TEXT);
-        }
-
-        if (reply.isLimitReached() && reply.isLimitJustReached()) {
-            sendBotMessage(
-                    chatRoomId,
-                    botUser,
-                    "이 채팅방의 챗봇 토큰 한도(" + claudeChatService.getTokenLimitPerRoom() + "토큰)를 모두 사용했습니다. 새 채팅방을 생성해 주세요.",
-                    MessageType.SYSTEM
-            );
-        }
-    }
+            @Payload TypingNotificationDto notification,
+            SimpMessageHeaderAccessor headerAccessor) {
 
-    /**
-     * 챗봇 메시지 전송 및 브로드캐스트
-     */
-    private void sendBotMessage(UUID chatRoomId, User botUser, String content, MessageType messageType) {
-        if (content == null || content.isBlank()) {
+        SessionIdentity identity = SessionIdentity.from(headerAccessor.getSessionAttributes());
+        if (identity == null) {
             return;
         }
-
-        MessageSendRequest request = MessageSendRequest.builder()
+        notification = TypingNotificationDto.builder()
                 .chatRoomId(chatRoomId)
-                .senderId(botUser.getId())
-                .content(content)
-                .messageType(messageType)
+                .userId(identity.getUserId())
+                .nickname(identity.getNickname())
+                .isTyping(notification.getIsTyping())
                 .build();
 
-        MessageResponse savedMessage = messageService.sendMessage(request);
-
-        ChatMessageDto responseMessage = ChatMessageDto.builder()
-                .messageId(savedMessage.getId())
-                .chatRoomId(chatRoomId)
-                .senderId(savedMessage.getSender().getId())
-                .senderNickname(botUser.getNickname())
-                .messageType(savedMessage.getMessageType())
-                .content(savedMessage.getContent())
-                .timestamp(savedMessage.getCreatedAt())
-                .chatMessageType(ChatMessageDto.ChatMessageType.CHAT)
-                .build();
-
-        messagingTemplate.convertAndSend(
-                "/topic/chatroom/" + chatRoomId,
-                responseMessage
-        );
-
-        log.info("[BOT] Reply sent to chatRoom {} (type={}): {}", chatRoomId, messageType, content);
-    }
-
-    private User resolveBotUser(ChatRoom chatRoom) {
-        if (chatRoom == null) {
-            return null;
-        }
-        // Lazy proxy를 안전하게 처리하기 위해 ID만 꺼내고 실제 엔티티를 조회
-        UUID user1Id = chatRoom.getUser1() != null ? chatRoom.getUser1().getId() : null;
-        UUID user2Id = chatRoom.getUser2() != null ? chatRoom.getUser2().getId() : null;
-
-        if (user1Id != null) {
-            User user1 = userService.findUserById(user1Id);
-            if (isBotUser(user1)) {
-                return user1;
-            }
-        }
-        if (user2Id != null) {
-            User user2 = userService.findUserById(user2Id);
-            if (isBotUser(user2)) {
-                return user2;
-            }
-        }
-        return null;
-    }
+        log.debug("Typing notification: chatRoom={}, user={}, isTyping={}",
+                chatRoomId, notification.getUserId(), notification.getIsTyping());
 
-    private boolean isBotUser(User user) {
-        return user != null && user.getEmail() != null && user.getEmail().startsWith("bot-");
+        // 상태 전이와 주기적 refresh만 /topic/chatroom/{id}/typing 으로 전달
+        typingCoalescer.onNotification(chatRoomId, notification);
     }
 }
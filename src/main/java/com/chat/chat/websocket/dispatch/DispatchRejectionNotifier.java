@@ -0,0 +1,86 @@
+package com.chat.chat.websocket.dispatch;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.websocket.ratelimit.RateLimitInterceptor;
+import com.chat.chat.websocket.ratelimit.RateLimitNotice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 처리되지 못하고 버려진 채팅 프레임 알림 (레인 포화, DB 동시 진입 한도 초과)
+ * 전송 한도 초과와 같은 방식으로 보낸 세션의 /user/queue/errors에 receipt-id가 담긴 알림을 보내,
+ * 클라이언트가 프레임이 처리되지 않았음을 알고 다시 보낼 수 있게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DispatchRejectionNotifier implements MetricsSource {
+
+    public static final String ROOM_BUSY_MESSAGE = "room-busy";
+    public static final String SERVER_BUSY_MESSAGE = "server-busy";
+
+    private static final String RECEIPT_HEADER = "receipt";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong failedNotices = new AtomicLong();
+
+    /**
+     * 레인 포화로 버려진 프레임 알림
+     */
+    public void notifyDropped(SimpMessageHeaderAccessor dropped) {
+        notifyDropped(dropped, ROOM_BUSY_MESSAGE);
+    }
+
+    /**
+     * 버려진 프레임을 집계하고 보낸 세션에만 알림 전송
+     */
+    public void notifyDropped(SimpMessageHeaderAccessor dropped, String error) {
+        droppedFrames.incrementAndGet();
+        String sessionId = dropped.getSessionId();
+        String receiptId = dropped.getFirstNativeHeader(RECEIPT_HEADER);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setNativeHeader("message", error);
+        if (receiptId != null) {
+            headers.setNativeHeader(RateLimitInterceptor.RECEIPT_ID_HEADER, receiptId);
+        }
+        headers.setLeaveMutable(true);
+
+        RateLimitNotice notice = RateLimitNotice.builder()
+                .error(error)
+                .destination(dropped.getDestination())
+                .receiptId(receiptId)
+                .build();
+        try {
+            messagingTemplate.convertAndSendToUser(sessionId, RateLimitInterceptor.ERRORS_DESTINATION, notice,
+                    headers.getMessageHeaders());
+        } catch (Exception e) {
+            failedNotices.incrementAndGet();
+            log.warn("Failed to send dropped frame notice: sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "droppedChatFrames";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("dropped", droppedFrames.get());
+        metrics.put("failedNotices", failedNotices.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,209 @@
+package com.chat.chat.websocket.dispatch;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 단위 순서 보장 디스패처
+ * chatRoomId 해시로 레인을 고정해 같은 방의 메시지는 직렬로, 다른 방의 메시지는 레인 수만큼 병렬로 처리합니다.
+ * 레인 용량(queue-capacity)과 포화 정책은 새로 들어온 프레임에만 적용되고, 이미 저장된 메시지의 브로드캐스트는
+ * {@link #dispatchCommitted}로 용량과 무관하게 같은 레인 뒤에 붙습니다.
+ */
+@Slf4j
+@Component
+public class RoomMessageDispatcher implements MetricsSource {
+
+    @Value("${chat.dispatcher.lanes:8}")
+    private Integer laneCount;
+
+    @Value("${chat.dispatcher.queue-capacity:1000}")
+    private Integer queueCapacity;
+
+    @Value("${chat.dispatcher.saturation-policy:BLOCK}")
+    private SaturationPolicy saturationPolicy;
+
+    @Value("${chat.dispatcher.block-timeout-ms:200}")
+    private Long blockTimeoutMs;
+
+    private Lane[] lanes;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+            lanes[i].worker.start();
+        }
+        log.info("Room dispatcher started: lanes={}, queueCapacity={}, policy={}",
+                laneCount, queueCapacity, saturationPolicy);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * 채팅방 레인에 작업 등록
+     *
+     * @return 등록 성공 여부 (포화 정책에 따라 거절되면 false)
+     */
+    public boolean dispatch(UUID chatRoomId, Runnable task) {
+        Lane lane = laneFor(chatRoomId);
+        boolean accepted;
+        try {
+            accepted = saturationPolicy == SaturationPolicy.BLOCK
+                    ? lane.permits.tryAcquire(blockTimeoutMs, TimeUnit.MILLISECONDS)
+                    : lane.permits.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (!accepted) {
+            lane.rejected.incrementAndGet();
+            log.warn("Room dispatcher lane {} saturated, message dropped: chatRoom={}, depth={}",
+                    lane.index, chatRoomId, lane.queue.size());
+            return false;
+        }
+
+        lane.queue.add(new LaneTask(task, true));
+        lane.recordDepth();
+        return true;
+    }
+
+    /**
+     * 이미 저장된 메시지의 후속 작업(브로드캐스트) 등록
+     * 거절하면 DB에는 있지만 다른 참여자에게 전달되지 않는 메시지가 생기므로 포화 정책을 적용하지 않고,
+     * 호출 스레드(write-behind writer)를 기다리게 하지도 않습니다. 레인 용량을 넘긴 만큼은 overflow로 집계합니다.
+     */
+    public void dispatchCommitted(UUID chatRoomId, Runnable task) {
+        Lane lane = laneFor(chatRoomId);
+        lane.queue.add(new LaneTask(task, false));
+        if (lane.queue.size() > queueCapacity) {
+            lane.overflowed.incrementAndGet();
+        }
+        lane.recordDepth();
+    }
+
+    private Lane laneFor(UUID chatRoomId) {
+        return lanes[Math.floorMod(chatRoomId.hashCode(), lanes.length)];
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "roomDispatcher";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        List<Map<String, Object>> laneMetrics = new ArrayList<>(lanes.length);
+        long totalDepth = 0;
+        long totalRejected = 0;
+        long totalOverflowed = 0;
+        for (Lane lane : lanes) {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("lane", lane.index);
+            metrics.put("queueDepth", lane.queue.size());
+            metrics.put("maxQueueDepth", lane.maxDepth.get());
+            metrics.put("processed", lane.processed.get());
+            metrics.put("failed", lane.failed.get());
+            metrics.put("rejected", lane.rejected.get());
+            metrics.put("overflowed", lane.overflowed.get());
+            laneMetrics.add(metrics);
+            totalDepth += lane.queue.size();
+            totalRejected += lane.rejected.get();
+            totalOverflowed += lane.overflowed.get();
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("lanes", lanes.length);
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("saturationPolicy", saturationPolicy);
+        metrics.put("totalQueueDepth", totalDepth);
+        metrics.put("totalRejected", totalRejected);
+        metrics.put("totalOverflowed", totalOverflowed);
+        metrics.put("perLane", laneMetrics);
+        return metrics;
+    }
+
+    /**
+     * 단일 워커 스레드와 FIFO 큐로 구성된 처리 레인
+     * 일반 작업은 용량만큼의 permit을 잡고 들어와 워커가 꺼낼 때 반납합니다.
+     */
+    private final class Lane implements Runnable {
+
+        private final int index;
+        private final BlockingQueue<LaneTask> queue = new LinkedBlockingQueue<>();
+        private final Semaphore permits;
+        private final Thread worker;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong overflowed = new AtomicLong();
+        private final AtomicLong maxDepth = new AtomicLong();
+
+        private Lane(int index, int capacity) {
+            this.index = index;
+            this.permits = new Semaphore(capacity);
+            this.worker = new Thread(this, "room-lane-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                LaneTask task;
+                try {
+                    task = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (task == null) {
+                    continue;
+                }
+                if (task.permitted()) {
+                    permits.release();
+                }
+                try {
+                    task.runnable().run();
+                    processed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.error("Room dispatcher lane {} task failed: {}", index, e.getMessage(), e);
+                }
+            }
+        }
+
+        private void recordDepth() {
+            maxDepth.accumulateAndGet(queue.size(), Math::max);
+        }
+    }
+
+    /**
+     * 레인 작업 (permitted: 용량 permit을 잡고 들어온 일반 작업)
+     */
+    private record LaneTask(Runnable runnable, boolean permitted) {
+    }
+}
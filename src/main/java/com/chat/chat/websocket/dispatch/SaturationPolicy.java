@@ -0,0 +1,16 @@
+package com.chat.chat.websocket.dispatch;
+
+/**
+ * 레인 큐가 가득 찼을 때의 처리 정책
+ */
+public enum SaturationPolicy {
+    /**
+     * 즉시 거절 (메시지 폐기)
+     */
+    REJECT,
+
+    /**
+     * 호출 스레드를 제한 시간 동안 대기시킨 뒤, 그래도 자리가 없으면 거절
+     */
+    BLOCK
+}
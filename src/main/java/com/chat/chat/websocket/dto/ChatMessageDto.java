@@ -14,7 +14,7 @@ import java.util.UUID;
  * WebSocket 채팅 메시지 DTO
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatMessageDto {
@@ -60,6 +60,24 @@ public class ChatMessageDto {
      */
     private ChatMessageType chatMessageType;
 
+    /**
+     * 스트리밍 응답 ID
+     * STREAM_DELTA 조각과 최종 CHAT 메시지를 연결합니다.
+     */
+    private UUID streamId;
+
+    /**
+     * 채팅방 내 순번 (노드별 replay 버퍼 기준, CHAT 메시지에만 부여)
+     * 재연결 시 SUBSCRIBE의 last-sequence 헤더로 전달하면 빠진 메시지를 다시 받습니다.
+     */
+    private Long sequence;
+
+    /**
+     * sequence를 부여한 버퍼의 세대 식별자
+     * 버퍼가 제거되거나 노드가 재시작되면 바뀌며, last-sequence는 같은 last-sequence-epoch와 함께 보낼 때만 사용됩니다.
+     */
+    private String sequenceEpoch;
+
     /**
      * 채팅 메시지 이벤트 타입
      */
@@ -87,6 +105,16 @@ public class ChatMessageDto {
         /**
          * 타이핑 중
          */
-        TYPING
+        TYPING,
+
+        /**
+         * 스트리밍 응답 조각 (content에 새로 도착한 텍스트만 포함)
+         */
+        STREAM_DELTA,
+
+        /**
+         * 스트리밍 응답 중단 (같은 streamId의 조각을 버림, 최종 메시지는 오지 않음)
+         */
+        STREAM_ABORT
     }
 }
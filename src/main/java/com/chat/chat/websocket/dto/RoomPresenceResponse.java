@@ -0,0 +1,34 @@
+package com.chat.chat.websocket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 채팅방 접속자 응답 DTO
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomPresenceResponse {
+
+    /**
+     * 채팅방 ID
+     */
+    private UUID chatRoomId;
+
+    /**
+     * 현재 채팅방을 구독 중인 사용자 ID 목록
+     */
+    private Set<UUID> onlineUserIds;
+
+    /**
+     * 접속자 수
+     */
+    private int onlineCount;
+}
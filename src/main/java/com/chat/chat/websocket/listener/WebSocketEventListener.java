@@ -1,24 +1,34 @@
 package com.chat.chat.websocket.listener;
 
+import com.chat.chat.websocket.presence.PresenceRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.UUID;
 
 /**
  * WebSocket 이벤트 리스너
- * 연결/해제 이벤트 처리
+ * 연결/구독/해제 이벤트를 접속자 레지스트리에 반영
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WebSocketEventListener {
 
-    private final SimpMessageSendingOperations messagingTemplate;
+    /**
+     * CONNECT 프레임에서 사용자 ID를 전달하는 헤더 (세션 속성 키로도 사용)
+     * 사용자 바인딩과 접속자 등록은 {@link com.chat.chat.websocket.session.StompSessionInterceptor}가 담당
+     */
+    public static final String USER_ID_HEADER = "userId";
+
+    private final PresenceRegistry presenceRegistry;
 
     /**
      * WebSocket 연결 이벤트
@@ -32,24 +42,40 @@ public class WebSocketEventListener {
     }
 
     /**
-     * WebSocket 연결 해제 이벤트
+     * 구독 이벤트
      */
     @EventListener
-    public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
+    public void handleSubscribeListener(SessionSubscribeEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
-        String sessionId = headerAccessor.getSessionId();
+        presenceRegistry.subscribe(
+                headerAccessor.getSessionId(),
+                headerAccessor.getSubscriptionId(),
+                headerAccessor.getDestination()
+        );
+    }
 
-        // 세션 속성에서 사용자 정보 가져오기
-        String userId = (String) headerAccessor.getSessionAttributes().get("userId");
-        String chatRoomId = (String) headerAccessor.getSessionAttributes().get("chatRoomId");
+    /**
+     * 구독 해제 이벤트
+     */
+    @EventListener
+    public void handleUnsubscribeListener(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
+        presenceRegistry.unsubscribe(headerAccessor.getSessionId(), headerAccessor.getSubscriptionId());
+    }
+
+    /**
+     * WebSocket 연결 해제 이벤트
+     */
+    @EventListener
+    public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
 
-        if (userId != null && chatRoomId != null) {
-            log.info("🔌 WebSocket disconnected: sessionId={}, userId={}, chatRoomId={}",
-                    sessionId, userId, chatRoomId);
+        UUID userId = presenceRegistry.getUserId(sessionId);
+        presenceRegistry.disconnect(sessionId);
 
-            // 필요시 퇴장 메시지 전송 가능
-            // ChatMessageDto leaveMessage = ...
-            // messagingTemplate.convertAndSend("/topic/chatroom/" + chatRoomId, leaveMessage);
+        if (userId != null) {
+            log.info("🔌 WebSocket disconnected: sessionId={}, userId={}, closeStatus={}",
+                    sessionId, userId, event.getCloseStatus());
         } else {
             log.info("🔌 WebSocket disconnected: sessionId={}", sessionId);
         }
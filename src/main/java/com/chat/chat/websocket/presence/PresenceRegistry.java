@@ -0,0 +1,228 @@
+package com.chat.chat.websocket.presence;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.domain.user.entity.UserStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인메모리 접속자 레지스트리
+ * 세션 → (사용자, 구독 채팅방), 사용자 → 세션, 채팅방 → 접속 사용자를 ConcurrentHashMap으로 관리합니다.
+ * 전역 락 없이 키 단위 원자 연산만 사용하며, "채팅방 X의 접속자"는 O(1)로 조회됩니다.
+ * 사용자 상태 변경은 즉시 DB에 쓰지 않고 {@link #drainPendingStatuses()}로 모아서 반영합니다.
+ */
+@Slf4j
+@Component
+public class PresenceRegistry implements MetricsSource {
+
+    private static final String CHATROOM_PREFIX = "/topic/chatroom/";
+
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> userSessions = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<UUID, AtomicInteger>> roomUsers = new ConcurrentHashMap<>();
+
+    /**
+     * DB 반영 대기 중인 사용자 상태 (사용자별 최신 값만 유지)
+     */
+    private final Map<UUID, PendingStatus> pendingStatuses = new ConcurrentHashMap<>();
+
+    private final AtomicLong connectCount = new AtomicLong();
+    private final AtomicLong disconnectCount = new AtomicLong();
+
+    /**
+     * 세션 연결 등록
+     */
+    public void connect(String sessionId, UUID userId) {
+        if (sessions.putIfAbsent(sessionId, new SessionPresence(userId)) != null) {
+            return;
+        }
+        connectCount.incrementAndGet();
+
+        boolean[] firstSession = new boolean[1];
+        userSessions.compute(userId, (key, current) -> {
+            Set<String> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(sessionId);
+            firstSession[0] = current == null;
+            return set;
+        });
+
+        if (firstSession[0]) {
+            pendingStatuses.put(userId, new PendingStatus(UserStatus.ONLINE, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * 채팅방 구독 등록
+     * /topic/chatroom/{id} 구독만 접속자로 집계합니다. (typing 등 하위 destination 제외)
+     */
+    public void subscribe(String sessionId, String subscriptionId, String destination) {
+        SessionPresence session = sessions.get(sessionId);
+        UUID chatRoomId = parseChatRoomId(destination);
+        if (session == null || subscriptionId == null || chatRoomId == null) {
+            return;
+        }
+        if (session.subscriptions.putIfAbsent(subscriptionId, chatRoomId) == null) {
+            joinRoom(chatRoomId, session.userId);
+        }
+    }
+
+    /**
+     * 채팅방 구독 해제
+     */
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null || subscriptionId == null) {
+            return;
+        }
+        UUID chatRoomId = session.subscriptions.remove(subscriptionId);
+        if (chatRoomId != null) {
+            leaveRoom(chatRoomId, session.userId);
+        }
+    }
+
+    /**
+     * 세션 연결 해제
+     * 사용자의 마지막 세션이면 OFFLINE 상태를 반영 대기열에 넣습니다.
+     */
+    public void disconnect(String sessionId) {
+        SessionPresence session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        disconnectCount.incrementAndGet();
+
+        session.subscriptions.values().forEach(chatRoomId -> leaveRoom(chatRoomId, session.userId));
+        session.subscriptions.clear();
+
+        boolean[] lastSession = new boolean[1];
+        userSessions.computeIfPresent(session.userId, (key, set) -> {
+            set.remove(sessionId);
+            lastSession[0] = set.isEmpty();
+            return lastSession[0] ? null : set;
+        });
+
+        if (lastSession[0]) {
+            pendingStatuses.put(session.userId, new PendingStatus(UserStatus.OFFLINE, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * 채팅방에 접속 중인 사용자 ID 목록
+     */
+    public Set<UUID> getOnlineUsers(UUID chatRoomId) {
+        Map<UUID, AtomicInteger> users = roomUsers.get(chatRoomId);
+        return users != null ? Collections.unmodifiableSet(users.keySet()) : Set.of();
+    }
+
+    /**
+     * 사용자 접속 여부
+     */
+    public boolean isOnline(UUID userId) {
+        return userSessions.containsKey(userId);
+    }
+
+    /**
+     * 세션에 바인딩된 사용자 ID
+     */
+    public UUID getUserId(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        return session != null ? session.userId : null;
+    }
+
+    /**
+     * 반영 대기 중인 상태 변경을 모두 꺼내 반환
+     */
+    public Map<UUID, PendingStatus> drainPendingStatuses() {
+        Map<UUID, PendingStatus> drained = new LinkedHashMap<>();
+        for (UUID userId : pendingStatuses.keySet()) {
+            PendingStatus status = pendingStatuses.remove(userId);
+            if (status != null) {
+                drained.put(userId, status);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * 반영에 실패한 상태를 다시 대기열에 넣음 (그 사이 들어온 최신 값은 유지)
+     */
+    public void requeue(Map<UUID, PendingStatus> statuses) {
+        statuses.forEach(pendingStatuses::putIfAbsent);
+    }
+
+    private void joinRoom(UUID chatRoomId, UUID userId) {
+        roomUsers.computeIfAbsent(chatRoomId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(userId, key -> new AtomicInteger())
+                .incrementAndGet();
+    }
+
+    private void leaveRoom(UUID chatRoomId, UUID userId) {
+        roomUsers.computeIfPresent(chatRoomId, (roomKey, users) -> {
+            users.computeIfPresent(userId, (userKey, count) -> count.decrementAndGet() <= 0 ? null : count);
+            return users.isEmpty() ? null : users;
+        });
+    }
+
+    private UUID parseChatRoomId(String destination) {
+        if (destination == null || !destination.startsWith(CHATROOM_PREFIX)) {
+            return null;
+        }
+        String roomPart = destination.substring(CHATROOM_PREFIX.length());
+        if (roomPart.contains("/")) {
+            return null;
+        }
+        try {
+            return UUID.fromString(roomPart);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "presence";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sessions", sessions.size());
+        metrics.put("onlineUsers", userSessions.size());
+        metrics.put("activeRooms", roomUsers.size());
+        metrics.put("pendingStatusWrites", pendingStatuses.size());
+        metrics.put("connects", connectCount.get());
+        metrics.put("disconnects", disconnectCount.get());
+        return metrics;
+    }
+
+    /**
+     * 세션 단위 접속 정보 (구독 ID → 채팅방 ID)
+     */
+    @RequiredArgsConstructor
+    private static final class SessionPresence {
+        private final UUID userId;
+        private final Map<String, UUID> subscriptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * DB 반영 대기 중인 상태
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class PendingStatus {
+        private final UserStatus status;
+        private final LocalDateTime lastSeenAt;
+    }
+}
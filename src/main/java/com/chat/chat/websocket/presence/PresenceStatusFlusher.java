@@ -0,0 +1,65 @@
+package com.chat.chat.websocket.presence;
+
+import com.chat.chat.domain.user.service.UserSnapshotCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 접속 상태 일괄 반영기
+ * 연결/해제 이벤트마다 UPDATE를 날리지 않고, 주기적으로 사용자별 최신 상태만 batch UPDATE 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresenceStatusFlusher {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET status = ?, last_seen_at = ?, updated_at = ? WHERE user_id = ?";
+
+    private final PresenceRegistry presenceRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserSnapshotCache userSnapshotCache;
+
+    @Scheduled(fixedDelayString = "${chat.presence.flush-interval-ms:2000}")
+    public void flush() {
+        Map<UUID, PresenceRegistry.PendingStatus> statuses = presenceRegistry.drainPendingStatuses();
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(statuses.size());
+        statuses.forEach((userId, pending) -> batchArgs.add(new Object[]{
+                pending.getStatus().name(),
+                Timestamp.valueOf(pending.getLastSeenAt()),
+                now,
+                userId
+        }));
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+            // 캐시된 사용자 스냅샷의 status/last_seen_at 무효화
+            userSnapshotCache.invalidate(List.copyOf(statuses.keySet()));
+            log.debug("[PRESENCE] Flushed {} status updates", batchArgs.size());
+        } catch (Exception e) {
+            presenceRegistry.requeue(statuses);
+            log.warn("[PRESENCE] Status flush failed, requeued {} updates: {}", batchArgs.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,326 @@
+package com.chat.chat.websocket.ratelimit;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.websocket.session.SessionIdentity;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * STOMP SEND 전송 한도
+ * destination prefix별 토큰 버킷을 세션 단위와 사용자 단위로 둡니다. 같은 사용자가 여러 세션으로 나눠 보내도
+ * 사용자 버킷에서 함께 차감됩니다. 사용자 단위는 CONNECT 시 바인딩된 {@link SessionIdentity}가 있을 때만 적용됩니다.
+ * 한도를 넘은 프레임은 컨트롤러에 도달하기 전에 버리고, 보낸 세션의 /user/queue/errors로 receipt-id와
+ * retry-after-ms가 담긴 알림을 보냅니다. ERROR 프레임은 연결을 끊으므로 사용하지 않습니다.
+ * silent-drop prefix(기본: 타이핑)는 알림 없이 버립니다.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements ChannelInterceptor, MetricsSource {
+
+    /**
+     * 한도 초과 알림 destination (클라이언트는 /user/queue/errors 구독)
+     */
+    public static final String ERRORS_DESTINATION = "/queue/errors";
+    public static final String RATE_LIMITED_MESSAGE = "rate-limited";
+    public static final String RECEIPT_ID_HEADER = "receipt-id";
+    public static final String RETRY_AFTER_HEADER = "retry-after-ms";
+
+    private static final String SESSION_BUCKETS_ATTRIBUTE = "rateLimitBuckets";
+    private static final String RECEIPT_HEADER = "receipt";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    @Value("${chat.rate-limit.enabled:true}")
+    private Boolean enabled;
+
+    /**
+     * 세션 단위 prefix=초당토큰:burst 목록 (예: /app/chat=5:10)
+     */
+    @Value("${chat.rate-limit.session-rules:/app/chat=5:10,/app/typing=10:20}")
+    private String sessionRules;
+
+    /**
+     * 사용자 단위 prefix=초당토큰:burst 목록
+     */
+    @Value("${chat.rate-limit.user-rules:/app/chat=10:20,/app/typing=20:40}")
+    private String userRules;
+
+    /**
+     * 한도 초과 시 알림 없이 버릴 prefix 목록
+     */
+    @Value("${chat.rate-limit.silent-drop-prefixes:/app/typing}")
+    private String silentDropPrefixes;
+
+    private List<Rule> rules = List.of();
+    private List<String> silentDrop = List.of();
+
+    private final Map<UUID, TokenBucket[]> userBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * 브로커 템플릿 빈은 WebSocket 설정이 끝난 뒤 만들어지므로 지연 주입
+     */
+    public RateLimitInterceptor(@Lazy @Qualifier("brokerMessagingTemplate") SimpMessageSendingOperations messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        Map<String, Rule> byPrefix = new LinkedHashMap<>();
+        parseRules(sessionRules, (prefix, limit) ->
+                byPrefix.computeIfAbsent(prefix, Rule::new).sessionLimit = limit);
+        parseRules(userRules, (prefix, limit) ->
+                byPrefix.computeIfAbsent(prefix, Rule::new).userLimit = limit);
+        rules = List.copyOf(byPrefix.values());
+        silentDrop = Arrays.stream(silentDropPrefixes.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .toList();
+        log.info("Rate limit rules: enabled={}, rules={}, silentDrop={}", enabled, rules, silentDrop);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!Boolean.TRUE.equals(enabled)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() != SimpMessageType.MESSAGE
+                || accessor.getSessionAttributes() == null) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        int ruleIndex = findRule(destination);
+        if (ruleIndex < 0) {
+            return message;
+        }
+
+        Rule rule = rules.get(ruleIndex);
+        long now = System.nanoTime();
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+
+        TokenBucket sessionBucket = sessionBuckets(attributes, now)[ruleIndex];
+        TokenBucket userBucket = null;
+        SessionIdentity identity = SessionIdentity.from(attributes);
+        if (identity != null) {
+            userBucket = userBuckets(identity.getUserId(), now)[ruleIndex];
+        }
+
+        TokenBucket rejectedBy = null;
+        if (sessionBucket != null && !sessionBucket.tryAcquire(now)) {
+            rejectedBy = sessionBucket;
+        } else if (userBucket != null && !userBucket.tryAcquire(now)) {
+            rejectedBy = userBucket;
+        }
+        if (rejectedBy == null) {
+            rule.allowed.increment();
+            return message;
+        }
+
+        if (rejectedBy == sessionBucket) {
+            rule.rejectedBySession.increment();
+        } else {
+            rule.rejectedByUser.increment();
+        }
+        if (isSilentDrop(destination)) {
+            return null;
+        }
+        log.debug("Rate limited frame: sessionId={}, destination={}", accessor.getSessionId(), destination);
+        notifyRejected(accessor, rejectedBy.millisUntilAvailable(now));
+        return null;
+    }
+
+    /**
+     * 거부 알림을 보낸 세션에만 전송 (세션 ID를 사용자 이름으로 쓰면 인증 없는 세션도 대상이 됨)
+     */
+    private void notifyRejected(SimpMessageHeaderAccessor rejected, long retryAfterMs) {
+        String sessionId = rejected.getSessionId();
+        String receiptId = rejected.getFirstNativeHeader(RECEIPT_HEADER);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setNativeHeader("message", RATE_LIMITED_MESSAGE);
+        headers.setNativeHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfterMs));
+        if (receiptId != null) {
+            headers.setNativeHeader(RECEIPT_ID_HEADER, receiptId);
+        }
+        headers.setLeaveMutable(true);
+
+        RateLimitNotice notice = RateLimitNotice.builder()
+                .error(RATE_LIMITED_MESSAGE)
+                .destination(rejected.getDestination())
+                .receiptId(receiptId)
+                .retryAfterMs(retryAfterMs)
+                .build();
+        try {
+            messagingTemplate.convertAndSendToUser(sessionId, ERRORS_DESTINATION, notice, headers.getMessageHeaders());
+        } catch (Exception e) {
+            log.warn("Failed to send rate limit notice: sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    private TokenBucket[] sessionBuckets(Map<String, Object> attributes, long now) {
+        Object buckets = attributes.get(SESSION_BUCKETS_ATTRIBUTE);
+        if (buckets instanceof TokenBucket[] existing) {
+            return existing;
+        }
+        // 세션 프레임은 preserveReceiveOrder로 순차 처리되므로 경쟁 없이 한 번만 생성됨
+        TokenBucket[] created = newBuckets(now, true);
+        attributes.put(SESSION_BUCKETS_ATTRIBUTE, created);
+        return created;
+    }
+
+    private TokenBucket[] userBuckets(UUID userId, long now) {
+        TokenBucket[] buckets = userBuckets.get(userId);
+        if (buckets != null) {
+            return buckets;
+        }
+        TokenBucket[] created = newBuckets(now, false);
+        TokenBucket[] existing = userBuckets.putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+
+    private TokenBucket[] newBuckets(long now, boolean session) {
+        TokenBucket[] buckets = new TokenBucket[rules.size()];
+        for (int i = 0; i < buckets.length; i++) {
+            Limit limit = session ? rules.get(i).sessionLimit : rules.get(i).userLimit;
+            if (limit != null) {
+                buckets[i] = new TokenBucket(limit.ratePerSecond(), limit.burst(), now);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * 가장 긴 prefix가 일치하는 규칙 (없으면 -1)
+     */
+    private int findRule(String destination) {
+        if (destination == null) {
+            return -1;
+        }
+        int matched = -1;
+        int matchedLength = -1;
+        for (int i = 0; i < rules.size(); i++) {
+            String prefix = rules.get(i).prefix;
+            if (destination.startsWith(prefix) && prefix.length() > matchedLength) {
+                matched = i;
+                matchedLength = prefix.length();
+            }
+        }
+        return matched;
+    }
+
+    private boolean isSilentDrop(String destination) {
+        for (String prefix : silentDrop) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 한동안 사용하지 않아 가득 찬 사용자 버킷 정리
+     */
+    @Scheduled(fixedDelayString = "${chat.rate-limit.sweep-interval-ms:60000}")
+    void sweepIdleUserBuckets() {
+        long now = System.nanoTime();
+        userBuckets.values().removeIf(buckets -> Arrays.stream(buckets)
+                .allMatch(bucket -> bucket == null || bucket.isFull(now)));
+    }
+
+    private static void parseRules(String value, RuleConsumer consumer) {
+        if (!StringUtils.hasText(value)) {
+            return;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !StringUtils.hasText(parts[0])) {
+                continue;
+            }
+            String[] limit = parts[1].trim().split(":");
+            double rate = Double.parseDouble(limit[0].trim());
+            double burst = limit.length > 1 ? Double.parseDouble(limit[1].trim()) : Math.max(1d, rate);
+            consumer.accept(parts[0].trim(), new Limit(rate, burst));
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "rateLimit";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        List<Map<String, Object>> perRule = new ArrayList<>();
+        for (Rule rule : rules) {
+            long allowed = rule.allowed.sum();
+            long rejected = rule.rejectedBySession.sum() + rule.rejectedByUser.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("prefix", rule.prefix);
+            entry.put("sessionLimit", rule.sessionLimit);
+            entry.put("userLimit", rule.userLimit);
+            entry.put("allowed", allowed);
+            entry.put("rejectedBySession", rule.rejectedBySession.sum());
+            entry.put("rejectedByUser", rule.rejectedByUser.sum());
+            entry.put("rejectionRate", allowed + rejected > 0 ? (double) rejected / (allowed + rejected) : 0d);
+            perRule.add(entry);
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", Boolean.TRUE.equals(enabled));
+        metrics.put("trackedUsers", userBuckets.size());
+        metrics.put("rules", perRule);
+        return metrics;
+    }
+
+    @FunctionalInterface
+    private interface RuleConsumer {
+        void accept(String prefix, Limit limit);
+    }
+
+    private record Limit(double ratePerSecond, double burst) {
+    }
+
+    /**
+     * destination prefix 하나의 한도와 집계
+     */
+    private static final class Rule {
+        private final String prefix;
+        private Limit sessionLimit;
+        private Limit userLimit;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejectedBySession = new LongAdder();
+        private final LongAdder rejectedByUser = new LongAdder();
+
+        private Rule(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String toString() {
+            return prefix + "(session=" + sessionLimit + ", user=" + userLimit + ")";
+        }
+    }
+}
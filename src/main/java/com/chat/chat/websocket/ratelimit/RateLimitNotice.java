@@ -0,0 +1,37 @@
+package com.chat.chat.websocket.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 전송 거부 알림 DTO (/user/queue/errors)
+ * 전송 한도 초과, 채팅방 레인 포화, DB 동시 진입 한도 초과로 버려진 프레임에 함께 사용합니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitNotice {
+
+    /**
+     * 오류 코드 (rate-limited, room-busy, server-busy)
+     */
+    private String error;
+
+    /**
+     * 거부된 프레임의 destination
+     */
+    private String destination;
+
+    /**
+     * 거부된 프레임의 receipt 헤더 값 (없으면 null)
+     */
+    private String receiptId;
+
+    /**
+     * 다시 보낼 수 있을 때까지 남은 시간(ms, 알 수 없으면 null)
+     */
+    private Long retryAfterMs;
+}
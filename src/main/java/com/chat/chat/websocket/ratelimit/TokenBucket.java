@@ -0,0 +1,69 @@
+package com.chat.chat.websocket.ratelimit;
+
+/**
+ * 토큰 버킷
+ * 시간 경과만큼 토큰을 채운 뒤 하나씩 꺼냅니다. 호출 시 객체를 만들지 않도록 상태를 primitive 필드로만 유지합니다.
+ * 같은 세션/사용자의 프레임만 경쟁하므로 동기화는 버킷 단위 모니터로 충분합니다.
+ */
+public final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param ratePerSecond 초당 채워지는 토큰 수
+     * @param capacity      최대 토큰 수 (허용 burst)
+     * @param nowNanos      생성 시각 ({@link System#nanoTime()} 기준), 가득 찬 상태로 시작
+     */
+    public TokenBucket(double ratePerSecond, double capacity, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / NANOS_PER_SECOND;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * 토큰 하나 사용 (부족하면 false)
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        refill(nowNanos);
+        if (tokens < 1d) {
+            return false;
+        }
+        tokens -= 1d;
+        return true;
+    }
+
+    /**
+     * 다음 토큰까지 남은 시간 (ms, 이미 있으면 0)
+     */
+    public synchronized long millisUntilAvailable(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1d || tokensPerNano <= 0) {
+            return 0;
+        }
+        return (long) Math.ceil((1d - tokens) / tokensPerNano / 1_000_000d);
+    }
+
+    /**
+     * 가득 찬 버킷은 새로 만든 것과 같으므로 정리 대상
+     */
+    public synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+        lastRefillNanos = nowNanos;
+    }
+}
@@ -0,0 +1,195 @@
+package com.chat.chat.websocket.replay;
+
+import com.chat.chat.common.concurrency.DbConcurrencyGuard;
+import com.chat.chat.common.exception.BusinessException;
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.domain.message.dto.MessageResponse;
+import com.chat.chat.domain.message.service.MessageService;
+import com.chat.chat.websocket.dto.ChatMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 재연결 replay 인터셉터
+ * SUBSCRIBE 프레임에 last-message-id 또는 last-sequence(+last-sequence-epoch) 헤더가 있으면, 브로커가 구독을 등록한 직후
+ * 빠진 메시지를 해당 구독으로 바로 보냅니다. 구독 등록 이후에 보내므로 유실 대신 중복이 생길 수 있으며,
+ * 클라이언트는 sequence/messageId로 중복을 걸러야 합니다.
+ * 빠진 구간이 버퍼보다 크면 DB에서 채우고, 그래도 부족하면 x-replay-truncated 헤더로 알립니다.
+ * DB fallback은 {@link DbConcurrencyGuard} 허가를 잡고 실행하며, 허가를 얻지 못하면 버퍼 분량만 truncated로 보냅니다.
+ */
+@Slf4j
+@Component
+public class ReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String LAST_MESSAGE_ID_HEADER = "last-message-id";
+    public static final String LAST_SEQUENCE_HEADER = "last-sequence";
+    public static final String LAST_SEQUENCE_EPOCH_HEADER = "last-sequence-epoch";
+    public static final String REPLAY_HEADER = "x-replay";
+    public static final String REPLAY_TRUNCATED_HEADER = "x-replay-truncated";
+
+    private static final String ROOM_TOPIC_PREFIX = "/topic/chatroom/";
+
+    private final RoomHistoryBuffer roomHistoryBuffer;
+    private final MessageService messageService;
+    private final DbConcurrencyGuard dbConcurrencyGuard;
+    private final MessageChannel clientOutboundChannel;
+    private final MessageConverter messageConverter;
+
+    @Value("${chat.replay.db-fallback-limit:200}")
+    private Integer dbFallbackLimit;
+
+    /**
+     * 브로커 채널 빈은 WebSocket 설정이 끝난 뒤 만들어지므로 지연 주입
+     */
+    public ReplayInterceptor(RoomHistoryBuffer roomHistoryBuffer,
+                             MessageService messageService,
+                             DbConcurrencyGuard dbConcurrencyGuard,
+                             @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                             @Lazy @Qualifier("brokerMessageConverter") MessageConverter messageConverter) {
+        this.roomHistoryBuffer = roomHistoryBuffer;
+        this.messageService = messageService;
+        this.dbConcurrencyGuard = dbConcurrencyGuard;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messageConverter = messageConverter;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (ex != null || !(handler instanceof AbstractBrokerMessageHandler)) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() != SimpMessageType.SUBSCRIBE) {
+            return;
+        }
+
+        UUID chatRoomId = parseChatRoomId(accessor.getDestination());
+        UUID lastMessageId = parseUuid(accessor.getFirstNativeHeader(LAST_MESSAGE_ID_HEADER));
+        Long lastSequence = parseLong(accessor.getFirstNativeHeader(LAST_SEQUENCE_HEADER));
+        String lastSequenceEpoch = accessor.getFirstNativeHeader(LAST_SEQUENCE_EPOCH_HEADER);
+        if (chatRoomId == null || (lastMessageId == null && lastSequence == null)) {
+            return;
+        }
+
+        try {
+            replay(accessor, chatRoomId, lastMessageId, lastSequence, lastSequenceEpoch);
+        } catch (Exception e) {
+            log.warn("[REPLAY] Replay failed: sessionId={}, chatRoomId={}, error={}",
+                    accessor.getSessionId(), chatRoomId, e.getMessage());
+        }
+    }
+
+    private void replay(SimpMessageHeaderAccessor subscribe, UUID chatRoomId, UUID lastMessageId,
+                        Long lastSequence, String lastSequenceEpoch) {
+        RoomHistoryBuffer.ReplayResult result =
+                roomHistoryBuffer.since(chatRoomId, lastMessageId, lastSequence, lastSequenceEpoch);
+        List<ChatMessageDto> messages = result.getMessages();
+        boolean truncated = !result.isComplete();
+
+        List<MessageResponse> stored = null;
+        if (!result.isComplete() && lastMessageId != null) {
+            try {
+                stored = dbConcurrencyGuard.call(
+                        () -> messageService.getMessagesAfter(chatRoomId, lastMessageId, dbFallbackLimit));
+            } catch (BusinessException e) {
+                if (e.getErrorCode() != ErrorCode.SERVER_BUSY) {
+                    throw e;
+                }
+                log.warn("[REPLAY] DB fallback skipped: sessionId={}, chatRoomId={}, error={}",
+                        subscribe.getSessionId(), chatRoomId, e.getMessage());
+            }
+        }
+        if (stored != null) {
+            Map<UUID, ChatMessageDto> buffered = messages.stream()
+                    .collect(Collectors.toMap(ChatMessageDto::getMessageId, Function.identity(), (a, b) -> a));
+            // 버퍼에 남아 있는 메시지는 sequence가 붙은 버전을 사용
+            messages = stored.stream()
+                    .map(response -> buffered.getOrDefault(response.getId(), toChatMessage(response)))
+                    .toList();
+            truncated = stored.size() >= dbFallbackLimit;
+        }
+
+        for (ChatMessageDto replayMessage : messages) {
+            send(subscribe, replayMessage, truncated);
+        }
+        log.debug("[REPLAY] Replayed {} messages: sessionId={}, chatRoomId={}, fromBuffer={}, truncated={}",
+                messages.size(), subscribe.getSessionId(), chatRoomId, result.isComplete(), truncated);
+    }
+
+    private void send(SimpMessageHeaderAccessor subscribe, ChatMessageDto payload, boolean truncated) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscribe.getSessionId());
+        accessor.setSubscriptionId(subscribe.getSubscriptionId());
+        accessor.setDestination(subscribe.getDestination());
+        accessor.setNativeHeader(REPLAY_HEADER, "true");
+        if (truncated) {
+            accessor.setNativeHeader(REPLAY_TRUNCATED_HEADER, "true");
+        }
+        accessor.setLeaveMutable(true);
+
+        Message<?> converted = messageConverter.toMessage(payload, accessor.getMessageHeaders());
+        if (converted != null) {
+            clientOutboundChannel.send(converted);
+        }
+    }
+
+    private ChatMessageDto toChatMessage(MessageResponse response) {
+        return ChatMessageDto.builder()
+                .messageId(response.getId())
+                .chatRoomId(response.getChatRoomId())
+                .senderId(response.getSender().getId())
+                .senderNickname(response.getSender().getNickname())
+                .messageType(response.getMessageType())
+                .content(response.getContent())
+                .timestamp(response.getCreatedAt())
+                .chatMessageType(ChatMessageDto.ChatMessageType.CHAT)
+                .build();
+    }
+
+    private UUID parseChatRoomId(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            return null;
+        }
+        return parseUuid(destination.substring(ROOM_TOPIC_PREFIX.length()));
+    }
+
+    private UUID parseUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.chat.chat.websocket.replay;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.websocket.dto.ChatMessageDto;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 최근 메시지 ring buffer
+ * 방마다 최근 N개의 CHAT 메시지를 순번(sequence)과 함께 보관하고, 오래 쓰이지 않은 방은 LRU로 제거합니다.
+ * 재연결한 클라이언트가 알려준 마지막 messageId/sequence 이후의 메시지를 DB 조회 없이 돌려줍니다.
+ * sequence는 버퍼(방)마다 1부터 다시 시작하므로 버퍼 세대(epoch)가 같을 때만 위치로 인정합니다.
+ */
+@Component
+public class RoomHistoryBuffer implements MetricsSource {
+
+    @Value("${chat.replay.buffer-size:100}")
+    private Integer bufferSize;
+
+    @Value("${chat.replay.max-rooms:1000}")
+    private Integer maxRooms;
+
+    private Map<UUID, RoomRing> rooms;
+
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong evictedRooms = new AtomicLong();
+    private final AtomicLong replayHits = new AtomicLong();
+    private final AtomicLong replayMisses = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        rooms = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, RoomRing> eldest) {
+                if (size() > maxRooms) {
+                    evictedRooms.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * 메시지 보관 후 순번이 부여된 메시지 반환
+     */
+    public ChatMessageDto append(ChatMessageDto message) {
+        RoomRing ring = rooms.computeIfAbsent(message.getChatRoomId(), key -> new RoomRing(bufferSize));
+        appendedCount.incrementAndGet();
+        return ring.append(message);
+    }
+
+    /**
+     * 마지막으로 받은 메시지 이후의 메시지 조회
+     * messageId를 우선 사용하고, 없거나 버퍼 밖이면 sequence로 찾습니다.
+     * sequence는 epoch가 현재 버퍼와 같을 때만 사용하며(LRU 제거 후 재생성, 재시작, 다른 노드의 버퍼면 무시),
+     * 위치를 찾지 못하면 complete=false와 함께 버퍼 전체를 반환합니다.
+     */
+    public ReplayResult since(UUID chatRoomId, UUID lastMessageId, Long lastSequence, String lastSequenceEpoch) {
+        RoomRing ring = rooms.get(chatRoomId);
+        if (ring == null) {
+            replayMisses.incrementAndGet();
+            return new ReplayResult(List.of(), false);
+        }
+        ReplayResult result = ring.since(lastMessageId, lastSequence, lastSequenceEpoch);
+        (result.isComplete() ? replayHits : replayMisses).incrementAndGet();
+        return result;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "replay";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("rooms", rooms.size());
+        metrics.put("maxRooms", maxRooms);
+        metrics.put("bufferSize", bufferSize);
+        metrics.put("appended", appendedCount.get());
+        metrics.put("evictedRooms", evictedRooms.get());
+        metrics.put("replayHits", replayHits.get());
+        metrics.put("replayMisses", replayMisses.get());
+        return metrics;
+    }
+
+    /**
+     * replay 결과
+     * complete가 false면 버퍼만으로는 빠진 구간을 모두 채울 수 없습니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ReplayResult {
+        private final List<ChatMessageDto> messages;
+        private final boolean complete;
+    }
+
+    /**
+     * 방 하나의 고정 크기 버퍼 (sequence % capacity 위치에 저장)
+     */
+    private static final class RoomRing {
+
+        private final ChatMessageDto[] entries;
+        private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        private long nextSequence = 1;
+
+        private RoomRing(int capacity) {
+            this.entries = new ChatMessageDto[capacity];
+        }
+
+        private synchronized ChatMessageDto append(ChatMessageDto message) {
+            long sequence = nextSequence++;
+            ChatMessageDto sequenced = message.toBuilder().sequence(sequence).sequenceEpoch(epoch).build();
+            entries[index(sequence)] = sequenced;
+            return sequenced;
+        }
+
+        private synchronized ReplayResult since(UUID lastMessageId, Long lastSequence, String lastSequenceEpoch) {
+            long latest = nextSequence - 1;
+            long oldest = Math.max(1, latest - entries.length + 1);
+
+            Long from = null;
+            if (lastMessageId != null) {
+                for (long sequence = latest; sequence >= oldest; sequence--) {
+                    if (lastMessageId.equals(entries[index(sequence)].getMessageId())) {
+                        from = sequence;
+                        break;
+                    }
+                }
+            }
+            if (from == null && lastSequence != null && epoch.equals(lastSequenceEpoch)
+                    && lastSequence >= oldest - 1 && lastSequence <= latest) {
+                from = lastSequence;
+            }
+
+            boolean complete = from != null;
+            long start = complete ? from + 1 : oldest;
+            List<ChatMessageDto> messages = new ArrayList<>((int) Math.max(0, latest - start + 1));
+            for (long sequence = start; sequence <= latest; sequence++) {
+                messages.add(entries[index(sequence)]);
+            }
+            return new ReplayResult(messages, complete);
+        }
+
+        private int index(long sequence) {
+            return (int) (sequence % entries.length);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.chat.chat.websocket.service;
+
+import com.chat.chat.common.ai.ClaudeChatService;
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.domain.chatroom.dto.ChatRoomMetadata;
+import com.chat.chat.domain.chatroom.service.ChatRoomService;
+import com.chat.chat.domain.message.dto.MessageResponse;
+import com.chat.chat.domain.message.dto.MessageSendRequest;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.domain.message.service.MessageService;
+import com.chat.chat.domain.user.dto.UserSnapshot;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.websocket.broadcast.RoomBroadcaster;
+import com.chat.chat.websocket.dto.ChatMessageDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 챗봇 응답 비동기 처리 서비스
+ * Claude 호출은 STOMP inbound 스레드가 아닌 전용 bounded executor에서 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BotReplyService implements MetricsSource {
+
+    private final RoomBroadcaster roomBroadcaster;
+    private final MessageService messageService;
+    private final ChatRoomService chatRoomService;
+    private final UserService userService;
+    private final ClaudeChatService claudeChatService;
+
+    @Value("${chat.bot-reply.pool-size:4}")
+    private Integer poolSize;
+
+    @Value("${chat.bot-reply.queue-capacity:100}")
+    private Integer queueCapacity;
+
+    @Value("${chat.bot-reply.shutdown-timeout-seconds:15}")
+    private Long shutdownTimeoutSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong abortedCount = new AtomicLong();
+
+    @PostConstruct
+    void initExecutor() {
+        executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("bot-reply-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("[BOT] Reply executor started: poolSize={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("[BOT] Reply executor did not terminate in {}s, pending={}",
+                    shutdownTimeoutSeconds, executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 사용자 메시지에 대한 챗봇 응답을 비동기로 요청 (발신자 조회 없음)
+     * 큐가 가득 차면 응답을 생략하고 거절 건수만 기록합니다.
+     */
+    public void requestReplyAsync(UUID chatRoomId, boolean senderIsBot, String userMessage) {
+        if (senderIsBot) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> runReply(chatRoomId, userMessage));
+            submittedCount.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            log.warn("[BOT] Reply queue saturated, skipping reply: chatRoomId={}, queueDepth={}",
+                    chatRoomId, executor.getQueue().size());
+        }
+    }
+
+    private void runReply(UUID chatRoomId, String userMessage) {
+        inFlight.incrementAndGet();
+        try {
+            triggerBotResponse(chatRoomId, userMessage);
+            completedCount.incrementAndGet();
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.error("[BOT] Reply failed: chatRoomId={}, error={}", chatRoomId, e.getMessage(), e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 사용자 메시지에 대한 챗봇 응답 트리거
+     */
+    private void triggerBotResponse(UUID chatRoomId, String userMessage) {
+        ChatRoomMetadata metadata = chatRoomService.getChatRoomMetadata(chatRoomId);
+        if (!metadata.isActive()) {
+            log.info("[BOT] 비활성화된 채팅방이라 응답하지 않습니다: chatRoomId={}", chatRoomId);
+            return;
+        }
+
+        UserSnapshot botUser = resolveBotUser(metadata);
+        if (botUser == null) {
+            log.warn("[BOT] 챗봇 사용자를 찾을 수 없습니다: chatRoomId={}", chatRoomId);
+            return;
+        }
+
+        UUID streamId = null;
+        ClaudeChatService.ReplyResult reply;
+        if (claudeChatService.isStreamEnabled()) {
+            UUID currentStreamId = UUID.randomUUID();
+            streamId = currentStreamId;
+            reply = claudeChatService.streamReply(chatRoomId, userMessage,
+                    delta -> sendStreamDelta(chatRoomId, botUser, currentStreamId, delta));
+        } else {
+            reply = claudeChatService.requestReply(chatRoomId, userMessage);
+        }
+
+        if (reply.isHasReply()) {
+            sendBotMessage(chatRoomId, botUser, reply.getReplyText(), MessageType.TEXT, streamId);
+        } else if (reply.isAborted() && streamId != null) {
+            abortedCount.incrementAndGet();
+            sendStreamAbort(chatRoomId, botUser, streamId);
+        }
+
+        if (reply.isLimitReached() && reply.isLimitJustReached()) {
+            sendBotMessage(
+                    chatRoomId,
+                    botUser,
+                    "이 채팅방의 챗봇 토큰 한도(" + claudeChatService.getTokenLimitPerRoom() + "토큰)를 모두 사용했습니다. 새 채팅방을 생성해 주세요.",
+                    MessageType.SYSTEM,
+                    null
+            );
+        }
+    }
+
+    /**
+     * 스트리밍 응답 조각 브로드캐스트 (저장하지 않음)
+     */
+    private void sendStreamDelta(UUID chatRoomId, UserSnapshot botUser, UUID streamId, String delta) {
+        ChatMessageDto deltaMessage = ChatMessageDto.builder()
+                .chatRoomId(chatRoomId)
+                .senderId(botUser.getId())
+                .senderNickname(botUser.getNickname())
+                .messageType(MessageType.TEXT)
+                .content(delta)
+                .timestamp(LocalDateTime.now())
+                .chatMessageType(ChatMessageDto.ChatMessageType.STREAM_DELTA)
+                .streamId(streamId)
+                .build();
+
+        roomBroadcaster.toRoom(chatRoomId, deltaMessage);
+    }
+
+    /**
+     * 스트리밍 중단 브로드캐스트 (잘린 응답은 저장하지 않음)
+     * 클라이언트는 같은 streamId로 받은 조각을 지웁니다.
+     */
+    private void sendStreamAbort(UUID chatRoomId, UserSnapshot botUser, UUID streamId) {
+        ChatMessageDto abortMessage = ChatMessageDto.builder()
+                .chatRoomId(chatRoomId)
+                .senderId(botUser.getId())
+                .senderNickname(botUser.getNickname())
+                .messageType(MessageType.SYSTEM)
+                .content("챗봇 응답이 중단되었습니다. 잠시 후 다시 시도해 주세요.")
+                .timestamp(LocalDateTime.now())
+                .chatMessageType(ChatMessageDto.ChatMessageType.STREAM_ABORT)
+                .streamId(streamId)
+                .build();
+
+        roomBroadcaster.toRoom(chatRoomId, abortMessage);
+        log.warn("[BOT] Streaming reply aborted: chatRoomId={}, streamId={}", chatRoomId, streamId);
+    }
+
+    /**
+     * 챗봇 메시지 전송 및 브로드캐스트
+     * 스트리밍 응답이었다면 streamId를 함께 보내 클라이언트가 조각을 최종 메시지로 교체하게 합니다.
+     */
+    private void sendBotMessage(UUID chatRoomId, UserSnapshot botUser, String content, MessageType messageType, UUID streamId) {
+        if (content == null || content.isBlank()) {
+            return;
+        }
+
+        MessageSendRequest request = MessageSendRequest.builder()
+                .chatRoomId(chatRoomId)
+                .senderId(botUser.getId())
+                .content(content)
+                .messageType(messageType)
+                .build();
+
+        MessageResponse savedMessage = messageService.sendMessage(request);
+
+        ChatMessageDto responseMessage = ChatMessageDto.builder()
+                .messageId(savedMessage.getId())
+                .chatRoomId(chatRoomId)
+                .senderId(savedMessage.getSender().getId())
+                .senderNickname(botUser.getNickname())
+                .messageType(savedMessage.getMessageType())
+                .content(savedMessage.getContent())
+                .timestamp(savedMessage.getCreatedAt())
+                .chatMessageType(ChatMessageDto.ChatMessageType.CHAT)
+                .streamId(streamId)
+                .build();
+
+        roomBroadcaster.toRoom(chatRoomId, responseMessage);
+
+        log.info("[BOT] Reply sent to chatRoom {} (type={}): {}", chatRoomId, messageType, content);
+    }
+
+    /**
+     * 채팅방의 챗봇 사용자 (메타데이터 캐시의 챗봇 ID로 스냅샷 캐시 조회)
+     */
+    private UserSnapshot resolveBotUser(ChatRoomMetadata metadata) {
+        if (metadata.getBotUserId() == null) {
+            return null;
+        }
+        return userService.getUserSnapshot(metadata.getBotUserId());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "botReply";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolSize", executor.getPoolSize());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("submitted", submittedCount.get());
+        metrics.put("completed", completedCount.get());
+        metrics.put("failed", failedCount.get());
+        metrics.put("aborted", abortedCount.get());
+        metrics.put("rejected", rejectedCount.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,44 @@
+package com.chat.chat.websocket.session;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CONNECT 시점에 세션에 바인딩되는 사용자 정보
+ * 이후 프레임의 senderId 대신 이 값을 사용하므로 사용자 조회 쿼리가 필요 없습니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SessionIdentity {
+
+    public static final String ATTRIBUTE = "identity";
+    public static final String MEMBER_ROOMS_ATTRIBUTE = "memberRooms";
+
+    private final UUID userId;
+    private final String nickname;
+    private final boolean bot;
+
+    /**
+     * 세션 속성에서 바인딩된 사용자 조회 (없으면 null)
+     */
+    public static SessionIdentity from(Map<String, Object> sessionAttributes) {
+        if (sessionAttributes == null) {
+            return null;
+        }
+        return sessionAttributes.get(ATTRIBUTE) instanceof SessionIdentity identity ? identity : null;
+    }
+
+    /**
+     * 참여가 확인된 채팅방 ID 집합
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<UUID> memberRooms(Map<String, Object> sessionAttributes) {
+        return (Set<UUID>) sessionAttributes.computeIfAbsent(MEMBER_ROOMS_ATTRIBUTE,
+                key -> ConcurrentHashMap.newKeySet());
+    }
+}
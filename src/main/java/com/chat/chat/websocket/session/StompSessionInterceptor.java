@@ -0,0 +1,196 @@
+package com.chat.chat.websocket.session;
+
+import com.chat.chat.common.exception.BusinessException;
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.domain.chatroom.service.ChatRoomMetadataCache;
+import com.chat.chat.domain.chatroom.service.ChatRoomService;
+import com.chat.chat.domain.user.dto.UserSnapshot;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.websocket.listener.WebSocketEventListener;
+import com.chat.chat.websocket.presence.PresenceRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP 세션 인증/참여 확인 인터셉터
+ * CONNECT의 userId 헤더로 사용자를 한 번 조회해 세션에 바인딩하고,
+ * 채팅방 destination에 대한 SUBSCRIBE/SEND는 세션별로 한 번만 참여 여부를 확인해 캐시합니다.
+ * userId 헤더가 없는 CONNECT는 거부하므로 모든 프레임의 발신자는 세션에 바인딩된 사용자입니다.
+ * 비활성화된 채팅방은 구독만 허용하고 SEND는 거부하며, 세션 캐시는 채팅방 메타데이터 캐시의 무효화 이벤트로 지웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompSessionInterceptor implements ChannelInterceptor, MetricsSource {
+
+    /**
+     * 채팅방 ID가 뒤따르는 destination prefix
+     */
+    private static final List<String> ROOM_DESTINATION_PREFIXES =
+            List.of("/topic/chatroom/", "/app/chat/", "/app/typing/");
+
+    private final UserService userService;
+    private final ChatRoomService chatRoomService;
+    private final PresenceRegistry presenceRegistry;
+    private final ChatRoomMetadataCache chatRoomMetadataCache;
+
+    /**
+     * 세션 ID → 참여가 확인된 채팅방 집합 (세션 속성의 집합과 같은 객체, 무효화 시 일괄 제거용)
+     */
+    private final Map<String, Set<UUID>> sessionMemberRooms = new ConcurrentHashMap<>();
+
+    private final AtomicLong boundSessions = new AtomicLong();
+    private final AtomicLong membershipHits = new AtomicLong();
+    private final AtomicLong membershipChecks = new AtomicLong();
+    private final AtomicLong rejectedFrames = new AtomicLong();
+    private final AtomicLong evictedMemberships = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        // 채팅방 비활성화(로컬/다른 노드)로 캐시가 무효화되면 세션에 남은 참여 확인도 지워 다음 프레임에서 다시 확인
+        chatRoomMetadataCache.addInvalidationListener(chatRoomIds -> sessionMemberRooms.values().forEach(rooms -> {
+            for (UUID chatRoomId : chatRoomIds) {
+                if (rooms.remove(chatRoomId)) {
+                    evictedMemberships.incrementAndGet();
+                }
+            }
+        }));
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() == null) {
+            return message;
+        }
+
+        SimpMessageType messageType = accessor.getMessageType();
+        if (messageType == SimpMessageType.DISCONNECT) {
+            sessionMemberRooms.remove(accessor.getSessionId());
+            return message;
+        }
+        if (accessor.getSessionAttributes() == null) {
+            return message;
+        }
+        if (messageType == SimpMessageType.CONNECT) {
+            bindIdentity(accessor);
+        } else if (messageType == SimpMessageType.SUBSCRIBE || messageType == SimpMessageType.MESSAGE) {
+            checkMembership(accessor, messageType == SimpMessageType.MESSAGE);
+        }
+        return message;
+    }
+
+    private void bindIdentity(SimpMessageHeaderAccessor accessor) {
+        String userIdHeader = accessor.getFirstNativeHeader(WebSocketEventListener.USER_ID_HEADER);
+        if (userIdHeader == null) {
+            rejectedFrames.incrementAndGet();
+            throw new MessageDeliveryException("userId header is required on CONNECT");
+        }
+
+        UserSnapshot user;
+        try {
+            user = userService.getUserSnapshot(UUID.fromString(userIdHeader));
+        } catch (IllegalArgumentException | BusinessException e) {
+            rejectedFrames.incrementAndGet();
+            throw new MessageDeliveryException("Unknown userId on CONNECT: " + userIdHeader);
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        attributes.put(SessionIdentity.ATTRIBUTE,
+                new SessionIdentity(user.getId(), user.getNickname(), user.isBot()));
+        attributes.put(WebSocketEventListener.USER_ID_HEADER, user.getId().toString());
+        sessionMemberRooms.put(accessor.getSessionId(), SessionIdentity.memberRooms(attributes));
+        presenceRegistry.connect(accessor.getSessionId(), user.getId());
+        boundSessions.incrementAndGet();
+    }
+
+    private void checkMembership(SimpMessageHeaderAccessor accessor, boolean send) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        UUID chatRoomId = parseChatRoomId(accessor.getDestination());
+        if (chatRoomId == null) {
+            return;
+        }
+        SessionIdentity identity = SessionIdentity.from(attributes);
+        if (identity == null) {
+            rejectedFrames.incrementAndGet();
+            throw new MessageDeliveryException("세션에 바인딩된 사용자가 없습니다: " + accessor.getSessionId());
+        }
+
+        Set<UUID> memberRooms = SessionIdentity.memberRooms(attributes);
+        if (memberRooms.contains(chatRoomId)) {
+            membershipHits.incrementAndGet();
+            return;
+        }
+
+        membershipChecks.incrementAndGet();
+        if (!chatRoomService.isParticipant(chatRoomId, identity.getUserId())) {
+            rejectedFrames.incrementAndGet();
+            log.warn("Rejected frame for non-participant: sessionId={}, userId={}, destination={}",
+                    accessor.getSessionId(), identity.getUserId(), accessor.getDestination());
+            throw new MessageDeliveryException("채팅방 참여자가 아닙니다: " + chatRoomId);
+        }
+        // 활성 채팅방만 캐시 (비활성 채팅방은 지난 메시지 구독만 허용)
+        if (!chatRoomService.isActive(chatRoomId)) {
+            if (send) {
+                rejectedFrames.incrementAndGet();
+                log.warn("Rejected frame for inactive chat room: sessionId={}, userId={}, destination={}",
+                        accessor.getSessionId(), identity.getUserId(), accessor.getDestination());
+                throw new MessageDeliveryException("비활성화된 채팅방입니다: " + chatRoomId);
+            }
+            return;
+        }
+        memberRooms.add(chatRoomId);
+    }
+
+    private UUID parseChatRoomId(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        for (String prefix : ROOM_DESTINATION_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                String rest = destination.substring(prefix.length());
+                int slash = rest.indexOf('/');
+                try {
+                    return UUID.fromString(slash >= 0 ? rest.substring(0, slash) : rest);
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "sessionAuth";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("boundSessions", boundSessions.get());
+        metrics.put("membershipHits", membershipHits.get());
+        metrics.put("membershipChecks", membershipChecks.get());
+        metrics.put("rejectedFrames", rejectedFrames.get());
+        metrics.put("evictedMemberships", evictedMemberships.get());
+        metrics.put("trackedSessions", sessionMemberRooms.size());
+        return metrics;
+    }
+}
@@ -0,0 +1,222 @@
+package com.chat.chat.websocket.transport;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 느린 클라이언트 보호
+ * 세션별로 outbound 채널에 들어온 MESSAGE 프레임 수와 실제 소켓에 쓴 프레임 수의 차이(backlog)를 추적합니다.
+ * backlog가 soft 한도를 넘으면 낮은 우선순위 프레임(타이핑, 읽음, 스트리밍 조각)을 버리고 CHAT 프레임은 유지하며,
+ * hard 한도를 넘으면 세션을 끊습니다. 송신 시간/버퍼 한도는 Spring의 세션 데코레이터(TERMINATE)가 별도로 적용합니다.
+ */
+@Slf4j
+@Component
+public class SlowConsumerGuard implements ChannelInterceptor, MetricsSource {
+
+    /**
+     * 낮은 우선순위 프레임 표시 헤더
+     */
+    public static final String PRIORITY_HEADER = "x-priority";
+    public static final String PRIORITY_LOW = "low";
+
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int TOP_SESSIONS = 10;
+
+    @Value("${chat.websocket.slow-consumer.soft-backlog:50}")
+    private Integer softBacklog;
+
+    @Value("${chat.websocket.slow-consumer.hard-backlog:500}")
+    private Integer hardBacklog;
+
+    private final Map<String, SessionBacklog> backlogs = new ConcurrentHashMap<>();
+
+    private final AtomicLong droppedLowPriority = new AtomicLong();
+    private final AtomicLong droppedOverHardLimit = new AtomicLong();
+    private final AtomicLong terminatedSessions = new AtomicLong();
+
+    /**
+     * 세션 데코레이터 팩토리 (WebSocketTransportRegistration#addDecoratorFactory 용)
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new BacklogHandlerDecorator(handler);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        SessionBacklog backlog = backlogs.get(accessor.getSessionId());
+        if (backlog == null) {
+            return message;
+        }
+
+        long pending = backlog.pending();
+        if (pending >= hardBacklog) {
+            droppedOverHardLimit.incrementAndGet();
+            terminate(backlog, pending);
+            return null;
+        }
+        if (pending >= softBacklog && PRIORITY_LOW.equals(accessor.getFirstNativeHeader(PRIORITY_HEADER))) {
+            backlog.dropped.incrementAndGet();
+            droppedLowPriority.incrementAndGet();
+            return null;
+        }
+
+        backlog.enqueued.incrementAndGet();
+        backlog.maxPending.accumulateAndGet(pending + 1, Math::max);
+        return message;
+    }
+
+    private void terminate(SessionBacklog backlog, long pending) {
+        if (!backlog.terminated.compareAndSet(false, true)) {
+            return;
+        }
+        terminatedSessions.incrementAndGet();
+        log.warn("[SLOW-CONSUMER] Closing session over hard backlog: sessionId={}, backlog={}",
+                backlog.session.getId(), pending);
+        try {
+            backlog.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("[SLOW-CONSUMER] Close failed: sessionId={}, error={}", backlog.session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 세션의 현재 backlog (테스트/진단용)
+     */
+    public long getBacklog(String sessionId) {
+        SessionBacklog backlog = backlogs.get(sessionId);
+        return backlog != null ? backlog.pending() : 0;
+    }
+
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return text.getPayload().startsWith("MESSAGE\n");
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer buffer = binary.getPayload();
+            if (buffer.remaining() < MESSAGE_COMMAND.length) {
+                return false;
+            }
+            for (int i = 0; i < MESSAGE_COMMAND.length; i++) {
+                if (buffer.get(buffer.position() + i) != MESSAGE_COMMAND[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "sessionBacklog";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        List<Map<String, Object>> topSessions = backlogs.values().stream()
+                .sorted(Comparator.comparingLong(SessionBacklog::pending).reversed())
+                .limit(TOP_SESSIONS)
+                .map(backlog -> {
+                    Map<String, Object> session = new LinkedHashMap<>();
+                    session.put("sessionId", backlog.session.getId());
+                    session.put("backlog", backlog.pending());
+                    session.put("maxBacklog", backlog.maxPending.get());
+                    session.put("written", backlog.written.get());
+                    session.put("dropped", backlog.dropped.get());
+                    return session;
+                })
+                .toList();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sessions", backlogs.size());
+        metrics.put("softBacklog", softBacklog);
+        metrics.put("hardBacklog", hardBacklog);
+        metrics.put("droppedLowPriority", droppedLowPriority.get());
+        metrics.put("droppedOverHardLimit", droppedOverHardLimit.get());
+        metrics.put("terminatedSessions", terminatedSessions.get());
+        metrics.put("topSessions", topSessions);
+        return metrics;
+    }
+
+    /**
+     * 세션별 backlog 카운터
+     */
+    private static final class SessionBacklog {
+        private final WebSocketSession session;
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong maxPending = new AtomicLong();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        private SessionBacklog(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private long pending() {
+            return enqueued.get() - written.get();
+        }
+    }
+
+    /**
+     * 세션 등록/해제와 실제 송신 프레임 집계를 담당하는 핸들러 데코레이터
+     */
+    private final class BacklogHandlerDecorator extends WebSocketHandlerDecorator {
+
+        private BacklogHandlerDecorator(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            SessionBacklog backlog = new SessionBacklog(session);
+            backlogs.put(session.getId(), backlog);
+            super.afterConnectionEstablished(new WebSocketSessionDecorator(session) {
+                @Override
+                public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                    super.sendMessage(message);
+                    if (isMessageFrame(message)) {
+                        backlog.written.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            backlogs.remove(session.getId());
+            super.afterConnectionClosed(session, closeStatus);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.chat.chat.websocket.transport;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * 메시지 타입별 송신 바이트 통계
+ * 전체 프레임 수와 압축 전 바이트는 payload 길이만으로 집계하고, 샘플링한 프레임만 복사해 타입 분류와
+ * raw deflate 압축 크기 추정을 합니다. 타입별 프레임 수는 샘플 수 × sample-rate로 추정합니다.
+ * (permessage-deflate는 컨테이너 안에서 수행되므로 실제 압축 후 크기는 애플리케이션에서 관찰할 수 없습니다.)
+ */
+@Component
+public class WireStatsCollector implements MetricsSource {
+
+    private static final String DESTINATION_HEADER = "\ndestination:";
+    private static final String TYPE_FIELD = "\"chatMessageType\":\"";
+
+    @Value("${chat.websocket.wire-stats.sample-rate:10}")
+    private Integer sampleRate;
+
+    private final Map<String, TypeStats> statsByType = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder deflateSessions = new LongAdder();
+    private final LongAdder plainSessions = new LongAdder();
+
+    @PostConstruct
+    void validate() {
+        if (sampleRate == null || sampleRate < 1) {
+            throw new IllegalStateException("chat.websocket.wire-stats.sample-rate must be >= 1: " + sampleRate);
+        }
+    }
+
+    /**
+     * 세션 연결 시 permessage-deflate 협상 여부 기록
+     */
+    public void recordSession(boolean deflateNegotiated) {
+        (deflateNegotiated ? deflateSessions : plainSessions).increment();
+    }
+
+    /**
+     * 송신 프레임 기록
+     */
+    public void recordOutbound(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage) && !(message instanceof BinaryMessage)) {
+            return;
+        }
+        frames.increment();
+        rawBytes.add(message.getPayloadLength());
+        if (sequence.incrementAndGet() % sampleRate != 0) {
+            return;
+        }
+
+        byte[] bytes = toBytes(message);
+        TypeStats stats = statsByType.computeIfAbsent(classify(message, bytes), key -> new TypeStats());
+        stats.sampledFrames.increment();
+        stats.sampledRawBytes.add(bytes.length);
+        stats.sampledDeflatedBytes.add(deflatedSize(bytes));
+    }
+
+    private byte[] toBytes(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return text.asBytes();
+        }
+        ByteBuffer buffer = ((BinaryMessage) message).getPayload().duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * STOMP 프레임 분류: 명령, destination, chatMessageType 순으로 판단
+     */
+    private String classify(WebSocketMessage<?> message, byte[] bytes) {
+        String frame = new String(bytes, 0, Math.min(bytes.length, 512), StandardCharsets.UTF_8);
+        if (!frame.startsWith("MESSAGE")) {
+            int end = frame.indexOf('\n');
+            return end > 0 ? frame.substring(0, end).toLowerCase() : "heartbeat";
+        }
+        if (message instanceof BinaryMessage) {
+            return "binary";
+        }
+        int destinationStart = frame.indexOf(DESTINATION_HEADER);
+        if (destinationStart >= 0) {
+            int destinationEnd = frame.indexOf('\n', destinationStart + 1);
+            String destination = frame.substring(destinationStart + DESTINATION_HEADER.length(),
+                    destinationEnd > 0 ? destinationEnd : frame.length());
+            if (destination.endsWith("/typing")) {
+                return "typing";
+            }
+        }
+        if (frame.contains("\nx-batch:true")) {
+            return "batch";
+        }
+        int typeStart = frame.indexOf(TYPE_FIELD);
+        if (typeStart >= 0) {
+            int valueStart = typeStart + TYPE_FIELD.length();
+            int valueEnd = frame.indexOf('"', valueStart);
+            if (valueEnd > valueStart) {
+                return frame.substring(valueStart, valueEnd).toLowerCase();
+            }
+        }
+        return "message";
+    }
+
+    private long deflatedSize(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(64, bytes.length)];
+            long size = 0;
+            while (!deflater.finished()) {
+                size += deflater.deflate(buffer);
+            }
+            return size;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "wire";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> byType = new LinkedHashMap<>();
+        statsByType.forEach((type, stats) -> {
+            long sampledFrames = stats.sampledFrames.sum();
+            long sampledRaw = stats.sampledRawBytes.sum();
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("sampledFrames", sampledFrames);
+            metrics.put("estimatedFrames", sampledFrames * sampleRate);
+            metrics.put("avgRawBytes", sampledFrames > 0 ? sampledRaw / sampledFrames : 0);
+            metrics.put("estimatedDeflateRatio", sampledRaw > 0
+                    ? Math.round(stats.sampledDeflatedBytes.sum() * 1000.0 / sampledRaw) / 1000.0
+                    : null);
+            byType.put(type, metrics);
+        });
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("deflateSessions", deflateSessions.sum());
+        metrics.put("plainSessions", plainSessions.sum());
+        metrics.put("frames", frames.sum());
+        metrics.put("rawBytes", rawBytes.sum());
+        metrics.put("sampleRate", sampleRate);
+        metrics.put("byType", byType);
+        return metrics;
+    }
+
+    private static final class TypeStats {
+        private final LongAdder sampledFrames = new LongAdder();
+        private final LongAdder sampledRawBytes = new LongAdder();
+        private final LongAdder sampledDeflatedBytes = new LongAdder();
+    }
+}
@@ -0,0 +1,43 @@
+package com.chat.chat.websocket.transport;
+
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+
+/**
+ * 세션의 송신 프레임을 WireStatsCollector에 기록하는 핸들러 데코레이터
+ */
+public class WireStatsHandlerDecorator extends WebSocketHandlerDecorator {
+
+    private final WireStatsCollector wireStatsCollector;
+
+    public WireStatsHandlerDecorator(WebSocketHandler delegate, WireStatsCollector wireStatsCollector) {
+        super(delegate);
+        this.wireStatsCollector = wireStatsCollector;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        boolean deflate = session.getExtensions().stream()
+                .anyMatch(extension -> CompressionHandshakeHandler.PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()));
+        wireStatsCollector.recordSession(deflate);
+        super.afterConnectionEstablished(new MeasuringSession(session));
+    }
+
+    private final class MeasuringSession extends WebSocketSessionDecorator {
+
+        private MeasuringSession(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            super.sendMessage(message);
+            wireStatsCollector.recordOutbound(message);
+        }
+    }
+}
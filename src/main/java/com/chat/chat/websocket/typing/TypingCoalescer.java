@@ -0,0 +1,162 @@
+package com.chat.chat.websocket.typing;
+
+import com.chat.chat.common.metrics.MetricsSource;
+import com.chat.chat.websocket.broadcast.RoomBroadcaster;
+import com.chat.chat.websocket.dto.TypingNotificationDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 타이핑 알림 병합기
+ * (채팅방, 사용자) 단위로 상태 전이만 전달하고, 타이핑 유지 알림은 refresh 간격당 최대 1회로 제한합니다.
+ * 일정 시간 입력이 없으면 서버가 종료 알림을 대신 보내므로 클라이언트의 stop 이벤트가 필수가 아닙니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TypingCoalescer implements MetricsSource {
+
+    private final RoomBroadcaster roomBroadcaster;
+
+    @Value("${chat.typing.refresh-interval-ms:3000}")
+    private Long refreshIntervalMs;
+
+    @Value("${chat.typing.timeout-ms:5000}")
+    private Long timeoutMs;
+
+    private final Map<TypingKey, TypingState> states = new ConcurrentHashMap<>();
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong forwardedCount = new AtomicLong();
+    private final AtomicLong suppressedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    /**
+     * 클라이언트 타이핑 알림 수신
+     */
+    public void onNotification(UUID chatRoomId, TypingNotificationDto notification) {
+        receivedCount.incrementAndGet();
+        if (notification.getUserId() == null) {
+            return;
+        }
+
+        boolean typing = Boolean.TRUE.equals(notification.getIsTyping());
+        long now = System.currentTimeMillis();
+        TypingKey typingKey = new TypingKey(chatRoomId, notification.getUserId());
+
+        boolean forward;
+        while (true) {
+            TypingState state = states.computeIfAbsent(typingKey, key -> new TypingState());
+            synchronized (state) {
+                // 정리 작업이 먼저 맵에서 제거한 상태면 새 상태로 다시 시도
+                if (state.removed) {
+                    continue;
+                }
+                forward = apply(state, typing, now, notification.getNickname());
+                break;
+            }
+        }
+
+        if (forward) {
+            send(chatRoomId, notification.getUserId(), notification.getNickname(), typing);
+        } else {
+            suppressedCount.incrementAndGet();
+        }
+    }
+
+    private boolean apply(TypingState state, boolean typing, long now, String nickname) {
+        boolean forward;
+        state.lastActivityAt = now;
+        state.nickname = nickname;
+        if (typing) {
+            // 시작 전이이거나 refresh 간격이 지났을 때만 전달
+            forward = !state.typing || now - state.lastForwardedAt >= refreshIntervalMs;
+        } else {
+            forward = state.typing;
+        }
+        state.typing = typing;
+        if (forward) {
+            state.lastForwardedAt = now;
+        }
+        return forward;
+    }
+
+    /**
+     * 타임아웃된 타이핑 상태 종료 및 정리
+     */
+    @Scheduled(fixedDelayString = "${chat.typing.sweep-interval-ms:1000}")
+    public void expireIdleStates() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<TypingKey, TypingState> entry : states.entrySet()) {
+            TypingState state = entry.getValue();
+            boolean expired;
+            String nickname;
+            synchronized (state) {
+                // 판정 이후 새 알림이 들어왔으면 lastActivityAt이 갱신되어 제거하지 않음
+                if (state.removed || now - state.lastActivityAt < timeoutMs) {
+                    continue;
+                }
+                expired = state.typing;
+                nickname = state.nickname;
+                state.typing = false;
+                state.removed = true;
+                states.remove(entry.getKey(), state);
+            }
+            if (expired) {
+                expiredCount.incrementAndGet();
+                send(entry.getKey().chatRoomId(), entry.getKey().userId(), nickname, false);
+            }
+        }
+    }
+
+    private void send(UUID chatRoomId, UUID userId, String nickname, boolean typing) {
+        TypingNotificationDto notification = TypingNotificationDto.builder()
+                .chatRoomId(chatRoomId)
+                .userId(userId)
+                .nickname(nickname)
+                .isTyping(typing)
+                .build();
+
+        roomBroadcaster.toRoomTyping(chatRoomId, notification);
+        forwardedCount.incrementAndGet();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "typing";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("activeStates", states.size());
+        metrics.put("received", receivedCount.get());
+        metrics.put("forwarded", forwardedCount.get());
+        metrics.put("suppressed", suppressedCount.get());
+        metrics.put("expired", expiredCount.get());
+        return metrics;
+    }
+
+    private record TypingKey(UUID chatRoomId, UUID userId) {
+    }
+
+    private static final class TypingState {
+        private boolean typing;
+        private long lastActivityAt;
+        private long lastForwardedAt;
+        private String nickname;
+        /**
+         * 맵에서 제거됨 (이후 알림은 새 상태로 기록)
+         */
+        private boolean removed;
+    }
+}
@@ -0,0 +1,10 @@
+-- 메시지 히스토리 keyset 인덱스 (PostgreSQL, 여러 번 실행해도 안전)
+-- 히스토리/안 읽은 메시지 조회는 (created_at, message_id) 순 keyset이므로 message_id까지 인덱스에 두어
+-- created_at이 같은 행의 순서도 인덱스 순서로 읽고 정렬 단계 없이 LIMIT에서 멈추게 합니다.
+-- ddl-auto=update는 같은 이름의 기존 인덱스를 바꾸지 않으므로 새 이름으로 만들고 이전 인덱스를 지웁니다.
+-- 운영 중 테이블 잠금을 피하려고 CONCURRENTLY로 만들며, 트랜잭션 블록 밖에서 실행해야 합니다.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_message_chat_room_created_id
+    ON messages (chat_room_id, created_at, message_id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_message_chat_room_created;
@@ -0,0 +1,17 @@
+-- 닉네임 검색 인덱스 (PostgreSQL, 여러 번 실행해도 안전)
+-- 부분 일치 검색(UserRepository.searchByNickname)의 lower(nickname) LIKE '%...%'는 trigram GIN 인덱스로,
+-- 닉네임 순 keyset 정렬은 메모리 prefix 인덱스와 같은 (lower(nickname), user_id) B-tree 인덱스로 처리합니다.
+-- 운영 중 테이블 잠금을 피하려고 CONCURRENTLY로 만들며, 트랜잭션 블록 밖에서 실행해야 합니다.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_nickname_trgm
+    ON users USING gin (lower(nickname) gin_trgm_ops)
+    WHERE is_active = true;
+
+-- 이전 (nickname, user_id) 인덱스는 정렬 키가 달라 쓰이지 않음
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_nickname_keyset;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_lower_nickname_keyset
+    ON users (lower(nickname), user_id)
+    WHERE is_active = true;
@@ -0,0 +1,25 @@
+-- 기존 messages.is_read 플래그를 (채팅방, 사용자) 읽음 위치로 이관합니다 (PostgreSQL, 여러 번 실행해도 안전).
+-- 읽음 위치 행이 없으면 애플리케이션이 is_read 기준으로 위치를 계산하므로, 실행 전후의 안 읽은 수는 같습니다.
+-- 이관이 끝나면 is_read 기준 조회(MessageRepository.findLastReadByLegacyFlag)가 더 이상 호출되지 않습니다.
+
+CREATE TABLE IF NOT EXISTS message_read_watermarks (
+    chat_room_id         UUID      NOT NULL,
+    user_id              UUID      NOT NULL,
+    last_read_message_id UUID      NOT NULL,
+    last_read_created_at TIMESTAMP NOT NULL,
+    updated_at           TIMESTAMP NOT NULL,
+    PRIMARY KEY (chat_room_id, user_id)
+);
+
+-- 채팅방 참여자마다 상대가 보낸 메시지 중 읽음 처리된 가장 최근 메시지를 읽음 위치로 사용
+INSERT INTO message_read_watermarks
+    (chat_room_id, user_id, last_read_message_id, last_read_created_at, updated_at)
+SELECT DISTINCT ON (m.chat_room_id, reader.user_id)
+       m.chat_room_id, reader.user_id, m.message_id, m.created_at, COALESCE(m.read_at, now())
+FROM messages m
+JOIN chat_rooms cr ON cr.chat_room_id = m.chat_room_id
+CROSS JOIN LATERAL (VALUES (cr.user1_id), (cr.user2_id)) AS reader(user_id)
+WHERE m.is_read = true
+  AND m.sender_id <> reader.user_id
+ORDER BY m.chat_room_id, reader.user_id, m.created_at DESC, m.message_id DESC
+ON CONFLICT (chat_room_id, user_id) DO NOTHING;
@@ -0,0 +1,51 @@
+-- 채팅방마다 만들던 전용 챗봇 사용자(bot-<uuid>@ 이메일)를 user_kind = 'BOT'인 공유 챗봇 계정 하나로 합칩니다 (PostgreSQL, 여러 번 실행해도 안전).
+-- :bot_email, :bot_nickname 에 chat.bot-email, chat.bot-nickname 값을 넣어 실행합니다.
+--   psql -v bot_email="'ai-bot@chat.local'" -v bot_nickname="'AI Bot'" -f shared-bot-migration.sql
+-- 애플리케이션을 새 버전으로 배포하기 전에 실행합니다 (공유 챗봇이 없으면 애플리케이션이 첫 채팅방 생성 시 만듭니다).
+
+BEGIN;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS user_kind VARCHAR(10) NOT NULL DEFAULT 'HUMAN';
+CREATE INDEX IF NOT EXISTS idx_user_kind ON users (user_kind);
+
+UPDATE users SET user_kind = 'BOT' WHERE email LIKE 'bot-%' AND user_kind <> 'BOT';
+
+-- 공유 챗봇 계정 (같은 이메일의 사람 계정이 있으면 UPDATE가 0건이 되므로 아래 단계에서 중단됨)
+INSERT INTO users (user_id, email, nickname, status, user_kind, is_active, created_at, updated_at)
+VALUES (gen_random_uuid(), :bot_email, :bot_nickname, 'OFFLINE', 'BOT', true, now(), now())
+ON CONFLICT (email) DO NOTHING;
+
+CREATE TEMP TABLE shared_bot ON COMMIT DROP AS
+SELECT user_id FROM users WHERE email = :bot_email AND user_kind = 'BOT';
+
+DO $$
+BEGIN
+    IF (SELECT count(*) FROM shared_bot) <> 1 THEN
+        RAISE EXCEPTION 'shared bot account is missing or bot email belongs to a human user';
+    END IF;
+END $$;
+
+-- 공유 챗봇과 한 사용자가 여러 채팅방을 가질 수 있도록 참여자 조합 유일 제약 제거
+ALTER TABLE chat_rooms DROP CONSTRAINT IF EXISTS uk_chat_room_users;
+
+CREATE TEMP TABLE legacy_bots ON COMMIT DROP AS
+SELECT user_id FROM users
+WHERE user_kind = 'BOT' AND email LIKE 'bot-%'
+  AND user_id <> (SELECT user_id FROM shared_bot);
+
+-- 채팅방 참여자 교체 (user1/user2 순서는 안 읽은 수 갱신이 user1_id 비교로 하므로 바꾸지 않음)
+UPDATE chat_rooms SET user1_id = (SELECT user_id FROM shared_bot)
+WHERE user1_id IN (SELECT user_id FROM legacy_bots);
+UPDATE chat_rooms SET user2_id = (SELECT user_id FROM shared_bot)
+WHERE user2_id IN (SELECT user_id FROM legacy_bots);
+
+UPDATE messages SET sender_id = (SELECT user_id FROM shared_bot)
+WHERE sender_id IN (SELECT user_id FROM legacy_bots);
+
+-- 전용 챗봇은 채팅방 하나에만 참여했으므로 (채팅방, 사용자) 키가 겹치지 않음
+UPDATE message_read_watermarks SET user_id = (SELECT user_id FROM shared_bot)
+WHERE user_id IN (SELECT user_id FROM legacy_bots);
+
+DELETE FROM users WHERE user_id IN (SELECT user_id FROM legacy_bots);
+
+COMMIT;
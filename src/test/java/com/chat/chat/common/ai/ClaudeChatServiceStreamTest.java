@@ -0,0 +1,103 @@
+package com.chat.chat.common.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.HttpHandlerConnector;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ClaudeStubController SSE 모드 대상 스트리밍 응답 처리
+ * 스텁을 WebFlux 핸들러로 올리고 ClaudeChatService의 WebClient를 네트워크 없이 연결합니다.
+ */
+class ClaudeChatServiceStreamTest {
+
+    private AnnotationConfigApplicationContext stubContext;
+    private ClaudeStubController stub;
+    private ClaudeChatService claudeChatService;
+
+    @BeforeEach
+    void setUp() {
+        stubContext = new AnnotationConfigApplicationContext();
+        stubContext.getEnvironment().setActiveProfiles("claude-stub");
+        stubContext.register(StubWebConfig.class, ClaudeStubController.class);
+        stubContext.refresh();
+        stub = stubContext.getBean(ClaudeStubController.class);
+        ReflectionTestUtils.setField(stub, "tokenDelayMs", 0L);
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost/stub/claude/v1")
+                .clientConnector(new HttpHandlerConnector(WebHttpHandlerBuilder.applicationContext(stubContext).build()))
+                .build();
+        claudeChatService = new ClaudeChatService(webClient);
+        ReflectionTestUtils.setField(claudeChatService, "model", "stub");
+        ReflectionTestUtils.setField(claudeChatService, "maxTokens", 512);
+        ReflectionTestUtils.setField(claudeChatService, "temperature", 0.3);
+        ReflectionTestUtils.setField(claudeChatService, "systemPrompt", "test");
+        ReflectionTestUtils.setField(claudeChatService, "tokenLimitPerRoom", 2000);
+        ReflectionTestUtils.setField(claudeChatService, "timeoutSeconds", 5L);
+        ReflectionTestUtils.setField(claudeChatService, "streamEnabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubContext.close();
+    }
+
+    @Test
+    void streamsDeltasAndReturnsFullReply() {
+        ReflectionTestUtils.setField(stub, "errorAfterTokens", -1);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        ClaudeChatService.ReplyResult reply = claudeChatService.streamReply(UUID.randomUUID(), "hello world", deltas::add);
+
+        assertThat(deltas).containsExactly("[stub]", " hello", " world");
+        assertThat(reply.isHasReply()).isTrue();
+        assertThat(reply.isAborted()).isFalse();
+        assertThat(reply.getReplyText()).isEqualTo("[stub] hello world");
+        assertThat(reply.getTotalTokensUsed()).isPositive();
+    }
+
+    @Test
+    void errorEventAbortsWithoutReturningTruncatedReply() {
+        ReflectionTestUtils.setField(stub, "errorAfterTokens", 2);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        ClaudeChatService.ReplyResult reply = claudeChatService.streamReply(UUID.randomUUID(), "hello world", deltas::add);
+
+        assertThat(deltas).containsExactly("[stub]", " hello");
+        assertThat(reply.isHasReply()).isFalse();
+        assertThat(reply.isAborted()).isTrue();
+        assertThat(reply.getReplyText()).isNull();
+        // 이미 생성된 조각은 사용량에 반영
+        assertThat(reply.getTotalTokensUsed()).isPositive();
+    }
+
+    @Test
+    void errorEventBeforeAnyDeltaIsPlainFailure() {
+        ReflectionTestUtils.setField(stub, "errorAfterTokens", 0);
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        ClaudeChatService.ReplyResult reply = claudeChatService.streamReply(UUID.randomUUID(), "hello world", deltas::add);
+
+        assertThat(deltas).isEmpty();
+        assertThat(reply.isHasReply()).isFalse();
+        assertThat(reply.isAborted()).isFalse();
+    }
+
+    @Configuration
+    @EnableWebFlux
+    static class StubWebConfig {
+    }
+}
@@ -0,0 +1,146 @@
+package com.chat.chat.common.concurrency;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 플랫폼 스레드 풀(Tomcat 기본 200) vs 가상 스레드 vs 가상 스레드 + DbConcurrencyGuard(풀 크기보다 작게) 비교
+ * 요청 하나는 외부 I/O 대기(Claude/네트워크) 후 Hikari 풀 크기로 제한된 DB 구간을 거치는 것으로 모델링하고,
+ * 같은 풀을 가드 없이 쓰는 백그라운드 작업(write-behind flush 등)의 커넥션 대기 시간을 함께 잽니다.
+ * 가드 허가 수가 풀 크기와 같으면 대기 위치만 Hikari에서 세마포어로 옮겨질 뿐이므로, 풀보다 작은 허가 수와
+ * 짧은 획득 제한 시간으로 백그라운드 여유 커넥션과 요청 지연 상한이 생기는지를 봅니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmark {
+
+    private static final int REQUESTS = 20_000;
+    private static final int POOL_SIZE = 10;
+    private static final int GUARD_PERMITS = POOL_SIZE - 2;
+    private static final long GUARD_TIMEOUT_MS = 200;
+    private static final long IO_WAIT_MS = 50;
+    private static final long DB_TIME_MS = 2;
+    private static final long BACKGROUND_INTERVAL_MS = 5;
+
+    @Test
+    void compareThroughput() throws InterruptedException {
+        // 워밍업
+        run("warmup", Executors.newFixedThreadPool(200), null, 2_000);
+
+        Result platform = run("platform-200", Executors.newFixedThreadPool(200), null, REQUESTS);
+        Result virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor(), null, REQUESTS);
+        Result guarded = run("virtual+guard(" + GUARD_PERMITS + ")", Executors.newVirtualThreadPerTaskExecutor(),
+                new DbConcurrencyGuard(true, GUARD_PERMITS, GUARD_TIMEOUT_MS), REQUESTS);
+
+        System.out.printf("pool size: %d, guard permits: %d, guard timeout: %d ms%n",
+                POOL_SIZE, GUARD_PERMITS, GUARD_TIMEOUT_MS);
+        System.out.printf("%-20s %10s %10s %12s %14s %18s %20s%n", "mode", "req/s", "rejected",
+                "p50 ms", "p99 ms", "max pool waiters", "background p99 ms");
+        for (Result result : new Result[]{platform, virtual, guarded}) {
+            System.out.printf("%-20s %10.0f %10d %12.1f %14.1f %18d %20.1f%n", result.name, result.throughput,
+                    result.rejected, result.p50Ms, result.p99Ms, result.maxPoolWaiters, result.backgroundP99Ms);
+        }
+    }
+
+    private Result run(String name, ExecutorService executor, DbConcurrencyGuard guard, int requests)
+            throws InterruptedException {
+        // Hikari 커넥션 풀 모델
+        Semaphore connectionPool = new Semaphore(POOL_SIZE, true);
+        AtomicInteger maxWaiters = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        // 가드를 거치지 않는 백그라운드 DB 작업
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] backgroundWaits = new long[100_000];
+        AtomicInteger backgroundCount = new AtomicInteger();
+        Thread background = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                long waitStart = System.nanoTime();
+                connectionPool.acquireUninterruptibly();
+                int index = backgroundCount.getAndIncrement();
+                if (index < backgroundWaits.length) {
+                    backgroundWaits[index] = System.nanoTime() - waitStart;
+                }
+                try {
+                    sleep(DB_TIME_MS);
+                } finally {
+                    connectionPool.release();
+                }
+                sleep(BACKGROUND_INTERVAL_MS);
+            }
+        });
+
+        AtomicLong completed = new AtomicLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            executor.execute(() -> {
+                long requestStart = System.nanoTime();
+                sleep(IO_WAIT_MS);
+                if (guard != null && !guard.tryAcquire()) {
+                    // 503으로 빠르게 실패
+                    rejected.incrementAndGet();
+                    latencies[index] = System.nanoTime() - requestStart;
+                    return;
+                }
+                try {
+                    maxWaiters.accumulateAndGet(connectionPool.getQueueLength(), Math::max);
+                    connectionPool.acquireUninterruptibly();
+                    try {
+                        sleep(DB_TIME_MS);
+                    } finally {
+                        connectionPool.release();
+                    }
+                } finally {
+                    if (guard != null) {
+                        guard.release();
+                    }
+                }
+                completed.incrementAndGet();
+                latencies[index] = System.nanoTime() - requestStart;
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        running.set(false);
+        background.join();
+
+        Arrays.sort(latencies);
+        long[] waits = Arrays.copyOf(backgroundWaits, Math.min(backgroundCount.get(), backgroundWaits.length));
+        Arrays.sort(waits);
+        return new Result(name, completed.get() / seconds, rejected.get(),
+                percentileMs(latencies, 0.50), percentileMs(latencies, 0.99),
+                maxWaiters.get(), percentileMs(waits, 0.99));
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(String name, double throughput, int rejected, double p50Ms, double p99Ms,
+                          int maxPoolWaiters, double backgroundP99Ms) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.chat.chat.common.id;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UUID 기본키 삽입 비교: 무작위(v4) vs 시간순(v7)
+ * 메시지 테이블과 같은 모양(UUID PK + 방 ID + 본문 + 생성 시각)에 같은 건수를 batch INSERT 하고
+ * 초당 삽입 건수와 PK 인덱스 크기를 출력합니다.
+ * v4는 삽입마다 인덱스의 임의 페이지를 건드려 페이지 분할과 캐시 미스가 늘고, v7은 오른쪽 끝에만 쌓입니다.
+ *
+ * <pre>
+ * BENCHMARK_DB_URL=jdbc:postgresql://localhost:5432/chat BENCHMARK_DB_USERNAME=... BENCHMARK_DB_PASSWORD=... \
+ * BENCHMARK_ROWS=3000000 ./gradlew benchmark --tests '*UuidKeyInsertBenchmark'
+ * </pre>
+ * BENCHMARK_DB_URL이 없으면 인메모리 H2로 실행하며, 이 경우 인덱스 크기는 출력하지 않습니다.
+ */
+@Tag("benchmark")
+class UuidKeyInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws Exception {
+        String url = System.getenv().getOrDefault("BENCHMARK_DB_URL", "jdbc:h2:mem:uuid-bench;DB_CLOSE_DELAY=-1");
+        boolean postgres = url.startsWith("jdbc:postgresql");
+        int rows = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_ROWS", postgres ? "3000000" : "500000"));
+
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("BENCHMARK_DB_USERNAME", "sa"));
+        properties.setProperty("password", System.getenv().getOrDefault("BENCHMARK_DB_PASSWORD", ""));
+        if (postgres) {
+            properties.setProperty("reWriteBatchedInserts", "true");
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, properties)) {
+            connection.setAutoCommit(false);
+            Result v4 = run(connection, "bench_uuid_v4", rows, UUID::randomUUID, postgres);
+            Result v7 = run(connection, "bench_uuid_v7", rows, UuidV7::generate, postgres);
+
+            System.out.printf("%-8s %10s %12s %14s%n", "key", "rows", "rows/s", "pk index (MB)");
+            print("v4", rows, v4);
+            print("v7", rows, v7);
+
+            assertThat(v4.count()).isEqualTo(rows);
+            assertThat(v7.count()).isEqualTo(rows);
+        }
+    }
+
+    private Result run(Connection connection, String table, int rows, Supplier<UUID> ids, boolean postgres)
+            throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, chat_room_id UUID NOT NULL, "
+                    + "content VARCHAR(1000) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        }
+        connection.commit();
+
+        UUID chatRoomId = UuidV7.generate();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, chat_room_id, content, created_at) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, chatRoomId);
+                insert.setString(3, "message " + i);
+                insert.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double rowsPerSecond = rows / ((System.nanoTime() - start) / 1_000_000_000d);
+
+        long indexBytes = -1;
+        long count;
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("ANALYZE " + table);
+                try (ResultSet rs = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+                    rs.next();
+                    indexBytes = rs.getLong(1);
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                rs.next();
+                count = rs.getLong(1);
+            }
+            statement.execute("DROP TABLE " + table);
+        }
+        connection.commit();
+        return new Result(rowsPerSecond, indexBytes, count);
+    }
+
+    private void print(String key, int rows, Result result) {
+        String index = result.indexBytes() < 0 ? "n/a" : String.format("%.1f", result.indexBytes() / 1024d / 1024d);
+        System.out.printf("%-8s %10d %12.0f %14s%n", key, rows, result.rowsPerSecond(), index);
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes, long count) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.chat.chat.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final UuidV7 generator = new UuidV7(clock);
+
+    @Test
+    void setsVersionAndVariantBits() {
+        UUID uuid = generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void embedsClockEpochMillis() {
+        assertThat(millis(generator.next())).isEqualTo(NOW);
+
+        clock.millis = NOW + 5;
+        assertThat(millis(generator.next())).isEqualTo(NOW + 5);
+    }
+
+    @Test
+    void isMonotonicWithinSameMillisecond() {
+        List<UUID> generated = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(generator.next());
+        }
+
+        for (int i = 1; i < generated.size(); i++) {
+            // 상위 64비트(시각 + 카운터)만으로 순서가 결정됨 (UUID.compareTo는 부호 있는 비교라 사용하지 않음)
+            assertThat(Long.compareUnsigned(generated.get(i).getMostSignificantBits(),
+                    generated.get(i - 1).getMostSignificantBits())).isPositive();
+        }
+        // 12비트 카운터(4096)가 넘치면 다음 밀리초로 이월
+        assertThat(millis(generated.getLast())).isEqualTo(NOW + 10_000 / 4096);
+    }
+
+    @Test
+    void staysMonotonicWhenClockMovesBackwards() {
+        UUID first = generator.next();
+
+        clock.millis = NOW - 1_000;
+        UUID second = generator.next();
+
+        assertThat(Long.compareUnsigned(second.getMostSignificantBits(), first.getMostSignificantBits())).isPositive();
+        assertThat(millis(second)).isEqualTo(NOW);
+    }
+
+    @Test
+    void sharedGeneratorUsesSystemClock() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+
+        // 같은 JVM의 다른 코드가 카운터를 앞 밀리초로 이월시켰을 수 있으므로 하한만 확인
+        assertThat(millis(uuid)).isGreaterThanOrEqualTo(before);
+        assertThat(uuid.version()).isEqualTo(7);
+    }
+
+    private static long millis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
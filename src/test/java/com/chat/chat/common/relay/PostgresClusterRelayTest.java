@@ -0,0 +1,49 @@
+package com.chat.chat.common.relay;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresClusterRelayTest {
+
+    /**
+     * PostgresClusterRelay.MAX_CHUNK_CHARS
+     */
+    private static final int MAX_CHUNK_CHARS = 2600;
+
+    private final PostgresClusterRelay relay = new PostgresClusterRelay();
+
+    @Test
+    void chunksDoNotSplitSurrogatePairs() {
+        // 이모지의 high surrogate가 첫 조각의 마지막 문자 위치에 오도록 구성
+        String prefix = "{\"content\":\"";
+        String json = prefix + "a".repeat(MAX_CHUNK_CHARS - 1 - prefix.length()) + "😀" + "가😀".repeat(2000) + "\"}";
+        assertThat(Character.isHighSurrogate(json.charAt(MAX_CHUNK_CHARS - 1))).isTrue();
+
+        List<String> parts = ReflectionTestUtils.invokeMethod(relay, "toNotifyPayloads", json);
+
+        assertThat(parts).hasSizeGreaterThan(1);
+        String reassembled = null;
+        for (String part : parts) {
+            // 홀로 남은 서로게이트는 UTF-8 인코딩에서 '?'로 바뀌어 왕복이 깨짐
+            byte[] utf8 = part.getBytes(StandardCharsets.UTF_8);
+            assertThat(new String(utf8, StandardCharsets.UTF_8)).isEqualTo(part);
+            assertThat(utf8.length).isLessThan(8000);
+            reassembled = ReflectionTestUtils.invokeMethod(relay, "onChunk", part);
+        }
+        assertThat(reassembled).isEqualTo(json);
+    }
+
+    @Test
+    void smallPayloadIsSentAsIs() {
+        String json = "{\"content\":\"😀\"}";
+
+        List<String> parts = ReflectionTestUtils.invokeMethod(relay, "toNotifyPayloads", json);
+
+        assertThat(parts).containsExactly(json);
+    }
+}
@@ -0,0 +1,108 @@
+package com.chat.chat.domain.chatroom.service;
+
+import com.chat.chat.common.id.UuidV7;
+import com.chat.chat.domain.chatroom.entity.ChatRoom;
+import com.chat.chat.domain.chatroom.repository.ChatRoomRepository;
+import com.chat.chat.domain.user.entity.User;
+import com.chat.chat.domain.user.entity.UserKind;
+import com.chat.chat.domain.user.repository.UserRepository;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 생성 비용 비교: 채팅방마다 전용 챗봇 사용자 INSERT vs 공유 챗봇 계정
+ * 같은 사용자가 채팅방을 연속으로 만들 때 건당 지연 시간과 users 테이블 증가량을 측정합니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@ChatDataJpaTest
+class ChatRoomCreationBenchmark {
+
+    private static final int WARMUP = 500;
+    private static final int ROOMS = 5_000;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareDedicatedAndSharedBot() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        UUID userId = fixtures.createUser();
+
+        // 기존 createChatRoom: 사용자 조회 + 전용 챗봇 사용자 INSERT + 채팅방 INSERT
+        Runnable dedicated = () -> transactionTemplate.executeWithoutResult(status -> {
+            User user = userService.findUserById(userId);
+            User botUser = userRepository.save(User.builder()
+                    .id(UuidV7.generate())
+                    .email("bot-" + UUID.randomUUID() + "@chat.local")
+                    .nickname("AI Bot")
+                    .kind(UserKind.BOT)
+                    .build());
+            chatRoomRepository.save(ChatRoom.create(user, botUser));
+        });
+        Runnable shared = () -> chatRoomService.createChatRoom(userId);
+
+        run(dedicated, WARMUP);
+        run(shared, WARMUP);
+
+        long usersBefore = userRepository.count();
+        long[] dedicatedNanos = run(dedicated, ROOMS);
+        long dedicatedUsers = userRepository.count() - usersBefore;
+
+        usersBefore = userRepository.count();
+        long[] sharedNanos = run(shared, ROOMS);
+        long sharedUsers = userRepository.count() - usersBefore;
+
+        System.out.printf("rooms created: %,d per mode%n", ROOMS);
+        System.out.printf("%-12s %12s %12s %12s%n", "mode", "avg(us)", "p99(us)", "user rows");
+        print("dedicated", dedicatedNanos, dedicatedUsers);
+        print("shared", sharedNanos, sharedUsers);
+
+        assertThat(sharedUsers).isZero();
+        assertThat(dedicatedUsers).isEqualTo(ROOMS);
+    }
+
+    private long[] run(Runnable createRoom, int count) {
+        long[] nanos = new long[count];
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            createRoom.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private void print(String mode, long[] nanos, long userRows) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long avg = Arrays.stream(sorted).sum() / sorted.length;
+        long p99 = sorted[(int) (sorted.length * 0.99) - 1];
+        System.out.printf("%-12s %12d %12d %12d%n", mode, avg / 1_000, p99 / 1_000, userRows);
+    }
+}
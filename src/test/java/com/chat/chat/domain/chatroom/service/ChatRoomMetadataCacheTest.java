@@ -0,0 +1,98 @@
+package com.chat.chat.domain.chatroom.service;
+
+import com.chat.chat.common.exception.EntityNotFoundException;
+import com.chat.chat.common.exception.InvalidValueException;
+import com.chat.chat.domain.chatroom.dto.ChatRoomMetadata;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅방 메타데이터 캐시
+ * 생성 시 채운 참여자/챗봇 정보로 참여자 검증과 챗봇 확인이 SQL 없이 끝나고, 비활성화 후 다시 읽히는지 Hibernate 통계로 확인합니다.
+ */
+@ChatDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ChatRoomMetadataCacheTest {
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private ChatRoomMetadataCache chatRoomMetadataCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+    private UUID botId;
+    private UUID chatRoomId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        userId = room.userId();
+        botId = room.botId();
+        chatRoomId = room.chatRoomId();
+    }
+
+    @Test
+    void createdRoomIsServedFromMemory() {
+        statistics.clear();
+        ChatRoomMetadata metadata = chatRoomService.getChatRoomMetadata(chatRoomId);
+        chatRoomService.validateParticipant(chatRoomId, userId);
+        boolean botIsParticipant = chatRoomService.isParticipant(chatRoomId, botId);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(metadata.getBotUserId()).isEqualTo(botId);
+        assertThat(metadata.isActive()).isTrue();
+        assertThat(botIsParticipant).isTrue();
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void firstAccessLoadsRoomWithParticipantsOnce() {
+        chatRoomMetadataCache.invalidate(chatRoomId);
+
+        statistics.clear();
+        ChatRoomMetadata metadata = chatRoomService.getChatRoomMetadata(chatRoomId);
+        chatRoomService.validateParticipant(chatRoomId, userId);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(metadata.getBotUserId()).isEqualTo(botId);
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsStrangersAndMissingRooms() {
+        UUID missingRoomId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> chatRoomService.validateParticipant(chatRoomId, UUID.randomUUID()))
+                .isInstanceOf(InvalidValueException.class);
+        assertThatThrownBy(() -> chatRoomService.validateParticipant(missingRoomId, userId))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(chatRoomService.isParticipant(missingRoomId, userId)).isFalse();
+    }
+
+    @Test
+    void deactivationEvictsCachedRoom() {
+        chatRoomService.deactivateChatRoom(chatRoomId, userId);
+
+        assertThat(chatRoomService.getChatRoomMetadata(chatRoomId).isActive()).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.chat.chat.domain.chatroom.service;
+
+import com.chat.chat.domain.chatroom.dto.ChatRoomResponse;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.domain.message.service.MessageService;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 조회 경로별 SQL 실행 횟수
+ * 목록 조회가 참여자 조인 한 번으로 끝나고, 채팅방 생성이 사용자 행 없이 채팅방 행만 추가하는지 Hibernate 통계로 확인합니다.
+ */
+@ChatDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ChatRoomQueryCountTest {
+
+    private static final int ROOMS = 8;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+    private final List<UUID> botIds = new ArrayList<>();
+    private final List<UUID> chatRoomIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        userId = fixtures.createUser();
+        chatRoomIds.clear();
+        botIds.clear();
+        for (int i = 0; i < ROOMS; i++) {
+            ChatFixtures.Room room = fixtures.createChatRoom(userId);
+            chatRoomIds.add(room.chatRoomId());
+            botIds.add(room.botId());
+            messageService.sendMessageAsParticipant(room.chatRoomId(), room.botId(), "hello " + i, MessageType.TEXT);
+        }
+    }
+
+    @Test
+    void roomListingsLoadParticipantsInOneStatement() {
+        statistics.clear();
+        List<ChatRoomResponse> rooms = chatRoomService.getUserChatRooms(userId);
+        long listStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ChatRoomResponse> unreadRooms = chatRoomService.getChatRoomsWithUnreadMessages(userId);
+        long unreadStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ChatRoomResponse room = chatRoomService.getChatRoomById(chatRoomIds.getFirst());
+        long detailStatements = statistics.getPrepareStatementCount();
+
+        assertThat(rooms).hasSize(ROOMS);
+        assertThat(rooms).allSatisfy(chatRoom -> assertThat(chatRoom.getUser1().getNickname()).isNotNull());
+        assertThat(unreadRooms).hasSize(ROOMS);
+        assertThat(room.getUser1().getNickname()).isNotNull();
+        assertThat(room.getUser2().getNickname()).isNotNull();
+        assertThat(listStatements).isEqualTo(1);
+        assertThat(unreadStatements).isEqualTo(1);
+        assertThat(detailStatements).isEqualTo(1);
+    }
+
+    @Test
+    void roomCreationSharesOneBotUser() {
+        statistics.clear();
+        ChatRoomResponse chatRoom = chatRoomService.createChatRoom(userId);
+        long inserts = statistics.getEntityInsertCount();
+
+        assertThat(botIds).containsOnly(botIds.getFirst());
+        assertThat(userService.getUserSnapshot(botIds.getFirst()).isBot()).isTrue();
+        assertThat(userService.getUserSnapshot(userId).isBot()).isFalse();
+        assertThat(List.of(chatRoom.getUser1().getId(), chatRoom.getUser2().getId())).contains(botIds.getFirst());
+        // 채팅방 행만 추가
+        assertThat(inserts).isEqualTo(1);
+    }
+}
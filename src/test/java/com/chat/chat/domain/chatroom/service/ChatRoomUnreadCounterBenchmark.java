@@ -0,0 +1,116 @@
+package com.chat.chat.domain.chatroom.service;
+
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 마지막 메시지/안 읽은 수 갱신 비교: 엔티티 read-modify-write vs 원자적 UPDATE
+ * 한 채팅방에 사용자와 챗봇 양쪽 스레드가 동시에 갱신할 때의 초당 처리 건수와 유실된 증가분을 측정합니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@ChatDataJpaTest
+class ChatRoomUnreadCounterBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 2_000;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareReadModifyWriteAndAtomicUpdate() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ChatFixtures.Room legacyRoom = fixtures.createChatRoom();
+        double legacy = run(legacyRoom, (chatRoomId, senderId, content) ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    // 기존 updateLastMessage: 채팅방을 읽고 Java에서 증가시킨 값을 그대로 기록
+                    Map<String, Object> row = jdbcTemplate.queryForMap(
+                            "SELECT user1_id, user1_unread_count, user2_unread_count FROM chat_rooms "
+                                    + "WHERE chat_room_id = ?", chatRoomId);
+                    boolean senderIsUser1 = senderId.equals(row.get("user1_id"));
+                    int user1 = ((Number) row.get("user1_unread_count")).intValue() + (senderIsUser1 ? 0 : 1);
+                    int user2 = ((Number) row.get("user2_unread_count")).intValue() + (senderIsUser1 ? 1 : 0);
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                    jdbcTemplate.update("UPDATE chat_rooms SET last_message = ?, last_message_at = ?, updated_at = ?, "
+                                    + "user1_unread_count = ?, user2_unread_count = ? WHERE chat_room_id = ?",
+                            content, now, now, user1, user2, chatRoomId);
+                }));
+        long legacyTotal = totalUnread(jdbcTemplate, legacyRoom.chatRoomId());
+
+        ChatFixtures.Room atomicRoom = fixtures.createChatRoom();
+        double atomic = run(atomicRoom, chatRoomService::updateLastMessage);
+        long atomicTotal = totalUnread(jdbcTemplate, atomicRoom.chatRoomId());
+
+        long expected = (long) THREADS * UPDATES_PER_THREAD;
+        System.out.printf("%-20s %12s %12s%n", "mode", "updates/s", "lost");
+        System.out.printf("%-20s %12.0f %12d%n", "read-modify-write", legacy, expected - legacyTotal);
+        System.out.printf("%-20s %12.0f %12d%n", "atomic update", atomic, expected - atomicTotal);
+        System.out.printf("throughput gain: %.2fx%n", atomic / legacy);
+
+        assertThat(atomicTotal).isEqualTo(expected);
+    }
+
+    private double run(ChatFixtures.Room room, Updater updater) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> tasks = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            // 절반은 사용자, 절반은 챗봇이 보낸 것으로 갱신
+            UUID senderId = t % 2 == 0 ? room.userId() : room.botId();
+            tasks.add(workers.submit(() -> {
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    updater.update(room.chatRoomId(), senderId, "message " + i);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        workers.shutdown();
+        return THREADS * UPDATES_PER_THREAD / (elapsed / 1_000_000_000d);
+    }
+
+    private long totalUnread(JdbcTemplate jdbcTemplate, UUID chatRoomId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT user1_unread_count + user2_unread_count FROM chat_rooms WHERE chat_room_id = ?",
+                Long.class, chatRoomId);
+    }
+
+    @FunctionalInterface
+    private interface Updater {
+        void update(UUID chatRoomId, UUID senderId, String content);
+    }
+}
@@ -0,0 +1,130 @@
+package com.chat.chat.domain.chatroom.service;
+
+import com.chat.chat.common.exception.ErrorCode;
+import com.chat.chat.common.exception.InvalidValueException;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.domain.message.service.MessageService;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅방 안 읽은 수 동시성
+ * 같은 채팅방에 사용자와 챗봇이 동시에 메시지를 보내도 양쪽 안 읽은 수가 정확히 누적되는지 확인합니다.
+ */
+@ChatDataJpaTest
+class ChatRoomUnreadCounterTest {
+
+    private static final int SENDERS_PER_SIDE = 4;
+    private static final int MESSAGES_PER_SENDER = 100;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void concurrentSendsKeepExactUnreadCounts() throws Exception {
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        UUID chatRoomId = room.chatRoomId();
+        UUID userId = room.userId();
+        UUID botId = room.botId();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS_PER_SIDE * 2);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int s = 0; s < SENDERS_PER_SIDE * 2; s++) {
+            UUID senderId = s % 2 == 0 ? userId : botId;
+            tasks.add(senders.submit(() -> {
+                for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                    messageService.sendMessageAsParticipant(chatRoomId, senderId, "message " + i, MessageType.TEXT);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        senders.shutdown();
+
+        int perSide = SENDERS_PER_SIDE * MESSAGES_PER_SENDER;
+        assertThat(unreadCount(jdbcTemplate, chatRoomId, userId)).isEqualTo(perSide);
+        assertThat(unreadCount(jdbcTemplate, chatRoomId, botId)).isEqualTo(perSide);
+
+        // 읽은 만큼만 차감
+        assertThat(chatRoomService.resetUnreadCount(chatRoomId, userId)).isEqualTo(perSide);
+        assertThat(unreadCount(jdbcTemplate, chatRoomId, userId)).isZero();
+        assertThat(unreadCount(jdbcTemplate, chatRoomId, botId)).isEqualTo(perSide);
+    }
+
+    @Test
+    void deactivationDuringSendsKeepsUnreadCounts() throws Exception {
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        UUID chatRoomId = room.chatRoomId();
+        UUID userId = room.userId();
+        UUID botId = room.botId();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS_PER_SIDE);
+        AtomicInteger sent = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int s = 0; s < SENDERS_PER_SIDE; s++) {
+            tasks.add(senders.submit(() -> {
+                for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                    try {
+                        messageService.sendMessageAsParticipant(chatRoomId, botId, "message " + i, MessageType.TEXT);
+                    } catch (InvalidValueException e) {
+                        // 비활성화 이후 전송은 거부됨
+                        assertThat(e.getErrorCode()).isEqualTo(ErrorCode.CHAT_ROOM_INACTIVE);
+                        return null;
+                    }
+                    sent.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        // 전송 도중 비활성화 (행 전체를 다시 쓰면 그사이의 증가분이 사라짐)
+        chatRoomService.deactivateChatRoom(chatRoomId, userId);
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        senders.shutdown();
+
+        assertThat(unreadCount(jdbcTemplate, chatRoomId, userId)).isEqualTo(sent.get());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT is_active FROM chat_rooms WHERE chat_room_id = ?", Boolean.class, chatRoomId)).isFalse();
+        assertThatThrownBy(() -> messageService.sendMessageAsParticipant(chatRoomId, botId, "late", MessageType.TEXT))
+                .isInstanceOf(InvalidValueException.class);
+    }
+
+    private int unreadCount(JdbcTemplate jdbcTemplate, UUID chatRoomId, UUID userId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT user1_id, user1_unread_count, user2_unread_count FROM chat_rooms WHERE chat_room_id = ?",
+                chatRoomId);
+        return ((Number) (userId.equals(row.get("user1_id"))
+                ? row.get("user1_unread_count")
+                : row.get("user2_unread_count"))).intValue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.common.exception.InvalidValueException;
+import com.chat.chat.domain.message.dto.MessageResponse;
+import com.chat.chat.domain.message.dto.MessageSliceResponse;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 커서 기반 메시지 히스토리 조회
+ * created_at이 같은 메시지가 페이지 경계에 걸쳐도 누락/중복 없이 최신순으로 끝까지 읽히는지 확인합니다.
+ */
+@ChatDataJpaTest
+class MessageCursorPaginationTest {
+
+    private static final int MESSAGES = 57;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID userId;
+    private UUID chatRoomId;
+
+    @BeforeEach
+    void setUp() {
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        userId = room.userId();
+        chatRoomId = room.chatRoomId();
+
+        for (int i = 0; i < MESSAGES; i++) {
+            messageService.sendMessageAsParticipant(chatRoomId, userId, "message " + i, MessageType.TEXT);
+        }
+        // 10건씩 같은 시각으로 맞춰 created_at 동률을 만듦
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "SELECT message_id FROM messages WHERE chat_room_id = ? ORDER BY created_at", UUID.class, chatRoomId);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE messages SET created_at = ? WHERE message_id = ?",
+                    Timestamp.valueOf(base.plusSeconds(i / 10)), ids.get(i));
+        }
+    }
+
+    @Test
+    void walksWholeHistoryWithoutGapsOrDuplicates() {
+        List<MessageResponse> collected = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MessageSliceResponse slice = messageService.getMessagesByCursor(chatRoomId, userId, cursor, 10);
+            collected.addAll(slice.getMessages());
+            assertThat(slice.getNextCursor() == null).isEqualTo(!slice.isHasNext());
+            cursor = slice.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(collected).hasSize(MESSAGES);
+        assertThat(pages).isEqualTo(6);
+        assertThat(new HashSet<>(collected.stream().map(MessageResponse::getId).toList())).hasSize(collected.size());
+        for (int i = 1; i < collected.size(); i++) {
+            assertThat(collected.get(i).getCreatedAt()).isBeforeOrEqualTo(collected.get(i - 1).getCreatedAt());
+        }
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> messageService.getMessagesByCursor(chatRoomId, userId, "not-a-cursor", 10))
+                .isInstanceOf(InvalidValueException.class);
+    }
+}
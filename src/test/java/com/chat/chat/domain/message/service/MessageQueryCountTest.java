@@ -0,0 +1,114 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.domain.message.dto.MessageReceipt;
+import com.chat.chat.domain.message.dto.MessageResponse;
+import com.chat.chat.domain.message.dto.MessageSendRequest;
+import com.chat.chat.domain.message.dto.MessageSliceResponse;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 전송/조회 경로별 SQL 실행 횟수
+ * 기존 경로(채팅방/참여자/발신자 조회 후 저장)와 세션 바인딩 경로(참조만 연결 후 저장)를 비교하고,
+ * 목록 조회가 메시지 수와 관계없이 고정된 횟수로 끝나는지 Hibernate 통계로 확인합니다.
+ */
+@ChatDataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MessageQueryCountTest {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+    private UUID botId;
+    private UUID chatRoomId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        userId = room.userId();
+        botId = room.botId();
+        chatRoomId = room.chatRoomId();
+    }
+
+    @Test
+    void participantPathUsesFewerStatementsThanLegacyPath() {
+        statistics.clear();
+        messageService.sendMessage(MessageSendRequest.builder()
+                .chatRoomId(chatRoomId)
+                .senderId(userId)
+                .content("legacy")
+                .messageType(MessageType.TEXT)
+                .build());
+        // 기존 컨트롤러는 닉네임을 얻기 위해 발신자를 한 번 더 조회
+        userService.findUserById(userId);
+        long legacyStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        MessageReceipt receipt = messageService.sendMessageAsParticipant(
+                chatRoomId, userId, "bound", MessageType.TEXT);
+        long participantStatements = statistics.getPrepareStatementCount();
+
+        assertThat(receipt.getId()).isNotNull();
+        assertThat(receipt.getCreatedAt()).isNotNull();
+        // INSERT message + 원자적 UPDATE chat_room
+        assertThat(participantStatements).isLessThanOrEqualTo(2);
+        assertThat(participantStatements).isLessThan(legacyStatements);
+    }
+
+    @Test
+    void messageListingsLoadSendersInTheListingQuery() {
+        for (int i = 0; i < 30; i++) {
+            messageService.sendMessageAsParticipant(chatRoomId, i % 2 == 0 ? userId : botId,
+                    "message " + i, MessageType.TEXT);
+        }
+
+        statistics.clear();
+        MessageSliceResponse slice = messageService.getMessagesByCursor(chatRoomId, userId, null, 20);
+        long cursorStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Page<MessageResponse> page = messageService.getMessages(chatRoomId, userId, PageRequest.of(0, 20));
+        long pageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long unread = messageService.getUnreadMessages(chatRoomId, userId).size();
+        long unreadStatements = statistics.getPrepareStatementCount();
+
+        assertThat(slice.getMessages()).hasSize(20);
+        assertThat(slice.getMessages()).allSatisfy(message -> assertThat(message.getSender().getNickname()).isNotNull());
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(unread).isEqualTo(15);
+        // 참여자 확인은 채팅방 메타데이터 캐시에서 끝나므로 목록(발신자 조인)만
+        assertThat(cursorStatements).isEqualTo(1);
+        // 목록(발신자 조인) + COUNT
+        assertThat(pageStatements).isEqualTo(2);
+        // 읽음 위치 + 기존 is_read 기준 위치 + 목록(발신자 조인)
+        assertThat(unreadStatements).isEqualTo(3);
+    }
+}
@@ -0,0 +1,145 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.domain.message.dto.MessageReceipt;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 지속 저장 처리량 비교: 메시지당 트랜잭션(sync) vs write-behind group commit
+ * 여러 생산자 스레드가 여러 채팅방에 메시지를 보내고, 모두 커밋될 때까지의 초당 저장 건수를 측정합니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@ChatDataJpaTest
+class MessageWriteBehindBenchmark {
+
+    private static final int ROOMS = 20;
+    private static final int PRODUCERS = 8;
+    private static final int MESSAGES_PER_PRODUCER = 2_500;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareSustainedInsertThroughput() throws Exception {
+        List<ChatFixtures.Room> rooms = createRooms();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        int total = PRODUCERS * MESSAGES_PER_PRODUCER;
+        // 같은 컨텍스트(공유 H2)를 쓰는 다른 테스트의 행은 제외하고 증가분만 비교
+        long storedBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM messages", Long.class);
+
+        double sync = run(rooms, (room, sender, content) -> {
+            messageService.sendMessageAsParticipant(room, sender, content, MessageType.TEXT);
+            return null;
+        });
+
+        MessageWriteBehindQueue afterFlush = writeBehind(jdbcTemplate, "after-flush");
+        double writeBehindAfterFlush = run(rooms,
+                (room, sender, content) -> afterFlush.submit(room, sender, content, MessageType.TEXT));
+        ReflectionTestUtils.invokeMethod(afterFlush, "shutdown");
+
+        MessageWriteBehindQueue immediate = writeBehind(jdbcTemplate, "immediate");
+        double writeBehindImmediate = run(rooms,
+                (room, sender, content) -> immediate.submit(room, sender, content, MessageType.TEXT));
+        // immediate 모드는 커밋까지 기다린 시간을 포함하지 않으므로 종료(drain) 후 저장 건수만 확인
+        ReflectionTestUtils.invokeMethod(immediate, "shutdown");
+
+        System.out.printf("%-26s %12s%n", "mode", "msgs/s");
+        System.out.printf("%-26s %12.0f%n", "sync", sync);
+        System.out.printf("%-26s %12.0f%n", "write-behind(after-flush)", writeBehindAfterFlush);
+        System.out.printf("%-26s %12.0f%n", "write-behind(immediate)", writeBehindImmediate);
+        System.out.println("after-flush batches: " + afterFlush.getMetrics());
+
+        long stored = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM messages", Long.class) - storedBefore;
+        long unread = rooms.stream()
+                .mapToLong(room -> jdbcTemplate.queryForObject(
+                        "SELECT user1_unread_count + user2_unread_count FROM chat_rooms WHERE chat_room_id = ?",
+                        Long.class, room.chatRoomId()))
+                .sum();
+        assertThat(stored).isEqualTo(3L * total);
+        // 모든 메시지는 사람 사용자가 보냈으므로 메시지당 챗봇 쪽 안 읽은 수가 1씩 증가 (세 모드 모두 원자적 증가)
+        assertThat(unread).isEqualTo(3L * total);
+    }
+
+    private double run(List<ChatFixtures.Room> rooms, Sender sender) throws Exception {
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            tasks.add(producers.submit(() -> {
+                for (int i = 0; i < MESSAGES_PER_PRODUCER; i++) {
+                    ChatFixtures.Room room = rooms.get((producer + i) % rooms.size());
+                    CompletableFuture<MessageReceipt> future = sender.send(room.chatRoomId(), room.userId(), "message " + i);
+                    if (future != null) {
+                        synchronized (pending) {
+                            pending.add(future);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        producers.shutdown();
+        return PRODUCERS * MESSAGES_PER_PRODUCER / (elapsed / 1_000_000_000d);
+    }
+
+    private MessageWriteBehindQueue writeBehind(JdbcTemplate jdbcTemplate, String ack) {
+        MessageWriteBehindQueue queue = new MessageWriteBehindQueue(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(queue, "persistenceMode", MessageWriteBehindQueue.MODE_WRITE_BEHIND);
+        ReflectionTestUtils.setField(queue, "ackMode", ack);
+        ReflectionTestUtils.setField(queue, "flushIntervalMs", 5L);
+        ReflectionTestUtils.setField(queue, "maxBatchSize", 500);
+        ReflectionTestUtils.setField(queue, "queueCapacity", PRODUCERS * MESSAGES_PER_PRODUCER);
+        ReflectionTestUtils.setField(queue, "maxRetries", 3);
+        ReflectionTestUtils.invokeMethod(queue, "init");
+        return queue;
+    }
+
+    private List<ChatFixtures.Room> createRooms() {
+        List<ChatFixtures.Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(fixtures.createChatRoom());
+        }
+        return rooms;
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        CompletableFuture<MessageReceipt> send(UUID chatRoomId, UUID senderId, String content);
+    }
+}
@@ -0,0 +1,82 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.domain.message.dto.MessageReceipt;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * write-behind 저장 실패 격리
+ * 배치 안의 메시지 하나가 제약 조건을 위반해도 재시도 후 메시지별 저장으로 나머지는 저장되는지 확인합니다.
+ */
+@ChatDataJpaTest
+class MessageWriteBehindQueueTest {
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MessageWriteBehindQueue queue;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        queue = new MessageWriteBehindQueue(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(queue, "persistenceMode", MessageWriteBehindQueue.MODE_WRITE_BEHIND);
+        ReflectionTestUtils.setField(queue, "ackMode", MessageWriteBehindQueue.ACK_AFTER_FLUSH);
+        // 네 건이 한 배치로 모이도록 flush 간격을 넉넉히
+        ReflectionTestUtils.setField(queue, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(queue, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(queue, "queueCapacity", 100);
+        ReflectionTestUtils.setField(queue, "maxRetries", 1);
+        ReflectionTestUtils.invokeMethod(queue, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(queue, "shutdown");
+    }
+
+    @Test
+    void failedBatchFallsBackToPerMessageInserts() throws Exception {
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        UUID chatRoomId = room.chatRoomId();
+        UUID userId = room.userId();
+
+        CompletableFuture<MessageReceipt> first = queue.submit(chatRoomId, userId, "first", MessageType.TEXT);
+        // 존재하지 않는 채팅방 → 외래 키 위반
+        CompletableFuture<MessageReceipt> broken = queue.submit(UUID.randomUUID(), userId, "broken", MessageType.TEXT);
+        CompletableFuture<MessageReceipt> second = queue.submit(chatRoomId, userId, "second", MessageType.TEXT);
+        CompletableFuture<MessageReceipt> third = queue.submit(chatRoomId, userId, "third", MessageType.TEXT);
+
+        CompletableFuture.allOf(first, second, third).get(30, TimeUnit.SECONDS);
+        assertThat(broken).failsWithin(30, TimeUnit.SECONDS);
+
+        List<String> stored = jdbcTemplate.queryForList(
+                "SELECT content FROM messages WHERE chat_room_id = ? ORDER BY created_at, message_id",
+                String.class, chatRoomId);
+        assertThat(stored).containsExactly("first", "second", "third");
+        assertThat(queue.getMetrics()).containsEntry("persisted", 3L).containsEntry("failed", 1L);
+    }
+}
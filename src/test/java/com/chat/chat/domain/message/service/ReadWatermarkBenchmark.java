@@ -0,0 +1,128 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.common.id.UuidV7;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽음 처리 비용 비교: 메시지 행 is_read UPDATE vs (채팅방, 사용자) 읽음 위치 한 행
+ * 메시지 10만 건이 쌓인 채팅방에서 "새 메시지 1건 도착 → 모두 읽음 → 안 읽은 수 조회"를 반복해 회당 시간을 측정합니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@ChatDataJpaTest
+class ReadWatermarkBenchmark {
+
+    private static final int MESSAGES = 100_000;
+    private static final int ROUNDS = 200;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO messages (message_id, chat_room_id, sender_id, message_type, content, "
+                    + "is_read, is_deleted, created_at) VALUES (?, ?, ?, 'TEXT', ?, false, false, ?)";
+
+    private static final String LEGACY_MARK_ALL_SQL =
+            "UPDATE messages SET is_read = true, read_at = ? "
+                    + "WHERE chat_room_id = ? AND sender_id <> ? AND is_read = false";
+
+    private static final String LEGACY_COUNT_SQL =
+            "SELECT COUNT(*) FROM messages "
+                    + "WHERE chat_room_id = ? AND sender_id <> ? AND is_read = false AND is_deleted = false";
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private LocalDateTime clock = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void compareMarkReadAndUnreadCount() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        ChatFixtures.Room legacyRoom = createRoomWithHistory();
+        ChatFixtures.Room watermarkRoom = createRoomWithHistory();
+
+        long start = System.nanoTime();
+        jdbcTemplate.update(LEGACY_MARK_ALL_SQL, Timestamp.valueOf(LocalDateTime.now()), legacyRoom.chatRoomId(), legacyRoom.userId());
+        long legacyInitialMicros = (System.nanoTime() - start) / 1_000;
+
+        start = System.nanoTime();
+        messageService.markAllAsRead(watermarkRoom.chatRoomId(), watermarkRoom.userId());
+        long watermarkInitialMicros = (System.nanoTime() - start) / 1_000;
+
+        long legacyMark = 0, legacyCount = 0, watermarkMark = 0, watermarkCount = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            insertMessages(legacyRoom, 1);
+            insertMessages(watermarkRoom, 1);
+
+            start = System.nanoTime();
+            Long unread = jdbcTemplate.queryForObject(LEGACY_COUNT_SQL, Long.class, legacyRoom.chatRoomId(), legacyRoom.userId());
+            legacyCount += System.nanoTime() - start;
+            assertThat(unread).isEqualTo(1L);
+
+            start = System.nanoTime();
+            jdbcTemplate.update(LEGACY_MARK_ALL_SQL,
+                    Timestamp.valueOf(LocalDateTime.now()), legacyRoom.chatRoomId(), legacyRoom.userId());
+            legacyMark += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            unread = messageService.getUnreadMessageCount(watermarkRoom.chatRoomId(), watermarkRoom.userId());
+            watermarkCount += System.nanoTime() - start;
+            assertThat(unread).isEqualTo(1L);
+
+            start = System.nanoTime();
+            messageService.markAllAsRead(watermarkRoom.chatRoomId(), watermarkRoom.userId());
+            watermarkMark += System.nanoTime() - start;
+        }
+
+        assertThat(messageService.getUnreadMessageCount(watermarkRoom.chatRoomId(), watermarkRoom.userId())).isZero();
+
+        System.out.printf("room size: %,d messages, rounds: %d%n", MESSAGES, ROUNDS);
+        System.out.printf("%-12s %18s %16s %16s%n", "model", "first read-all(us)", "read-all(us/op)", "count(us/op)");
+        System.out.printf("%-12s %18d %16d %16d%n", "is_read",
+                legacyInitialMicros, legacyMark / ROUNDS / 1_000, legacyCount / ROUNDS / 1_000);
+        System.out.printf("%-12s %18d %16d %16d%n", "watermark",
+                watermarkInitialMicros, watermarkMark / ROUNDS / 1_000, watermarkCount / ROUNDS / 1_000);
+    }
+
+    /**
+     * 챗봇이 보낸 메시지 MESSAGES건이 있는 채팅방
+     */
+    private ChatFixtures.Room createRoomWithHistory() {
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        insertMessages(room, MESSAGES);
+        return room;
+    }
+
+    private void insertMessages(ChatFixtures.Room room, int count) {
+        List<Object[]> rows = new ArrayList<>(Math.min(count, 1_000));
+        for (int i = 0; i < count; i++) {
+            clock = clock.plusNanos(1_000);
+            rows.add(new Object[]{UuidV7.generate(), room.chatRoomId(), room.botId(), "message " + i, Timestamp.valueOf(clock)});
+            if (rows.size() == 1_000) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+}
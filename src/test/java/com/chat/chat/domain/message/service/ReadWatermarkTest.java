@@ -0,0 +1,85 @@
+package com.chat.chat.domain.message.service;
+
+import com.chat.chat.domain.message.dto.MessageReceipt;
+import com.chat.chat.domain.message.dto.MessageResponse;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽음 위치 기반 안 읽은 메시지 계산
+ * 읽음 위치는 앞으로만 이동하고, 읽음 위치가 없으면 기존 is_read 플래그를 기준으로 계산되는지 확인합니다.
+ */
+@ChatDataJpaTest
+class ReadWatermarkTest {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID userId;
+    private UUID chatRoomId;
+    private final List<UUID> botMessageIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ChatFixtures.Room room = fixtures.createChatRoom();
+        userId = room.userId();
+        chatRoomId = room.chatRoomId();
+        UUID botId = room.botId();
+
+        botMessageIds.clear();
+        for (int i = 0; i < 3; i++) {
+            MessageReceipt receipt = messageService.sendMessageAsParticipant(
+                    chatRoomId, botId, "bot " + i, MessageType.TEXT);
+            botMessageIds.add(receipt.getId());
+            // 사용자 자신의 메시지는 안 읽은 수에 포함되지 않음
+            messageService.sendMessageAsParticipant(chatRoomId, userId, "user " + i, MessageType.TEXT);
+        }
+    }
+
+    @Test
+    void watermarkOnlyMovesForward() {
+        assertThat(messageService.getUnreadMessageCount(chatRoomId, userId)).isEqualTo(3L);
+
+        messageService.markMessageAsRead(botMessageIds.get(1), userId);
+        assertThat(messageService.getUnreadMessageCount(chatRoomId, userId)).isEqualTo(1L);
+        assertThat(messageService.getUnreadMessages(chatRoomId, userId))
+                .extracting(MessageResponse::getId)
+                .containsExactly(botMessageIds.get(2));
+
+        // 더 앞의 메시지를 읽음 처리해도 위치가 되돌아가지 않음
+        messageService.markMessageAsRead(botMessageIds.get(0), userId);
+        assertThat(messageService.getUnreadMessageCount(chatRoomId, userId)).isEqualTo(1L);
+
+        // 읽음 위치 기준으로 아직 안 읽은 1건만 셈 (채팅방 카운터는 개별 읽음을 반영하지 않아 3)
+        assertThat(messageService.markAllAsRead(chatRoomId, userId)).isEqualTo(1);
+        assertThat(messageService.getUnreadMessageCount(chatRoomId, userId)).isZero();
+        assertThat(messageService.getUnreadMessages(chatRoomId, userId)).isEmpty();
+    }
+
+    @Test
+    void fallsBackToLegacyReadFlagWithoutWatermark() {
+        new JdbcTemplate(dataSource).update(
+                "UPDATE messages SET is_read = true WHERE message_id IN (?, ?)",
+                botMessageIds.get(0), botMessageIds.get(1));
+
+        assertThat(messageService.getUnreadMessageCount(chatRoomId, userId)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.domain.user.entity.User;
+import com.chat.chat.support.ChatDataJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공유 챗봇 사용자 동시 생성
+ * 첫 조회가 여러 스레드에서 동시에 일어나도 유니크 제약 위반 없이 같은 챗봇 한 명을 반환하는지 확인합니다.
+ */
+@ChatDataJpaTest
+class BotUserCreationTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UserService target;
+    private Object originalBotEmail;
+    private String botEmail;
+
+    @BeforeEach
+    void setUp() {
+        // 같은 컨텍스트의 다른 테스트가 이미 만든 챗봇과 겹치지 않도록 새 이메일 사용
+        target = AopTestUtils.getUltimateTargetObject(userService);
+        originalBotEmail = ReflectionTestUtils.getField(target, "botEmail");
+        botEmail = "bot-" + UUID.randomUUID().toString().substring(0, 8) + "@test.local";
+        ReflectionTestUtils.setField(target, "botEmail", botEmail);
+        ReflectionTestUtils.setField(target, "botUserId", null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(target, "botEmail", originalBotEmail);
+        ReflectionTestUtils.setField(target, "botUserId", null);
+    }
+
+    @Test
+    void concurrentFirstLookupsCreateSingleBot() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UUID>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                User botUser = userService.getBotUser();
+                return botUser.getId();
+            }));
+        }
+        start.countDown();
+
+        List<UUID> botIds = new ArrayList<>();
+        for (Future<UUID> result : results) {
+            botIds.add(result.get());
+        }
+        callers.shutdown();
+
+        assertThat(botIds).containsOnly(botIds.getFirst());
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Long.class, botEmail)).isEqualTo(1L);
+    }
+}
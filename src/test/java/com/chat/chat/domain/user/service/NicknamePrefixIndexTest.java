@@ -0,0 +1,128 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.common.relay.ClusterRelay;
+import com.chat.chat.common.relay.RelayEnvelope;
+import com.chat.chat.domain.user.dto.NicknameEntry;
+import com.chat.chat.domain.user.dto.UserCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NicknamePrefixIndexTest {
+
+    private final RecordingRelay relay = new RecordingRelay();
+
+    private NicknamePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // 적재(load)는 호출하지 않으므로 리포지토리 없이 생성
+        index = new NicknamePrefixIndex(null, relay);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.invokeMethod(index, "init");
+    }
+
+    @Test
+    void matchesPrefixIgnoringCase() {
+        index.put(UUID.randomUUID(), "Alice");
+        index.put(UUID.randomUUID(), "alicia");
+        index.put(UUID.randomUUID(), "Bob");
+        index.put(UUID.randomUUID(), "ali");
+
+        assertThat(index.search("ALI", null, 10))
+                .extracting(NicknameEntry::nickname)
+                .containsExactly("ali", "Alice", "alicia");
+        assertThat(index.search("c", null, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesWithKeysetCursorWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 7; i++) {
+            index.put(UUID.randomUUID(), "user" + i);
+        }
+        index.put(UUID.randomUUID(), "other");
+
+        List<String> seen = new ArrayList<>();
+        UserCursor cursor = null;
+        List<NicknameEntry> page;
+        do {
+            page = index.search("user", cursor, 3);
+            page.forEach(entry -> seen.add(entry.nickname()));
+            if (!page.isEmpty()) {
+                cursor = new UserCursor(UserCursor.Source.INDEX, page.getLast().nickname(), page.getLast().userId());
+            }
+        } while (page.size() == 3);
+
+        assertThat(seen).containsExactly("user0", "user1", "user2", "user3", "user4", "user5", "user6");
+    }
+
+    @Test
+    void renameAndRemoveAreReflectedAndBroadcast() {
+        UUID userId = UUID.randomUUID();
+        index.put(userId, "before");
+
+        index.put(userId, "after");
+        assertThat(index.search("before", null, 10)).isEmpty();
+        assertThat(index.search("aft", null, 10)).extracting(NicknameEntry::userId).containsExactly(userId);
+
+        index.remove(userId);
+        assertThat(index.search("aft", null, 10)).isEmpty();
+        assertThat(relay.published).hasSize(3);
+    }
+
+    @Test
+    void appliesRemoteUpdates() {
+        UUID userId = UUID.randomUUID();
+        Map<String, String> rename = new HashMap<>();
+        rename.put("userId", userId.toString());
+        rename.put("nickname", "remote");
+
+        relay.deliver(NicknamePrefixIndex.RELAY_TYPE, rename);
+        assertThat(index.search("rem", null, 10)).extracting(NicknameEntry::userId).containsExactly(userId);
+
+        rename.put("nickname", null);
+        relay.deliver(NicknamePrefixIndex.RELAY_TYPE, rename);
+        assertThat(index.search("rem", null, 10)).isEmpty();
+        assertThat(relay.published).isEmpty();
+    }
+
+    private static final class RecordingRelay implements ClusterRelay {
+
+        private final JsonMapper jsonMapper = JsonMapper.builder().build();
+        private final Map<String, Consumer<RelayEnvelope>> handlers = new HashMap<>();
+        private final List<Object> published = new ArrayList<>();
+
+        @Override
+        public String getNodeId() {
+            return "test";
+        }
+
+        @Override
+        public void publish(String type, String eventId, String destination, Object payload) {
+            published.add(payload);
+        }
+
+        @Override
+        public void subscribe(String type, Consumer<RelayEnvelope> handler) {
+            handlers.put(type, handler);
+        }
+
+        private void deliver(String type, Object payload) {
+            handlers.get(type).accept(RelayEnvelope.builder()
+                    .type(type)
+                    .nodeId("other")
+                    .payload(jsonMapper.valueToTree(payload))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.common.id.UuidV7;
+import com.chat.chat.domain.user.dto.UserSliceResponse;
+import com.chat.chat.support.ChatDataJpaTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 닉네임 검색 비교: 제한 없는 LIKE '%키워드%' 전체 목록 vs keyset 페이지 vs 메모리 prefix 인덱스
+ * 사용자 100만 명에서 검색어마다 응답 건수와 건당 시간을 측정합니다.
+ * H2에는 pg_trgm이 없으므로 DB 부분 일치는 여기서도 스캔이며, trigram 인덱스 효과는 PostgreSQL에서
+ * db/nickname-search-index.sql 적용 전후의 EXPLAIN ANALYZE로 확인합니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+@ChatDataJpaTest
+class NicknameSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int ROUNDS = 50;
+    private static final int PAGE_SIZE = 20;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (user_id, email, nickname, status, user_kind, is_active, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, 'OFFLINE', 'HUMAN', true, ?, ?)";
+
+    private static final String LEGACY_SEARCH_SQL =
+            "SELECT * FROM users WHERE nickname LIKE ? AND is_active = true";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NicknamePrefixIndex nicknamePrefixIndex;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void compareNicknameSearchPaths() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Random random = new Random(42);
+        List<String> nicknames = insertUsers(jdbcTemplate, random);
+
+        long start = System.nanoTime();
+        nicknamePrefixIndex.load();
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long legacyNanos = 0, keysetNanos = 0, indexNanos = 0;
+        long legacyRows = 0, keysetRows = 0, indexRows = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            String nickname = nicknames.get(random.nextInt(nicknames.size()));
+            // 부분 일치는 닉네임 중간 3글자, 자동완성은 앞 6글자
+            String keyword = nickname.substring(5, 8);
+            String prefix = nickname.substring(0, 6);
+
+            start = System.nanoTime();
+            legacyRows += jdbcTemplate.queryForList(LEGACY_SEARCH_SQL, "%" + keyword + "%").size();
+            legacyNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            UserSliceResponse page = userService.searchUsersByNickname(keyword, null, PAGE_SIZE);
+            keysetNanos += System.nanoTime() - start;
+            keysetRows += page.getUsers().size();
+
+            start = System.nanoTime();
+            UserSliceResponse suggestions = userService.autocompleteNickname(prefix, null, PAGE_SIZE);
+            indexNanos += System.nanoTime() - start;
+            indexRows += suggestions.getUsers().size();
+            assertThat(suggestions.getUsers()).isNotEmpty();
+        }
+
+        System.out.printf("users: %,d, rounds: %d, index load: %,d ms%n", USERS, ROUNDS, loadMillis);
+        System.out.printf("%-22s %14s %14s%n", "path", "rows/op", "us/op");
+        System.out.printf("%-22s %14d %14d%n", "LIKE (unbounded)", legacyRows / ROUNDS, legacyNanos / ROUNDS / 1_000);
+        System.out.printf("%-22s %14d %14d%n", "LIKE keyset page", keysetRows / ROUNDS, keysetNanos / ROUNDS / 1_000);
+        System.out.printf("%-22s %14d %14d%n", "prefix index", indexRows / ROUNDS, indexNanos / ROUNDS / 1_000);
+
+        assertThat(keysetRows).isLessThanOrEqualTo((long) ROUNDS * PAGE_SIZE);
+    }
+
+    private List<String> insertUsers(JdbcTemplate jdbcTemplate, Random random) {
+        List<String> nicknames = new ArrayList<>(USERS);
+        List<Object[]> rows = new ArrayList<>(10_000);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < USERS; i++) {
+            StringBuilder nickname = new StringBuilder("user");
+            for (int c = 0; c < 10; c++) {
+                nickname.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            nicknames.add(nickname.toString());
+            rows.add(new Object[]{UuidV7.generate(), nickname + "@bench.local", nickname.toString(), now, now});
+            if (rows.size() == 10_000) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        return nicknames;
+    }
+}
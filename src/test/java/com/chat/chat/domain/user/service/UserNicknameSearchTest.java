@@ -0,0 +1,125 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.domain.user.dto.UserResponse;
+import com.chat.chat.domain.user.dto.UserSliceResponse;
+import com.chat.chat.support.ChatDataJpaTest;
+import com.chat.chat.support.ChatFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 닉네임 검색/자동완성
+ * 부분 일치 검색의 keyset 페이지, LIKE 와일드카드 escape, prefix 인덱스와 가입/닉네임 변경/비활성화 동기화를 확인합니다.
+ */
+@ChatDataJpaTest(properties = "chat.nickname-index.load-on-startup=false")
+class UserNicknameSearchTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NicknamePrefixIndex nicknamePrefixIndex;
+
+    @Autowired
+    private ChatFixtures fixtures;
+
+    /**
+     * 테스트마다 다른 닉네임 접두어 (같은 컨텍스트의 다른 테스트 데이터와 섞이지 않도록)
+     */
+    private String tag;
+    private final Map<String, UUID> userIds = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        tag = "t" + UUID.randomUUID().toString().substring(0, 6);
+        userIds.clear();
+        // 다른 테스트가 적재한 인덱스를 적재 전 상태로 (DB 경로부터 시작)
+        ReflectionTestUtils.setField(nicknamePrefixIndex, "ready", false);
+        for (String suffix : List.of("Alpha", "alpha_1", "alphabet", "beta", "al%pha", "gamma")) {
+            createUser(tag + suffix);
+        }
+    }
+
+    @Test
+    void substringSearchPagesByKeysetCursor() {
+        // 닉네임 중간의 부분 문자열 (대소문자 무시)
+        String keyword = tag.substring(2) + "ALPH";
+        List<String> nicknames = collect(cursor -> userService.searchUsersByNickname(keyword, cursor, 2));
+
+        assertThat(nicknames).containsExactlyInAnyOrder(tag + "Alpha", tag + "alpha_1", tag + "alphabet");
+        assertThat(nicknames).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void treatsLikeWildcardsLiterally() {
+        assertThat(userService.searchUsersByNickname(tag + "al%", null, 10).getUsers())
+                .extracting(UserResponse::getNickname)
+                .containsExactly(tag + "al%pha");
+        assertThat(userService.searchUsersByNickname(tag + "alpha_", null, 10).getUsers())
+                .extracting(UserResponse::getNickname)
+                .containsExactly(tag + "alpha_1");
+    }
+
+    @Test
+    void autocompleteMatchesDatabaseFallbackAndFollowsProfileChanges() {
+        List<String> fallback = collect(cursor -> userService.autocompleteNickname(tag + "AL", cursor, 2));
+
+        nicknamePrefixIndex.load();
+        List<String> indexed = collect(cursor -> userService.autocompleteNickname(tag + "AL", cursor, 2));
+
+        // 두 경로 모두 (lower(nickname), user_id) 순
+        assertThat(indexed).containsExactlyElementsOf(fallback).hasSize(4);
+
+        userService.updateProfile(userIds.get(tag + "beta"), tag + "alpine", null);
+        userService.deactivateUser(userIds.get(tag + "Alpha"));
+        UUID created = createUser(tag + "alto");
+
+        assertThat(collect(cursor -> userService.autocompleteNickname(tag + "al", cursor, 10)))
+                .containsExactly(tag + "al%pha", tag + "alpha_1", tag + "alphabet", tag + "alpine", tag + "alto");
+        assertThat(userService.autocompleteNickname(tag + "alto", null, 10).getUsers())
+                .extracting(UserResponse::getId)
+                .containsExactly(created);
+    }
+
+    @Test
+    void restartsWhenCursorComesFromOtherSource() {
+        // 인덱스 적재 전 DB 경로에서 받은 커서
+        UserSliceResponse first = userService.autocompleteNickname(tag + "al", null, 2);
+        assertThat(first.isHasNext()).isTrue();
+
+        nicknamePrefixIndex.load();
+        UserSliceResponse resumed = userService.autocompleteNickname(tag + "al", first.getNextCursor(), 2);
+
+        assertThat(resumed.getUsers()).extracting(UserResponse::getNickname)
+                .containsExactlyElementsOf(first.getUsers().stream().map(UserResponse::getNickname).toList());
+    }
+
+    private List<String> collect(Function<String, UserSliceResponse> pageLoader) {
+        List<String> nicknames = new ArrayList<>();
+        String cursor = null;
+        UserSliceResponse page;
+        do {
+            page = pageLoader.apply(cursor);
+            page.getUsers().forEach(user -> nicknames.add(user.getNickname()));
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+        return nicknames;
+    }
+
+    private UUID createUser(String nickname) {
+        UUID userId = fixtures.createUser(nickname);
+        userIds.put(nickname, userId);
+        return userId;
+    }
+}
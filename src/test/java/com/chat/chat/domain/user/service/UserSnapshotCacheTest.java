@@ -0,0 +1,167 @@
+package com.chat.chat.domain.user.service;
+
+import com.chat.chat.common.relay.ClusterRelay;
+import com.chat.chat.common.relay.RelayEnvelope;
+import com.chat.chat.domain.user.dto.UserSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSnapshotCacheTest {
+
+    private final RecordingRelay relay = new RecordingRelay();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<UUID, UserSnapshot> loader = id -> {
+        loads.incrementAndGet();
+        return UserSnapshot.builder().id(id).nickname("user-" + loads.get()).active(true).build();
+    };
+
+    private UserSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(3, 60_000L);
+    }
+
+    @Test
+    void servesRepeatedLookupsFromMemory() {
+        UUID userId = UUID.randomUUID();
+
+        UserSnapshot first = cache.get(userId, loader);
+        UserSnapshot second = cache.get(userId, loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getMetrics()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void invalidationReloadsAndBroadcasts() {
+        UUID userId = UUID.randomUUID();
+        cache.get(userId, loader);
+
+        cache.invalidate(userId);
+
+        assertThat(cache.get(userId, loader).getNickname()).isEqualTo("user-2");
+        assertThat(relay.published).containsExactly(List.of(userId.toString()));
+    }
+
+    @Test
+    void remoteInvalidationEvictsLocalEntry() {
+        UUID userId = UUID.randomUUID();
+        cache.get(userId, loader);
+
+        relay.deliver(UserSnapshotCache.RELAY_TYPE, List.of(userId.toString()));
+
+        cache.get(userId, loader);
+        assertThat(loads).hasValue(2);
+        assertThat(relay.published).isEmpty();
+    }
+
+    @Test
+    void doesNotCacheLoadThatOverlappedInvalidation() {
+        UUID userId = UUID.randomUUID();
+
+        // 조회 도중 다른 스레드의 커밋 후 무효화가 끼어든 상황
+        cache.get(userId, id -> {
+            cache.invalidate(id);
+            return loader.apply(id);
+        });
+        cache.get(userId, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void keepsLoadThatOverlappedInvalidationOfOtherKey() {
+        // 해시가 달라 다른 무효화 stripe에 들어가는 두 키
+        UUID userId = new UUID(0L, 0L);
+        UUID otherId = new UUID(0L, 1L);
+
+        // 조회 도중 다른 사용자의 상태 flush 무효화가 끼어든 상황
+        cache.get(userId, id -> {
+            cache.invalidate(otherId);
+            return loader.apply(id);
+        });
+        cache.get(userId, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getMetrics()).containsEntry("skippedPuts", 0L);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        cache = newCache(3, 0L);
+        UUID userId = UUID.randomUUID();
+
+        cache.get(userId, loader);
+        cache.get(userId, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            userIds.add(UUID.randomUUID());
+            cache.get(userIds.get(i), loader);
+        }
+
+        cache.get(userIds.get(0), loader);
+
+        assertThat(loads).hasValue(5);
+        assertThat(cache.getMetrics()).containsEntry("size", 3).containsEntry("evicted", 2L);
+    }
+
+    private UserSnapshotCache newCache(int maxSize, long ttlMs) {
+        UserSnapshotCache created = new UserSnapshotCache(relay);
+        ReflectionTestUtils.setField(created, "enabled", true);
+        ReflectionTestUtils.setField(created, "maxSize", maxSize);
+        ReflectionTestUtils.setField(created, "ttlMs", ttlMs);
+        ReflectionTestUtils.invokeMethod(created, "init");
+        return created;
+    }
+
+    private static final class RecordingRelay implements ClusterRelay {
+
+        private final JsonMapper jsonMapper = JsonMapper.builder().build();
+        private final Map<String, Consumer<RelayEnvelope>> handlers = new HashMap<>();
+        private final List<Object> published = new ArrayList<>();
+
+        @Override
+        public String getNodeId() {
+            return "test";
+        }
+
+        @Override
+        public void publish(String type, String eventId, String destination, Object payload) {
+            published.add(payload);
+        }
+
+        @Override
+        public void subscribe(String type, Consumer<RelayEnvelope> handler) {
+            handlers.put(type, handler);
+        }
+
+        private void deliver(String type, Object payload) {
+            handlers.get(type).accept(RelayEnvelope.builder()
+                    .type(type)
+                    .nodeId("other")
+                    .payload(jsonMapper.valueToTree(payload))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.chat.chat.support;
+
+import com.chat.chat.common.relay.LocalClusterRelay;
+import com.chat.chat.domain.chatroom.service.ChatRoomMetadataCache;
+import com.chat.chat.domain.chatroom.service.ChatRoomService;
+import com.chat.chat.domain.message.service.MessageService;
+import com.chat.chat.domain.user.service.NicknamePrefixIndex;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.domain.user.service.UserSnapshotCache;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 서비스 계층 JPA 테스트 공통 설정 (H2)
+ * 사용자/채팅방/메시지 서비스와 캐시, 단일 노드 relay, {@link ChatFixtures}를 함께 올립니다.
+ * 테스트 메서드를 트랜잭션으로 감싸지 않으므로 서비스의 커밋 후 동작(캐시 무효화 등)이 실제와 같이 실행됩니다.
+ * 설정이 같은 테스트끼리는 Spring 컨텍스트를 재사용하므로 데이터는 테스트마다 새로 만든 사용자/채팅방 기준으로 검증합니다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({MessageService.class, ChatRoomService.class, UserService.class,
+        UserSnapshotCache.class, NicknamePrefixIndex.class, ChatRoomMetadataCache.class,
+        LocalClusterRelay.class, ChatFixtures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface ChatDataJpaTest {
+
+    /**
+     * 추가 설정 (예: Hibernate 통계)
+     */
+    @AliasFor(annotation = DataJpaTest.class, attribute = "properties")
+    String[] properties() default {};
+}
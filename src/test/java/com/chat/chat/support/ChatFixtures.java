@@ -0,0 +1,66 @@
+package com.chat.chat.support;
+
+import com.chat.chat.domain.chatroom.dto.ChatRoomResponse;
+import com.chat.chat.domain.chatroom.service.ChatRoomService;
+import com.chat.chat.domain.user.dto.UserCreateRequest;
+import com.chat.chat.domain.user.service.UserService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.UUID;
+
+/**
+ * 테스트 데이터 생성 도우미
+ * 서비스 API로 사용자와 (사용자, 공유 챗봇) 채팅방을 만들어, 생성 시 채워지는 캐시까지 실제와 같은 상태로 시작합니다.
+ */
+@TestComponent
+public class ChatFixtures {
+
+    private final UserService userService;
+    private final ChatRoomService chatRoomService;
+
+    public ChatFixtures(UserService userService, ChatRoomService chatRoomService) {
+        this.userService = userService;
+        this.chatRoomService = chatRoomService;
+    }
+
+    /**
+     * 임의 닉네임("user-" + 8자)의 사용자 생성
+     */
+    public UUID createUser() {
+        return createUser("user-" + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    /**
+     * 지정한 닉네임의 사용자 생성 (이메일은 닉네임@test.local)
+     */
+    public UUID createUser(String nickname) {
+        return userService.createUser(UserCreateRequest.builder()
+                .nickname(nickname)
+                .email(nickname + "@test.local")
+                .build()).getId();
+    }
+
+    /**
+     * 새 사용자와 공유 챗봇의 채팅방 생성
+     */
+    public Room createChatRoom() {
+        return createChatRoom(createUser());
+    }
+
+    /**
+     * 사용자와 공유 챗봇의 채팅방 생성
+     */
+    public Room createChatRoom(UUID userId) {
+        ChatRoomResponse chatRoom = chatRoomService.createChatRoom(userId);
+        UUID botId = userId.equals(chatRoom.getUser1().getId())
+                ? chatRoom.getUser2().getId()
+                : chatRoom.getUser1().getId();
+        return new Room(chatRoom.getId(), userId, botId);
+    }
+
+    /**
+     * 생성된 채팅방과 참여자 (사람 사용자, 상대방 챗봇)
+     */
+    public record Room(UUID chatRoomId, UUID userId, UUID botId) {
+    }
+}
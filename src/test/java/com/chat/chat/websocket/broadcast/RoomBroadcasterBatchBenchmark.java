@@ -0,0 +1,96 @@
+package com.chat.chat.websocket.broadcast;
+
+import com.chat.chat.common.relay.LocalClusterRelay;
+import com.chat.chat.websocket.codec.BinaryPayloadNegotiator;
+import com.chat.chat.websocket.replay.RoomHistoryBuffer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 배치 모드 on/off 시 브로커로 나가는 프레임 수와 p99 전달 지연 비교
+ * 이벤트 payload에 enqueue 시각(nanoTime)을 담고, 브로커 채널 도착 시각과의 차이를 지연으로 봅니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class RoomBroadcasterBatchBenchmark {
+
+    private static final int ROOMS = 50;
+    private static final int PRODUCERS = 8;
+    private static final int EVENTS_PER_PRODUCER = 50_000;
+
+    @Test
+    void compareFramesAndLatency() throws InterruptedException {
+        Result direct = run(false);
+        Result batched = run(true);
+
+        System.out.printf("%-10s %10s %12s %12s %12s%n", "mode", "events", "frames", "frames/s", "p99(us)");
+        for (Result result : new Result[]{direct, batched}) {
+            System.out.printf("%-10s %10d %12d %12.0f %12.1f%n",
+                    result.mode, result.events, result.frames, result.framesPerSecond, result.p99Micros);
+        }
+    }
+
+    private Result run(boolean batching) throws InterruptedException {
+        AtomicLong frames = new AtomicLong();
+        List<Long> latencies = new ArrayList<>();
+        MessageChannel brokerChannel = (message, timeout) -> {
+            long now = System.nanoTime();
+            frames.incrementAndGet();
+            Object payload = message.getPayload();
+            synchronized (latencies) {
+                if (payload instanceof List<?> events) {
+                    events.forEach(event -> latencies.add(now - (Long) event));
+                } else {
+                    latencies.add(now - (Long) payload);
+                }
+            }
+            return true;
+        };
+
+        RoomBroadcaster broadcaster = new RoomBroadcaster(
+                new SimpMessagingTemplate(brokerChannel), new LocalClusterRelay(), new RoomHistoryBuffer(),
+                new BinaryPayloadNegotiator());
+        ReflectionTestUtils.setField(broadcaster, "batchEnabled", batching);
+        ReflectionTestUtils.setField(broadcaster, "batchWindows", "/topic/chatroom=5");
+        ReflectionTestUtils.setField(broadcaster, "maxEvents", 32);
+        broadcaster.init();
+
+        UUID[] rooms = new UUID[ROOMS];
+        Arrays.setAll(rooms, i -> UUID.randomUUID());
+
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        long start = System.nanoTime();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int offset = p;
+            producers.execute(() -> {
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    broadcaster.toRoom(rooms[(i + offset) % ROOMS], System.nanoTime());
+                }
+            });
+        }
+        producers.shutdown();
+        producers.awaitTermination(5, TimeUnit.MINUTES);
+        broadcaster.shutdown();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double p99Micros = sorted[(int) (sorted.length * 0.99)] / 1_000.0;
+        return new Result(batching ? "batched" : "direct", sorted.length, frames.get(),
+                frames.get() / seconds, p99Micros);
+    }
+
+    private record Result(String mode, long events, long frames, double framesPerSecond, double p99Micros) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.chat.chat.websocket.broadcast;
+
+import com.chat.chat.common.relay.LocalClusterRelay;
+import com.chat.chat.websocket.codec.BinaryPayloadNegotiator;
+import com.chat.chat.websocket.replay.RoomHistoryBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomBroadcasterTest {
+
+    private final List<Object> frames = new CopyOnWriteArrayList<>();
+
+    private RoomBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new RoomBroadcaster(new SimpMessagingTemplate((message, timeout) -> frames.add(message.getPayload())),
+                new LocalClusterRelay(), new RoomHistoryBuffer(), new BinaryPayloadNegotiator());
+        ReflectionTestUtils.setField(broadcaster, "batchEnabled", true);
+        ReflectionTestUtils.setField(broadcaster, "batchWindows", "/topic/chatroom=5");
+        ReflectionTestUtils.setField(broadcaster, "maxEvents", 32);
+        broadcaster.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void idleBatchesAreEvicted() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            broadcaster.toRoom(UUID.randomUUID(), "event-" + i);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((int) broadcaster.getMetrics().get("activeBatches") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(broadcaster.getMetrics().get("activeBatches")).isEqualTo(0);
+        assertThat(frames).hasSize(100);
+    }
+
+    @Test
+    void eventAfterEvictionStartsNewBatch() throws InterruptedException {
+        UUID chatRoomId = UUID.randomUUID();
+        broadcaster.toRoom(chatRoomId, "first");
+        while ((int) broadcaster.getMetrics().get("activeBatches") > 0) {
+            Thread.sleep(5);
+        }
+
+        broadcaster.toRoom(chatRoomId, "second");
+        broadcaster.toRoom(chatRoomId, "third");
+        broadcaster.shutdown();
+
+        assertThat(frames).containsExactly("first", List.of("second", "third"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.chat.chat.websocket.codec;
+
+import com.chat.chat.common.relay.LocalClusterRelay;
+import com.chat.chat.domain.message.entity.MessageType;
+import com.chat.chat.websocket.broadcast.RoomBroadcaster;
+import com.chat.chat.websocket.dto.ChatMessageDto;
+import com.chat.chat.websocket.dto.TypingNotificationDto;
+import com.chat.chat.websocket.replay.RoomHistoryBuffer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 실제 발신 경로의 JSON vs CBOR 프레임 크기와 브로드캐스트당 비용 비교
+ * RoomBroadcaster → SimpMessagingTemplate(JSON 변환) → 구독자별 복제(SimpleBroker와 같은 방식) → BinaryPayloadNegotiator 순으로 보내고,
+ * CBOR 세션이 없을 때(JSON만)와 구독자 절반이 CBOR일 때를 비교합니다.
+ * JMH 대신 워밍업 후 반복 측정하는 단순 루프입니다. ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class PayloadEncodingBenchmark {
+
+    private static final int SUBSCRIBERS = 10;
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 500_000;
+
+    @Test
+    void compareJsonAndCbor() {
+        UUID chatRoomId = UUID.randomUUID();
+        ChatMessageDto chat = ChatMessageDto.builder()
+                .messageId(UUID.randomUUID())
+                .chatRoomId(chatRoomId)
+                .senderId(UUID.randomUUID())
+                .senderNickname("테스트유저")
+                .messageType(MessageType.TEXT)
+                .content("안녕하세요! 오늘 회의는 3시에 시작합니다. 자료는 미리 공유드릴게요.")
+                .timestamp(LocalDateTime.now())
+                .chatMessageType(ChatMessageDto.ChatMessageType.CHAT)
+                .build();
+
+        TypingNotificationDto typing = TypingNotificationDto.builder()
+                .chatRoomId(chatRoomId)
+                .userId(UUID.randomUUID())
+                .nickname("테스트유저")
+                .isTyping(true)
+                .build();
+
+        System.out.printf("subscribers per broadcast: %d%n", SUBSCRIBERS);
+        System.out.printf("%-8s %-10s %12s %12s %16s%n", "dto", "sessions", "json bytes", "cbor bytes", "ns/broadcast");
+        measure("chat", false, broadcaster -> broadcaster.toRoom(chatRoomId, chat));
+        measure("chat", true, broadcaster -> broadcaster.toRoom(chatRoomId, chat));
+        measure("typing", false, broadcaster -> broadcaster.toRoomTyping(chatRoomId, typing));
+        measure("typing", true, broadcaster -> broadcaster.toRoomTyping(chatRoomId, typing));
+    }
+
+    private void measure(String dto, boolean cborSubscribers, Consumer<RoomBroadcaster> broadcast) {
+        BinaryPayloadNegotiator negotiator = new BinaryPayloadNegotiator();
+        String[] sessionIds = new String[SUBSCRIBERS];
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            sessionIds[i] = "session-" + i;
+            if (cborSubscribers && i % 2 == 0) {
+                connectWithCbor(negotiator, sessionIds[i]);
+            }
+        }
+
+        FanOutChannel channel = new FanOutChannel(negotiator, sessionIds);
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        template.setMessageConverter(new JsonConverter());
+        RoomHistoryBuffer roomHistoryBuffer = new RoomHistoryBuffer();
+        ReflectionTestUtils.setField(roomHistoryBuffer, "bufferSize", 100);
+        ReflectionTestUtils.setField(roomHistoryBuffer, "maxRooms", 1000);
+        ReflectionTestUtils.invokeMethod(roomHistoryBuffer, "init");
+        RoomBroadcaster broadcaster = new RoomBroadcaster(template, new LocalClusterRelay(), roomHistoryBuffer,
+                negotiator);
+        ReflectionTestUtils.setField(broadcaster, "batchEnabled", false);
+        broadcaster.init();
+
+        for (int i = 0; i < WARMUP; i++) {
+            broadcast.accept(broadcaster);
+        }
+        channel.reset();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            broadcast.accept(broadcaster);
+        }
+        double broadcastNs = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        System.out.printf("%-8s %-10s %12s %12s %16.1f%n", dto, cborSubscribers ? "mixed" : "json-only",
+                channel.averageBytes(channel.jsonFrames, channel.jsonBytes),
+                channel.averageBytes(channel.cborFrames, channel.cborBytes), broadcastNs);
+    }
+
+    private void connectWithCbor(BinaryPayloadNegotiator negotiator, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setNativeHeader(BinaryPayloadNegotiator.ACCEPT_HEADER, CborMessageConverter.APPLICATION_CBOR.toString());
+        accessor.setLeaveMutable(true);
+        negotiator.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    /**
+     * 브로커 채널 대역: SimpleBrokerMessageHandler처럼 구독자마다 헤더를 복사한 MESSAGE를 만들어 outbound 인터셉터에 넘김
+     */
+    private static final class FanOutChannel implements MessageChannel {
+
+        private final BinaryPayloadNegotiator negotiator;
+        private final String[] sessionIds;
+
+        private long jsonFrames, jsonBytes, cborFrames, cborBytes;
+
+        private FanOutChannel(BinaryPayloadNegotiator negotiator, String[] sessionIds) {
+            this.negotiator = negotiator;
+            this.sessionIds = sessionIds;
+        }
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            for (String sessionId : sessionIds) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                accessor.setSessionId(sessionId);
+                accessor.setSubscriptionId("sub-0");
+                accessor.copyHeadersIfAbsent(message.getHeaders());
+                accessor.setLeaveMutable(true);
+                Message<?> frame = negotiator.preSend(
+                        MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders()), this);
+
+                int length = ((byte[]) frame.getPayload()).length;
+                if (frame.getPayload() == message.getPayload()) {
+                    jsonFrames++;
+                    jsonBytes += length;
+                } else {
+                    cborFrames++;
+                    cborBytes += length;
+                }
+            }
+            return true;
+        }
+
+        private void reset() {
+            jsonFrames = jsonBytes = cborFrames = cborBytes = 0;
+        }
+
+        private String averageBytes(long frames, long bytes) {
+            return frames == 0 ? "-" : String.valueOf(bytes / frames);
+        }
+    }
+
+    /**
+     * 애플리케이션의 JSON 메시지 컨버터 대역
+     */
+    private static final class JsonConverter extends AbstractMessageConverter {
+
+        private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        private JsonConverter() {
+            super(MimeTypeUtils.APPLICATION_JSON);
+        }
+
+        @Override
+        protected boolean supports(Class<?> clazz) {
+            return true;
+        }
+
+        @Override
+        protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+            return jsonMapper.writeValueAsBytes(payload);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.chat.chat.websocket.dispatch;
+
+import com.chat.chat.websocket.ratelimit.RateLimitInterceptor;
+import com.chat.chat.websocket.ratelimit.RateLimitNotice;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class DispatchRejectionNotifierTest {
+
+    @Test
+    void notifiesSenderWithReceiptAndCountsDroppedFrame() {
+        SimpMessageSendingOperations messagingTemplate = mock(SimpMessageSendingOperations.class);
+        DispatchRejectionNotifier notifier = new DispatchRejectionNotifier(messagingTemplate);
+        String destination = "/app/chat/" + UUID.randomUUID();
+
+        SimpMessageHeaderAccessor dropped = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        dropped.setSessionId("session");
+        dropped.setDestination(destination);
+        dropped.setNativeHeader("receipt", "r-1");
+        notifier.notifyDropped(dropped);
+
+        ArgumentCaptor<Object> notice = ArgumentCaptor.forClass(Object.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("session"), eq(RateLimitInterceptor.ERRORS_DESTINATION),
+                notice.capture(), headers.capture());
+        RateLimitNotice sent = (RateLimitNotice) notice.getValue();
+        assertThat(sent.getError()).isEqualTo(DispatchRejectionNotifier.ROOM_BUSY_MESSAGE);
+        assertThat(sent.getDestination()).isEqualTo(destination);
+        assertThat(sent.getReceiptId()).isEqualTo("r-1");
+
+        SimpMessageHeaderAccessor noticeHeaders = SimpMessageHeaderAccessor.wrap(
+                MessageBuilder.createMessage(new byte[0], new MessageHeaders(headers.getValue())));
+        assertThat(noticeHeaders.getSessionId()).isEqualTo("session");
+        assertThat(noticeHeaders.getFirstNativeHeader(RateLimitInterceptor.RECEIPT_ID_HEADER)).isEqualTo("r-1");
+        assertThat(notifier.getMetrics()).containsEntry("dropped", 1L);
+    }
+}
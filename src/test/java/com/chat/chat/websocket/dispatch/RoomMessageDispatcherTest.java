@@ -0,0 +1,118 @@
+package com.chat.chat.websocket.dispatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomMessageDispatcherTest {
+
+    private RoomMessageDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new RoomMessageDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "laneCount", 4);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(dispatcher, "saturationPolicy", SaturationPolicy.BLOCK);
+        ReflectionTestUtils.setField(dispatcher, "blockTimeoutMs", 1000L);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    void preservesOrderWithinRoom() throws InterruptedException {
+        int rooms = 16;
+        int messagesPerRoom = 500;
+        Map<UUID, List<Integer>> received = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(rooms * messagesPerRoom);
+
+        for (int r = 0; r < rooms; r++) {
+            UUID roomId = UUID.randomUUID();
+            List<Integer> sequence = new CopyOnWriteArrayList<>();
+            received.put(roomId, sequence);
+            for (int i = 0; i < messagesPerRoom; i++) {
+                int seq = i;
+                dispatcher.dispatch(roomId, () -> {
+                    sequence.add(seq);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        received.values().forEach(sequence -> assertThat(sequence).isSorted().hasSize(messagesPerRoom));
+    }
+
+    @Test
+    void rejectsWhenLaneIsSaturated() throws InterruptedException {
+        ReflectionTestUtils.setField(dispatcher, "saturationPolicy", SaturationPolicy.REJECT);
+        UUID roomId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+
+        dispatcher.dispatch(roomId, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        int accepted = 0;
+        for (int i = 0; i < 10_001; i++) {
+            if (dispatcher.dispatch(roomId, () -> { })) {
+                accepted++;
+            }
+        }
+        release.countDown();
+
+        assertThat(accepted).isLessThanOrEqualTo(10_000);
+        assertThat(dispatcher.getMetrics().get("totalRejected")).isNotEqualTo(0L);
+    }
+
+    @Test
+    void acceptsCommittedTasksWhenLaneIsSaturated() throws InterruptedException {
+        ReflectionTestUtils.setField(dispatcher, "saturationPolicy", SaturationPolicy.REJECT);
+        UUID roomId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(roomId, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        while (dispatcher.dispatch(roomId, () -> { })) {
+            // 레인 용량을 모두 채움
+        }
+
+        List<Integer> broadcasts = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int seq = i;
+            dispatcher.dispatchCommitted(roomId, () -> {
+                broadcasts.add(seq);
+                done.countDown();
+            });
+        }
+        release.countDown();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(broadcasts).hasSize(100).isSorted();
+        assertThat(dispatcher.getMetrics().get("totalOverflowed")).isEqualTo(100L);
+    }
+}
@@ -0,0 +1,56 @@
+package com.chat.chat.websocket.presence;
+
+import com.chat.chat.domain.user.entity.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PresenceRegistryTest {
+
+    private final PresenceRegistry registry = new PresenceRegistry();
+
+    @Test
+    void tracksRoomMembersAcrossSessions() {
+        UUID userId = UUID.randomUUID();
+        UUID chatRoomId = UUID.randomUUID();
+
+        registry.connect("s1", userId);
+        registry.connect("s2", userId);
+        registry.subscribe("s1", "sub-1", "/topic/chatroom/" + chatRoomId);
+        registry.subscribe("s1", "sub-2", "/topic/chatroom/" + chatRoomId + "/typing");
+        registry.subscribe("s2", "sub-1", "/topic/chatroom/" + chatRoomId);
+
+        assertThat(registry.getOnlineUsers(chatRoomId)).containsExactly(userId);
+
+        registry.disconnect("s1");
+        assertThat(registry.getOnlineUsers(chatRoomId)).containsExactly(userId);
+
+        registry.unsubscribe("s2", "sub-1");
+        assertThat(registry.getOnlineUsers(chatRoomId)).isEmpty();
+        assertThat(registry.isOnline(userId)).isTrue();
+    }
+
+    @Test
+    void coalescesStatusChangesPerUser() {
+        UUID userId = UUID.randomUUID();
+
+        registry.connect("s1", userId);
+        registry.disconnect("s1");
+        registry.connect("s2", userId);
+        registry.connect("s3", userId);
+
+        Map<UUID, PresenceRegistry.PendingStatus> drained = registry.drainPendingStatuses();
+        assertThat(drained).hasSize(1);
+        assertThat(drained.get(userId).getStatus()).isEqualTo(UserStatus.ONLINE);
+        assertThat(registry.drainPendingStatuses()).isEmpty();
+
+        registry.disconnect("s2");
+        assertThat(registry.drainPendingStatuses()).isEmpty();
+
+        registry.disconnect("s3");
+        assertThat(registry.drainPendingStatuses().get(userId).getStatus()).isEqualTo(UserStatus.OFFLINE);
+    }
+}
@@ -0,0 +1,136 @@
+package com.chat.chat.websocket.ratelimit;
+
+import com.chat.chat.websocket.session.SessionIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class RateLimitInterceptorTest {
+
+    private RateLimitInterceptor interceptor;
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        interceptor = new RateLimitInterceptor(messagingTemplate);
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        ReflectionTestUtils.setField(interceptor, "sessionRules", "/app/chat=1:3,/app/typing=1:2");
+        ReflectionTestUtils.setField(interceptor, "userRules", "/app/chat=1:4");
+        ReflectionTestUtils.setField(interceptor, "silentDropPrefixes", "/app/typing");
+        ReflectionTestUtils.invokeMethod(interceptor, "init");
+    }
+
+    @Test
+    void bucketRefillsOverTime() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(2, 2, start);
+
+        assertThat(bucket.tryAcquire(start)).isTrue();
+        assertThat(bucket.tryAcquire(start)).isTrue();
+        assertThat(bucket.tryAcquire(start)).isFalse();
+        assertThat(bucket.millisUntilAvailable(start)).isBetween(500L, 501L);
+
+        long halfSecond = TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(bucket.tryAcquire(start + halfSecond)).isTrue();
+        assertThat(bucket.isFull(start + TimeUnit.SECONDS.toNanos(5))).isTrue();
+    }
+
+    @Test
+    void dropsChatFramesOverSessionBurstAndNotifiesSender() {
+        Map<String, Object> session = new ConcurrentHashMap<>();
+        String destination = "/app/chat/" + UUID.randomUUID();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(interceptor.preSend(send(destination, session), null)).isNotNull();
+        }
+        Message<byte[]> rejected = send(destination, session);
+        SimpMessageHeaderAccessor.getAccessor(rejected, SimpMessageHeaderAccessor.class).setNativeHeader("receipt", "r-4");
+
+        // 예외(ERROR 프레임 → 연결 종료) 대신 프레임만 버림
+        assertThat(interceptor.preSend(rejected, null)).isNull();
+
+        ArgumentCaptor<Object> notice = ArgumentCaptor.forClass(Object.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("session"), eq(RateLimitInterceptor.ERRORS_DESTINATION),
+                notice.capture(), headers.capture());
+        RateLimitNotice sent = (RateLimitNotice) notice.getValue();
+        assertThat(sent.getError()).isEqualTo(RateLimitInterceptor.RATE_LIMITED_MESSAGE);
+        assertThat(sent.getReceiptId()).isEqualTo("r-4");
+        assertThat(sent.getRetryAfterMs()).isPositive();
+
+        SimpMessageHeaderAccessor noticeHeaders = SimpMessageHeaderAccessor.wrap(
+                MessageBuilder.createMessage(new byte[0], new MessageHeaders(headers.getValue())));
+        assertThat(noticeHeaders.getSessionId()).isEqualTo("session");
+        assertThat(noticeHeaders.getFirstNativeHeader(RateLimitInterceptor.RECEIPT_ID_HEADER)).isEqualTo("r-4");
+        assertThat(noticeHeaders.getFirstNativeHeader(RateLimitInterceptor.RETRY_AFTER_HEADER)).isNotBlank();
+    }
+
+    @Test
+    void userBucketIsSharedAcrossSessions() {
+        SessionIdentity identity = new SessionIdentity(UUID.randomUUID(), "tester", false);
+        Map<String, Object> first = new ConcurrentHashMap<>(Map.of(SessionIdentity.ATTRIBUTE, identity));
+        Map<String, Object> second = new ConcurrentHashMap<>(Map.of(SessionIdentity.ATTRIBUTE, identity));
+        String destination = "/app/chat/" + UUID.randomUUID();
+
+        // 세션 burst 3 + 3, 사용자 burst 4 → 다섯 번째에서 사용자 한도로 거부
+        for (int i = 0; i < 2; i++) {
+            interceptor.preSend(send(destination, first), null);
+            interceptor.preSend(send(destination, second), null);
+        }
+        assertThat(interceptor.preSend(send(destination, first), null)).isNull();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> chatRule = ((List<Map<String, Object>>) interceptor.getMetrics().get("rules")).get(0);
+        assertThat(chatRule.get("allowed")).isEqualTo(4L);
+        assertThat(chatRule.get("rejectedByUser")).isEqualTo(1L);
+    }
+
+    @Test
+    void typingFramesOverLimitAreDroppedSilently() {
+        Map<String, Object> session = new ConcurrentHashMap<>();
+        String destination = "/app/typing/" + UUID.randomUUID();
+
+        assertThat(interceptor.preSend(send(destination, session), null)).isNotNull();
+        assertThat(interceptor.preSend(send(destination, session), null)).isNotNull();
+        assertThat(interceptor.preSend(send(destination, session), null)).isNull();
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void ignoresUnconfiguredDestinations() {
+        Map<String, Object> session = new ConcurrentHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            assertThat(interceptor.preSend(send("/app/other", session), null)).isNotNull();
+        }
+    }
+
+    private Message<byte[]> send(String destination, Map<String, Object> sessionAttributes) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("session");
+        accessor.setDestination(destination);
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
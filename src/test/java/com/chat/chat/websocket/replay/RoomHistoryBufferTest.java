@@ -0,0 +1,102 @@
+package com.chat.chat.websocket.replay;
+
+import com.chat.chat.websocket.dto.ChatMessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomHistoryBufferTest {
+
+    private RoomHistoryBuffer buffer;
+    private final UUID chatRoomId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        buffer = new RoomHistoryBuffer();
+        ReflectionTestUtils.setField(buffer, "bufferSize", 10);
+        ReflectionTestUtils.setField(buffer, "maxRooms", 2);
+        ReflectionTestUtils.invokeMethod(buffer, "init");
+    }
+
+    @Test
+    void replaysGapByMessageIdOrSequence() {
+        List<ChatMessageDto> appended = appendMessages(chatRoomId, 15);
+
+        String epoch = appended.getFirst().getSequenceEpoch();
+        RoomHistoryBuffer.ReplayResult byId = buffer.since(chatRoomId, appended.get(11).getMessageId(), null, null);
+        assertThat(byId.isComplete()).isTrue();
+        assertThat(byId.getMessages()).extracting(ChatMessageDto::getSequence).containsExactly(13L, 14L, 15L);
+
+        RoomHistoryBuffer.ReplayResult bySequence = buffer.since(chatRoomId, null, 13L, epoch);
+        assertThat(bySequence.isComplete()).isTrue();
+        assertThat(bySequence.getMessages()).extracting(ChatMessageDto::getSequence).containsExactly(14L, 15L);
+    }
+
+    @Test
+    void reportsIncompleteWhenGapExceedsBuffer() {
+        List<ChatMessageDto> appended = appendMessages(chatRoomId, 15);
+
+        RoomHistoryBuffer.ReplayResult result =
+                buffer.since(chatRoomId, appended.get(2).getMessageId(), 3L, appended.getFirst().getSequenceEpoch());
+
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.getMessages()).hasSize(10);
+        assertThat(result.getMessages().get(0).getSequence()).isEqualTo(6L);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedRoom() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        String firstEpoch = appendMessages(chatRoomId, 1).getFirst().getSequenceEpoch();
+        String secondEpoch = appendMessages(second, 1).getFirst().getSequenceEpoch();
+        buffer.since(chatRoomId, null, 0L, firstEpoch);
+        appendMessages(third, 1);
+
+        assertThat(buffer.since(chatRoomId, null, 0L, firstEpoch).isComplete()).isTrue();
+        assertThat(buffer.since(second, null, 0L, secondEpoch).isComplete()).isFalse();
+    }
+
+    @Test
+    void ignoresSequenceFromPreviousBufferGeneration() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        String oldEpoch = appendMessages(chatRoomId, 5).getFirst().getSequenceEpoch();
+
+        // LRU로 제거된 뒤 다시 만들어진 버퍼는 sequence가 1부터 다시 시작
+        appendMessages(second, 1);
+        appendMessages(third, 1);
+        List<ChatMessageDto> recreated = appendMessages(chatRoomId, 8);
+
+        RoomHistoryBuffer.ReplayResult stale = buffer.since(chatRoomId, null, 5L, oldEpoch);
+        assertThat(stale.isComplete()).isFalse();
+        assertThat(stale.getMessages()).hasSize(8);
+
+        RoomHistoryBuffer.ReplayResult withoutEpoch = buffer.since(chatRoomId, null, 5L, null);
+        assertThat(withoutEpoch.isComplete()).isFalse();
+
+        RoomHistoryBuffer.ReplayResult current =
+                buffer.since(chatRoomId, null, 5L, recreated.getFirst().getSequenceEpoch());
+        assertThat(current.isComplete()).isTrue();
+        assertThat(current.getMessages()).extracting(ChatMessageDto::getSequence).containsExactly(6L, 7L, 8L);
+    }
+
+    private List<ChatMessageDto> appendMessages(UUID roomId, int count) {
+        List<ChatMessageDto> appended = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            appended.add(buffer.append(ChatMessageDto.builder()
+                    .messageId(UUID.randomUUID())
+                    .chatRoomId(roomId)
+                    .content("message " + i)
+                    .chatMessageType(ChatMessageDto.ChatMessageType.CHAT)
+                    .build()));
+        }
+        return appended;
+    }
+}
@@ -0,0 +1,121 @@
+package com.chat.chat.websocket.session;
+
+import com.chat.chat.common.relay.LocalClusterRelay;
+import com.chat.chat.domain.chatroom.service.ChatRoomMetadataCache;
+import com.chat.chat.domain.chatroom.service.ChatRoomService;
+import com.chat.chat.domain.user.dto.UserSnapshot;
+import com.chat.chat.domain.user.service.UserService;
+import com.chat.chat.websocket.presence.PresenceRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StompSessionInterceptorTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID CHAT_ROOM_ID = UUID.randomUUID();
+
+    private ChatRoomService chatRoomService;
+    private ChatRoomMetadataCache chatRoomMetadataCache;
+    private StompSessionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        UserService userService = mock(UserService.class);
+        when(userService.getUserSnapshot(USER_ID)).thenReturn(UserSnapshot.builder()
+                .id(USER_ID)
+                .nickname("tester")
+                .active(true)
+                .build());
+        chatRoomService = mock(ChatRoomService.class);
+        when(chatRoomService.isParticipant(CHAT_ROOM_ID, USER_ID)).thenReturn(true);
+        when(chatRoomService.isActive(CHAT_ROOM_ID)).thenReturn(true);
+
+        chatRoomMetadataCache = new ChatRoomMetadataCache(new LocalClusterRelay());
+        ReflectionTestUtils.setField(chatRoomMetadataCache, "enabled", true);
+        ReflectionTestUtils.setField(chatRoomMetadataCache, "maxSize", 100);
+        ReflectionTestUtils.invokeMethod(chatRoomMetadataCache, "init");
+
+        interceptor = new StompSessionInterceptor(userService, chatRoomService, mock(PresenceRegistry.class),
+                chatRoomMetadataCache);
+        ReflectionTestUtils.invokeMethod(interceptor, "init");
+    }
+
+    @Test
+    void rejectsConnectWithoutUserId() {
+        Map<String, Object> session = new ConcurrentHashMap<>();
+
+        assertThatThrownBy(() -> interceptor.preSend(frame(SimpMessageType.CONNECT, null, session, null), null))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void rejectsRoomFramesFromUnboundSession() {
+        Map<String, Object> session = new ConcurrentHashMap<>();
+
+        assertThatThrownBy(() -> interceptor.preSend(
+                frame(SimpMessageType.MESSAGE, "/app/chat/" + CHAT_ROOM_ID, session, null), null))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(
+                frame(SimpMessageType.SUBSCRIBE, "/topic/chatroom/" + CHAT_ROOM_ID, session, null), null))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void rechecksMembershipAfterRoomInvalidation() {
+        Map<String, Object> session = connect();
+        String destination = "/app/chat/" + CHAT_ROOM_ID;
+
+        interceptor.preSend(frame(SimpMessageType.MESSAGE, destination, session, null), null);
+        interceptor.preSend(frame(SimpMessageType.MESSAGE, destination, session, null), null);
+        verify(chatRoomService, times(1)).isParticipant(CHAT_ROOM_ID, USER_ID);
+
+        // 비활성화 → 메타데이터 캐시 무효화 → 세션 캐시도 비워지고 다음 SEND에서 다시 확인
+        when(chatRoomService.isActive(CHAT_ROOM_ID)).thenReturn(false);
+        chatRoomMetadataCache.invalidate(CHAT_ROOM_ID);
+
+        assertThatThrownBy(() -> interceptor.preSend(frame(SimpMessageType.MESSAGE, destination, session, null), null))
+                .isInstanceOf(MessageDeliveryException.class);
+        // 지난 메시지 구독은 허용
+        assertThat(interceptor.preSend(
+                frame(SimpMessageType.SUBSCRIBE, "/topic/chatroom/" + CHAT_ROOM_ID, session, null), null)).isNotNull();
+        assertThat(interceptor.getMetrics()).containsEntry("evictedMemberships", 1L);
+    }
+
+    private Map<String, Object> connect() {
+        Map<String, Object> session = new ConcurrentHashMap<>();
+        interceptor.preSend(frame(SimpMessageType.CONNECT, null, session, USER_ID.toString()), null);
+        assertThat(SessionIdentity.from(session)).isNotNull();
+        return session;
+    }
+
+    private Message<byte[]> frame(SimpMessageType type, String destination, Map<String, Object> session, String userId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId("session");
+        accessor.setSessionAttributes(session);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        if (userId != null) {
+            accessor.setNativeHeader("userId", userId);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
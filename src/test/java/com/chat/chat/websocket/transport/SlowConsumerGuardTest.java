@@ -0,0 +1,144 @@
+package com.chat.chat.websocket.transport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlowConsumerGuardTest {
+
+    private static final String SESSION_ID = "slow-session";
+
+    private SlowConsumerGuard guard;
+    private WebSocketSession rawSession;
+    private WebSocketSession decoratedSession;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        guard = new SlowConsumerGuard();
+        ReflectionTestUtils.setField(guard, "softBacklog", 10);
+        ReflectionTestUtils.setField(guard, "hardBacklog", 200);
+
+        rawSession = mock(WebSocketSession.class);
+        when(rawSession.getId()).thenReturn(SESSION_ID);
+        when(rawSession.isOpen()).thenReturn(true);
+        // 느린 모바일 링크: 프레임 하나 쓰는 데 2ms
+        doAnswer(invocation -> {
+            Thread.sleep(2);
+            return null;
+        }).when(rawSession).sendMessage(any());
+
+        AtomicReference<WebSocketSession> captured = new AtomicReference<>();
+        guard.decorate(new AbstractWebSocketHandler() {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) {
+                captured.set(session);
+            }
+        }).afterConnectionEstablished(rawSession);
+        decoratedSession = captured.get();
+    }
+
+    @Test
+    void dropsLowPriorityFramesButKeepsChatFrames() throws Exception {
+        BlockingQueue<Message<?>> outbound = new LinkedBlockingQueue<>();
+        AtomicInteger chatDelivered = new AtomicInteger();
+        Thread writer = startWriter(outbound, chatDelivered);
+
+        int chatFrames = 100;
+        int typingFrames = 0;
+        int typingAccepted = 0;
+        for (int i = 0; i < chatFrames; i++) {
+            assertThat(offer(outbound, frame(false))).isTrue();
+            for (int t = 0; t < 5; t++) {
+                typingFrames++;
+                if (offer(outbound, frame(true))) {
+                    typingAccepted++;
+                }
+            }
+        }
+        outbound.put(MessageBuilder.withPayload(new byte[0]).build());
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(chatDelivered.get()).isEqualTo(chatFrames);
+        assertThat(typingAccepted).isLessThan(typingFrames);
+        assertThat(guard.getMetrics().get("droppedLowPriority")).isEqualTo((long) (typingFrames - typingAccepted));
+        verify(rawSession, never()).close(any(CloseStatus.class));
+    }
+
+    @Test
+    void closesSessionOverHardBacklog() throws Exception {
+        // 아무 것도 쓰지 못하는 클라이언트
+        for (int i = 0; i < 200; i++) {
+            assertThat(guard.preSend(frame(false), null)).isNotNull();
+        }
+
+        assertThat(guard.preSend(frame(false), null)).isNull();
+        assertThat(guard.getBacklog(SESSION_ID)).isEqualTo(200);
+        verify(rawSession).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private boolean offer(BlockingQueue<Message<?>> outbound, Message<?> message) {
+        Message<?> accepted = guard.preSend(message, null);
+        if (accepted == null) {
+            return false;
+        }
+        outbound.add(accepted);
+        return true;
+    }
+
+    private Thread startWriter(BlockingQueue<Message<?>> outbound, AtomicInteger chatDelivered) {
+        Thread writer = new Thread(() -> {
+            try {
+                while (true) {
+                    Message<?> message = outbound.take();
+                    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+                    if (accessor.getMessageType() == null) {
+                        return;
+                    }
+                    decoratedSession.sendMessage(new TextMessage("MESSAGE\ndestination:"
+                            + accessor.getDestination() + "\n\n" + new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)));
+                    if (!accessor.getDestination().endsWith("/typing")) {
+                        chatDelivered.incrementAndGet();
+                    }
+                }
+            } catch (Exception e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.start();
+        return writer;
+    }
+
+    private Message<byte[]> frame(boolean typing) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(typing ? "/topic/chatroom/room/typing" : "/topic/chatroom/room");
+        if (typing) {
+            accessor.setNativeHeader(SlowConsumerGuard.PRIORITY_HEADER, SlowConsumerGuard.PRIORITY_LOW);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage("{}".getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,43 @@
+package com.chat.chat.websocket.transport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WireStatsCollectorTest {
+
+    private static final String TYPING_FRAME =
+            "MESSAGE\ndestination:/topic/chatroom/1/typing\ncontent-type:application/json\n\n{\"isTyping\":true}\0";
+
+    @Test
+    void classifiesOnlySampledFrames() {
+        WireStatsCollector collector = collector(4);
+
+        for (int i = 0; i < 10; i++) {
+            collector.recordOutbound(new TextMessage(TYPING_FRAME));
+        }
+
+        Map<String, Object> metrics = collector.getMetrics();
+        assertThat(metrics).containsEntry("frames", 10L).containsEntry("rawBytes", 10L * TYPING_FRAME.length());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> typing = (Map<String, Object>) ((Map<String, Object>) metrics.get("byType")).get("typing");
+        assertThat(typing).containsEntry("sampledFrames", 2L).containsEntry("estimatedFrames", 8L);
+    }
+
+    @Test
+    void rejectsNonPositiveSampleRate() {
+        assertThatThrownBy(() -> collector(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private WireStatsCollector collector(int sampleRate) {
+        WireStatsCollector collector = new WireStatsCollector();
+        ReflectionTestUtils.setField(collector, "sampleRate", sampleRate);
+        collector.validate();
+        return collector;
+    }
+}
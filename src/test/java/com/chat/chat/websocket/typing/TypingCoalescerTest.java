@@ -0,0 +1,119 @@
+package com.chat.chat.websocket.typing;
+
+import com.chat.chat.websocket.broadcast.RoomBroadcaster;
+import com.chat.chat.websocket.dto.TypingNotificationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class TypingCoalescerTest {
+
+    private static final UUID CHAT_ROOM_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger stopped = new AtomicInteger();
+
+    private TypingCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        RoomBroadcaster roomBroadcaster = mock(RoomBroadcaster.class);
+        doAnswer(invocation -> {
+            TypingNotificationDto notification = invocation.getArgument(1);
+            (notification.getIsTyping() ? started : stopped).incrementAndGet();
+            return null;
+        }).when(roomBroadcaster).toRoomTyping(eq(CHAT_ROOM_ID), any());
+
+        coalescer = new TypingCoalescer(roomBroadcaster);
+        ReflectionTestUtils.setField(coalescer, "refreshIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(coalescer, "timeoutMs", 60_000L);
+    }
+
+    @Test
+    void forwardsTransitionsAndSuppressesRepeats() {
+        for (int i = 0; i < 5; i++) {
+            coalescer.onNotification(CHAT_ROOM_ID, notification(true));
+        }
+        coalescer.onNotification(CHAT_ROOM_ID, notification(false));
+        coalescer.onNotification(CHAT_ROOM_ID, notification(false));
+
+        assertThat(started).hasValue(1);
+        assertThat(stopped).hasValue(1);
+        assertThat(coalescer.getMetrics()).containsEntry("suppressed", 5L);
+    }
+
+    @Test
+    void expiresIdleTypingWithStopNotice() {
+        coalescer.onNotification(CHAT_ROOM_ID, notification(true));
+        ReflectionTestUtils.setField(coalescer, "timeoutMs", 0L);
+
+        coalescer.expireIdleStates();
+        coalescer.expireIdleStates();
+
+        assertThat(started).hasValue(1);
+        assertThat(stopped).hasValue(1);
+        assertThat(coalescer.getMetrics()).containsEntry("activeStates", 0);
+
+        // 정리된 뒤의 알림은 새 시작 전이
+        coalescer.onNotification(CHAT_ROOM_ID, notification(true));
+        assertThat(started).hasValue(2);
+    }
+
+    @Test
+    void concurrentSweepNeverLeavesTypingWithoutStop() throws Exception {
+        ReflectionTestUtils.setField(coalescer, "timeoutMs", 0L);
+        int senders = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(senders + 1);
+        CountDownLatch done = new CountDownLatch(senders);
+        AtomicBoolean sweeping = new AtomicBoolean(true);
+
+        executor.submit(() -> {
+            while (sweeping.get()) {
+                coalescer.expireIdleStates();
+            }
+        });
+        for (int i = 0; i < senders; i++) {
+            executor.submit(() -> {
+                for (int n = 0; n < 20_000; n++) {
+                    coalescer.onNotification(CHAT_ROOM_ID, notification(true));
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        sweeping.set(false);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // 갱신이 제거된 상태에 기록되어 사라졌다면 마지막 sweep이 종료 알림을 보내지 못함
+        coalescer.expireIdleStates();
+
+        assertThat(started.get()).isPositive();
+        assertThat(stopped).hasValue(started.get());
+        assertThat(coalescer.getMetrics()).containsEntry("activeStates", 0);
+    }
+
+    private TypingNotificationDto notification(boolean typing) {
+        return TypingNotificationDto.builder()
+                .chatRoomId(CHAT_ROOM_ID)
+                .userId(USER_ID)
+                .nickname("typer")
+                .isTyping(typing)
+                .build();
+    }
+}